@@ -32,3 +32,5 @@ include(":ssr-library")
 include(":common")
 include(":ssr-simple")
 include(":ssr-java")
+include(":ssr-java-benchmarks")
+include(":ssr-server")
@@ -0,0 +1,74 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.BatchStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 100 card screens written as NDJSON to a discarding stream: toJsonCompact in a loop writing
+ * Strings vs SSR.writeBatch on the calling thread and on a pool of one thread per core.
+ */
+@State(Scope.Benchmark)
+public class BatchWriteBenchmark {
+    private static final int SCREENS = 100;
+
+    @Param({"SMALL", "MEDIUM"})
+    public ScreenCorpus.Scale scale;
+
+    private final List<NodeModel> screens = new ArrayList<>();
+    private ExecutorService pool;
+    private int parallelism;
+
+    @Setup
+    public void setUp() {
+        int size = ScreenCorpus.CARD_LAYOUT.sizeFor(scale);
+        for (int i = 0; i < SCREENS; i++) {
+            screens.add(ScreenCorpus.CARD_LAYOUT.build(size));
+        }
+        parallelism = Runtime.getRuntime().availableProcessors();
+        pool = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void stringLoop() throws IOException {
+        Writer out = new OutputStreamWriter(new BufferedOutputStream(OutputStream.nullOutputStream(), 1 << 16),
+                StandardCharsets.UTF_8);
+        for (NodeModel screen : screens) {
+            out.write(SSR.toJsonCompact(screen));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public BatchStats writeBatch() throws IOException {
+        return SSR.writeBatch(screens.stream(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public BatchStats writeBatchParallel() throws IOException {
+        return SSR.writeBatch(screens.stream(), OutputStream.nullOutputStream(), pool, parallelism);
+    }
+}
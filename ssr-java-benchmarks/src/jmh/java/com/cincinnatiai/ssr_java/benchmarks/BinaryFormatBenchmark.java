@@ -0,0 +1,58 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary wire format vs compact JSON: encode and decode time. Payload sizes are printed during setup.
+ */
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({"ADVANCED_TABLE", "SIMPLE_TABLE", "CARD_LAYOUT", "VIDEO_PAGER"})
+    public ScreenCorpus screen;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private NodeModel node;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        node = screen.build(screen.sizeFor(scale));
+        json = SSR.toJsonCompact(node);
+        binary = SSR.toBinary(node);
+        int jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%n[payload] %s/%s json=%d bytes binary=%d bytes (%.1f%%)%n",
+                screen, scale, jsonBytes, binary.length, 100.0 * binary.length / jsonBytes);
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        return SSR.toJsonCompact(node);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return SSR.toBinary(node);
+    }
+
+    @Benchmark
+    public NodeModel decodeJson() {
+        return SSR.fromJson(json);
+    }
+
+    @Benchmark
+    public NodeModel decodeBinary() {
+        return SSR.fromBinary(binary);
+    }
+}
@@ -0,0 +1,33 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of assembling a screen through NodeBuilder and the SSR factory methods.
+ */
+@State(Scope.Benchmark)
+public class BuildBenchmark {
+
+    @Param({"ADVANCED_TABLE", "SIMPLE_TABLE", "CARD_LAYOUT", "VIDEO_PAGER"})
+    public ScreenCorpus screen;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private int size;
+
+    @Setup
+    public void setUp() {
+        size = screen.sizeFor(scale);
+    }
+
+    @Benchmark
+    public NodeModel build() {
+        return screen.build(size);
+    }
+}
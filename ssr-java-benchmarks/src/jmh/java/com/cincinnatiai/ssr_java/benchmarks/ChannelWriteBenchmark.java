@@ -0,0 +1,68 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.DirectBufferPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writing a screen to a FileChannel: compact JSON copied into a heap ByteBuffer (which the JDK
+ * copies again into a temporary direct buffer) vs encoding into pooled direct buffers and writing
+ * them with one gathering write.
+ */
+@State(Scope.Benchmark)
+public class ChannelWriteBenchmark {
+
+    @Param({"ADVANCED_TABLE", "SIMPLE_TABLE", "CARD_LAYOUT", "VIDEO_PAGER"})
+    public ScreenCorpus screen;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private NodeModel node;
+    private DirectBufferPool pool;
+    private Path file;
+    private FileChannel channel;
+
+    @Setup
+    public void setUp() throws IOException {
+        node = screen.build(screen.sizeFor(scale));
+        pool = new DirectBufferPool();
+        file = Files.createTempFile("channel-write", ".json");
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void heapBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(SSR.toJsonCompact(node).getBytes(StandardCharsets.UTF_8));
+        channel.position(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Benchmark
+    public void pooledDirectBuffers() throws IOException {
+        channel.position(0);
+        SSR.writeJson(node, channel, pool);
+    }
+}
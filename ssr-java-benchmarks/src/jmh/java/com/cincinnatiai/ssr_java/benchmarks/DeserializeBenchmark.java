@@ -0,0 +1,55 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * Cost of parsing serialized screens back into NodeModel trees.
+ */
+@State(Scope.Benchmark)
+public class DeserializeBenchmark {
+    private static final int FIRST_VIEWPORT_CHILDREN = 10;
+
+    @Param({"ADVANCED_TABLE", "SIMPLE_TABLE", "CARD_LAYOUT", "VIDEO_PAGER"})
+    public ScreenCorpus screen;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        json = SSR.toJsonCompact(screen.build(screen.sizeFor(scale)));
+    }
+
+    @Benchmark
+    public NodeModel fromJson() {
+        return SSR.fromJson(json);
+    }
+
+    /**
+     * Parse lazily and read only what a first viewport needs: the top bar and the first children
+     * of the content
+     */
+    @Benchmark
+    public void fromJsonLazyFirstViewport(Blackhole blackhole) {
+        NodeModel root = SSR.fromJsonLazy(json);
+        blackhole.consume(root.getTopBar());
+        NodeModel content = root.getContent();
+        List<NodeModel> children = content != null ? content.getChildren() : null;
+        if (children != null) {
+            for (int i = 0; i < Math.min(FIRST_VIEWPORT_CHILDREN, children.size()); i++) {
+                blackhole.consume(children.get(i));
+            }
+        }
+    }
+}
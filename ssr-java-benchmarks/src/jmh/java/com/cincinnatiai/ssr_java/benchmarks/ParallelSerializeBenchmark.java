@@ -0,0 +1,40 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.ParallelJsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sequential vs fork-join compact serialization of the large screens. The gain depends on the
+ * cores available to the common pool, so record the core count with the results.
+ */
+@State(Scope.Benchmark)
+public class ParallelSerializeBenchmark {
+
+    @Param({"ADVANCED_TABLE", "CARD_LAYOUT", "VIDEO_PAGER"})
+    public ScreenCorpus screen;
+
+    private NodeModel node;
+    private ParallelJsonSerializer parallel;
+
+    @Setup
+    public void setUp() {
+        node = screen.build(screen.sizeFor(ScreenCorpus.Scale.LARGE));
+        parallel = new ParallelJsonSerializer();
+    }
+
+    @Benchmark
+    public String sequential() {
+        return SSR.toJsonCompact(node);
+    }
+
+    @Benchmark
+    public String parallel() {
+        return parallel.toJsonCompact(node);
+    }
+}
@@ -0,0 +1,163 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.builder.NodeBuilder;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+/**
+ * Benchmark screens modelled on the ssr-java examples, scaled up to production sizes.
+ */
+public enum ScreenCorpus {
+    ADVANCED_TABLE {
+        @Override
+        public NodeModel build(int size) {
+            NodeBuilder table = SSR.table()
+                    .showBorders(true)
+                    .headerBackgroundColor("#1976D2")
+                    .rowAction("row_clicked")
+                    .modifier(SSR.modifier().fillMaxWidth())
+                    .addColumn(SSR.column("Product").weight(2.0f).horizontalAlignment("start")
+                            .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16)))
+                    .addColumn(SSR.column("Region").weight(1.5f).horizontalAlignment("center")
+                            .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16)))
+                    .addColumn(SSR.column("Units Sold").weight(1.0f).horizontalAlignment("end")
+                            .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16))
+                            .textStyle(SSR.textStyle().bold()))
+                    .addColumn(SSR.column("Revenue").weight(1.5f).horizontalAlignment("end")
+                            .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16))
+                            .textStyle(SSR.textStyle().fontSize(14).bold().color("#2E7D32")))
+                    .addColumn(SSR.column("Action").weight(1.0f).horizontalAlignment("center")
+                            .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16)));
+            for (int i = 0; i < size; i++) {
+                table.addRow(
+                        SSR.cell("Laptop Pro X" + i).build(),
+                        SSR.cell(REGIONS[i % REGIONS.length]).build(),
+                        SSR.cell(String.valueOf(1000 + i)).build(),
+                        SSR.cell("$" + (2000 * i)).backgroundColor("#E8F5E9").build(),
+                        SSR.cell("View")
+                                .action("view_product_" + i)
+                                .backgroundColor("#2196F3")
+                                .textStyle(SSR.textStyle().color("#FFFFFF").bold())
+                                .build());
+            }
+            return SSR.scaffold()
+                    .topBar(SSR.topAppBar("Sales Dashboard"))
+                    .content(SSR.column()
+                            .modifier(SSR.modifier().padding(16).fillMaxSize())
+                            .addChild(SSR.text("Q4 Sales Report")
+                                    .textStyle(SSR.textStyle().fontSize(28).bold().color("#1976D2"))
+                                    .modifier(SSR.modifier().paddingBottom(8)))
+                            .addChild(table))
+                    .build();
+        }
+    },
+
+    SIMPLE_TABLE {
+        @Override
+        public NodeModel build(int size) {
+            NodeBuilder table = SSR.table()
+                    .showBorders(true)
+                    .headerBackgroundColor("#6200EE")
+                    .addColumn(SSR.column("Name").weight(2.0f).horizontalAlignment("start"))
+                    .addColumn(SSR.column("Role").weight(1.5f).horizontalAlignment("start"))
+                    .addColumn(SSR.column("Status").weight(1.0f).horizontalAlignment("center"));
+            for (int i = 0; i < size; i++) {
+                boolean active = i % 3 != 0;
+                table.addRow(
+                        SSR.cell("Employee " + i).build(),
+                        SSR.cell(ROLES[i % ROLES.length]).build(),
+                        SSR.cell(active ? "Active" : "Away")
+                                .backgroundColor(active ? "#4CAF50" : "#FF9800")
+                                .textStyle(SSR.textStyle().color("#FFFFFF").bold())
+                                .build());
+            }
+            return SSR.scaffold()
+                    .topBar(SSR.topAppBar("Simple Table Example"))
+                    .content(SSR.column()
+                            .modifier(SSR.modifier().padding(16))
+                            .addChild(SSR.text("Employee Directory")
+                                    .textStyle(SSR.textStyle().fontSize(24).bold())
+                                    .modifier(SSR.modifier().paddingBottom(16)))
+                            .addChild(table))
+                    .build();
+        }
+    },
+
+    CARD_LAYOUT {
+        @Override
+        public NodeModel build(int size) {
+            NodeBuilder column = SSR.column().modifier(SSR.modifier().padding(16).verticalScroll());
+            for (int i = 0; i < size; i++) {
+                column.addChild(SSR.card()
+                        .elevation(4)
+                        .modifier(SSR.modifier().fillMaxWidth().paddingBottom(16))
+                        .addChild(SSR.column()
+                                .modifier(SSR.modifier().padding(16))
+                                .addChild(SSR.image("https://example.com/image" + i + ".jpg")
+                                        .imageHeight(200)
+                                        .modifier(SSR.modifier().fillMaxWidth().paddingBottom(8)))
+                                .addChild(SSR.text("Product Title " + i)
+                                        .textStyle(SSR.textStyle().fontSize(20).bold()))
+                                .addChild(SSR.text("$" + i + ".99")
+                                        .textStyle(SSR.textStyle().fontSize(18).color("#4CAF50"))
+                                        .modifier(SSR.modifier().paddingTop(4)))
+                                .addChild(SSR.text("This is a detailed description of the product.")
+                                        .modifier(SSR.modifier().paddingTop(8)))
+                                .addChild(SSR.button("Add to Cart")
+                                        .action("add_to_cart_" + i)
+                                        .modifier(SSR.modifier().paddingTop(16)))));
+            }
+            return SSR.scaffold()
+                    .topBar(SSR.topAppBar("Card Layout Example"))
+                    .content(column)
+                    .build();
+        }
+    },
+
+    VIDEO_PAGER {
+        @Override
+        public NodeModel build(int size) {
+            NodeBuilder pager = SSR.horizontalPager().modifier(SSR.modifier().height(400));
+            for (int i = 0; i < size; i++) {
+                pager.addChild(SSR.videoItem(
+                        "Video " + i + ": Server-Side Rendering",
+                        "Learn the basics of SSR and how it improves app performance and user experience.",
+                        "https://via.placeholder.com/120?id=" + i,
+                        "video_" + i + "_clicked"));
+            }
+            return SSR.scaffold()
+                    .topBar(SSR.topAppBar("Video Gallery"))
+                    .content(SSR.column()
+                            .modifier(SSR.modifier().fillMaxSize().padding(16))
+                            .addChild(SSR.text("Swipe to explore videos")
+                                    .textStyle(SSR.textStyle().fontSize(18f).fontWeight("bold").color("#212121"))
+                                    .modifier(SSR.modifier().paddingBottom(16)))
+                            .addChild(pager))
+                    .build();
+        }
+    };
+
+    private static final String[] REGIONS = {"North America", "Europe", "Asia Pacific", "Latin America"};
+    private static final String[] ROLES = {"Engineer", "Designer", "Manager"};
+
+    /**
+     * Build the screen with the given number of table rows, cards or pager children
+     */
+    public abstract NodeModel build(int size);
+
+    /**
+     * Size used for a scale: tables grow to 10k rows, pagers and card lists to 5k children
+     */
+    public int sizeFor(Scale scale) {
+        boolean table = this == ADVANCED_TABLE || this == SIMPLE_TABLE;
+        switch (scale) {
+            case SMALL: return 10;
+            case MEDIUM: return table ? 1_000 : 500;
+            default: return table ? 10_000 : 5_000;
+        }
+    }
+
+    public enum Scale {
+        SMALL, MEDIUM, LARGE
+    }
+}
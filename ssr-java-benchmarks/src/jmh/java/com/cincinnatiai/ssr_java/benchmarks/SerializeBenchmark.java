@@ -0,0 +1,72 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Pretty vs compact serialization, plus streaming to an OutputStream.
+ */
+@State(Scope.Benchmark)
+public class SerializeBenchmark {
+
+    @Param({"ADVANCED_TABLE", "SIMPLE_TABLE", "CARD_LAYOUT", "VIDEO_PAGER"})
+    public ScreenCorpus screen;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private NodeModel node;
+    private OutputStream sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        node = screen.build(screen.sizeFor(scale));
+        sink = new BlackholeOutputStream(blackhole);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return SSR.toJson(node);
+    }
+
+    @Benchmark
+    public String toJsonCompact() {
+        return SSR.toJsonCompact(node);
+    }
+
+    @Benchmark
+    public void writeJson() throws IOException {
+        SSR.writeJson(node, sink);
+    }
+
+    /**
+     * Discards bytes through a Blackhole so the stream write cannot be optimized away.
+     */
+    static class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
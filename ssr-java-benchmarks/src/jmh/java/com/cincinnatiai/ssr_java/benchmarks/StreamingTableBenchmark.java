@@ -0,0 +1,72 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.builder.NodeBuilder;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Building and streaming a report table with every row materialized in tableData,
+ * vs producing the rows from a TableRowSource while writeJson runs.
+ */
+@State(Scope.Benchmark)
+public class StreamingTableBenchmark {
+
+    @Param({"10000", "50000"})
+    public int rows;
+
+    private OutputStream sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        sink = new SerializeBenchmark.BlackholeOutputStream(blackhole);
+    }
+
+    @Benchmark
+    public void materialized() throws IOException {
+        NodeBuilder table = table();
+        for (int i = 0; i < rows; i++) {
+            table.addRow(row(i));
+        }
+        SSR.writeJson(SSR.scaffold().content(table).build(), sink);
+    }
+
+    @Benchmark
+    public void streamed() throws IOException {
+        NodeBuilder table = table().tableRows(rowSink -> {
+            for (int i = 0; i < rows; i++) {
+                rowSink.accept(row(i));
+            }
+        });
+        SSR.writeJson(SSR.scaffold().content(table).build(), sink);
+    }
+
+    private static NodeBuilder table() {
+        return SSR.table()
+                .showBorders(true)
+                .addColumn(SSR.column("Order").weight(1.0f))
+                .addColumn(SSR.column("Customer").weight(2.0f))
+                .addColumn(SSR.column("Total").weight(1.0f).horizontalAlignment("end"))
+                .addColumn(SSR.column("Status").weight(1.0f).horizontalAlignment("center"));
+    }
+
+    private static List<TableCellModel> row(int i) {
+        return Arrays.asList(
+                SSR.cell("#" + (100_000 + i)).build(),
+                SSR.cell("Customer " + i).build(),
+                SSR.cell("$" + (i % 997) + ".00").build(),
+                SSR.cell(i % 5 == 0 ? "Pending" : "Shipped")
+                        .backgroundColor(i % 5 == 0 ? "#FF9800" : "#4CAF50")
+                        .build());
+    }
+}
@@ -0,0 +1,52 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.ScreenTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A card screen greeting the user by name: built and serialized per request vs rendered from a
+ * template compiled once.
+ */
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private int size;
+    private ScreenTemplate template;
+    private final Map<String, Object> values = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        size = ScreenCorpus.CARD_LAYOUT.sizeFor(scale);
+        template = SSR.template(screen(SSR.slot("name"), SSR.slot("cartCount")));
+        values.put("name", "Jordan");
+        values.put("cartCount", 3);
+    }
+
+    @Benchmark
+    public String buildAndSerialize() {
+        return SSR.toJsonCompact(screen("Jordan", "3"));
+    }
+
+    @Benchmark
+    public byte[] render() {
+        return template.render(values);
+    }
+
+    private NodeModel screen(String name, String cartCount) {
+        NodeModel screen = ScreenCorpus.CARD_LAYOUT.build(size);
+        screen.setTopBar(SSR.topAppBar("Hello, " + name + " (" + cartCount + " in cart)").build());
+        return screen;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cincinnatiai.ssr_java.benchmarks;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * A localized variant of the card screen, with its own top bar title and first price: built as a
+ * fresh tree vs derived from a frozen shared screen with persistent edits.
+ */
+@State(Scope.Benchmark)
+public class VariantBenchmark {
+    private static final List<Object> FIRST_PRICE = List.of("content", "children", 0, "children", 0, "children", 2, "title");
+    private static final List<Object> TOP_BAR_TITLE = List.of("topBar", "title");
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ScreenCorpus.Scale scale;
+
+    private int size;
+    private NodeModel base;
+
+    @Setup
+    public void setUp() {
+        size = ScreenCorpus.CARD_LAYOUT.sizeFor(scale);
+        base = ScreenCorpus.CARD_LAYOUT.build(size).freeze();
+        SSR.toJsonCompact(base);
+    }
+
+    @Benchmark
+    public NodeModel rebuildVariant() {
+        NodeModel screen = ScreenCorpus.CARD_LAYOUT.build(size);
+        screen.getTopBar().setTitle("Kartenlayout");
+        screen.getContent().getChildren().get(0).getChildren().get(0).getChildren().get(2).setTitle("0,99 €");
+        return screen;
+    }
+
+    @Benchmark
+    public NodeModel persistentVariant() {
+        NodeModel variant = SSR.replace(base, TOP_BAR_TITLE, "Kartenlayout");
+        return SSR.replace(variant, FIRST_PRICE, "0,99 €");
+    }
+
+    @Benchmark
+    public String rebuildAndSerialize() {
+        return SSR.toJsonCompact(rebuildVariant());
+    }
+
+    @Benchmark
+    public String persistentAndSerialize() {
+        return SSR.toJsonCompact(persistentVariant());
+    }
+}
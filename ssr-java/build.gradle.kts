@@ -12,6 +12,8 @@ java {
 
 dependencies {
     implementation("com.google.code.gson:gson:2.10.1")
+
+    testImplementation(libs.junit)
 }
 
 val major = 0
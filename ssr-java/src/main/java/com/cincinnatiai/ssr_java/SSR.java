@@ -2,7 +2,31 @@ package com.cincinnatiai.ssr_java;
 
 import com.cincinnatiai.ssr_java.builder.*;
 import com.cincinnatiai.ssr_java.model.*;
+import com.cincinnatiai.ssr_java.util.BatchStats;
+import com.cincinnatiai.ssr_java.util.BatchWriter;
+import com.cincinnatiai.ssr_java.util.BinaryNodeDecoder;
+import com.cincinnatiai.ssr_java.util.BinaryNodeEncoder;
+import com.cincinnatiai.ssr_java.util.ByteBufferChain;
+import com.cincinnatiai.ssr_java.util.DirectBufferPool;
 import com.cincinnatiai.ssr_java.util.JsonSerializer;
+import com.cincinnatiai.ssr_java.util.NodeHasher;
+import com.cincinnatiai.ssr_java.util.NodeModelDiff;
+import com.cincinnatiai.ssr_java.util.NodePatch;
+import com.cincinnatiai.ssr_java.util.PersistentTree;
+import com.cincinnatiai.ssr_java.util.ScreenMetrics;
+import com.cincinnatiai.ssr_java.util.ScreenProfile;
+import com.cincinnatiai.ssr_java.util.ScreenProfiler;
+import com.cincinnatiai.ssr_java.util.ScreenTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Main entry point for the SSR Java library.
@@ -102,6 +126,13 @@ public class SSR {
         return new TextStyleBuilder();
     }
 
+    /**
+     * Assemble the node from subtrees that are loaded concurrently
+     */
+    public static AsyncNodeBuilder async(NodeBuilder builder) {
+        return new AsyncNodeBuilder(builder);
+    }
+
     // JSON serialization methods
     public static String toJson(NodeModel node) {
         return JsonSerializer.toJson(node);
@@ -111,7 +142,144 @@ public class SSR {
         return JsonSerializer.toJsonCompact(node);
     }
 
+    public static void writeJson(NodeModel node, OutputStream out) throws IOException {
+        JsonSerializer.writeJson(node, out);
+    }
+
+    public static void writeJson(NodeModel node, Writer out) throws IOException {
+        JsonSerializer.writeJson(node, out);
+    }
+
+    /**
+     * Compact JSON without the fields ssr-simple would assume anyway
+     */
+    public static String toJsonMinimal(NodeModel node) {
+        return JsonSerializer.toJsonMinimal(node);
+    }
+
+    public static void writeJsonMinimal(NodeModel node, OutputStream out) throws IOException {
+        JsonSerializer.writeJsonMinimal(node, out);
+    }
+
+    /**
+     * Compact JSON with one or two character field names, for clients that decode the minified
+     * schema (ssr-simple's MinifiedDeserializerProvider). fromJson reads both schemas.
+     */
+    public static String toJsonMinified(NodeModel node) {
+        return JsonSerializer.toJsonMinified(node);
+    }
+
+    public static void writeJsonMinified(NodeModel node, OutputStream out) throws IOException {
+        JsonSerializer.writeJsonMinified(node, out);
+    }
+
+    /**
+     * Encode compact JSON into pooled direct buffers for NIO channel writes; close the result to
+     * return the buffers to the pool
+     */
+    public static ByteBufferChain toByteBuffers(NodeModel node, DirectBufferPool pool) {
+        return JsonSerializer.toByteBuffers(node, pool);
+    }
+
+    /**
+     * Write compact JSON to a blocking channel through pooled direct buffers
+     */
+    public static void writeJson(NodeModel node, WritableByteChannel channel, DirectBufferPool pool) throws IOException {
+        JsonSerializer.writeJson(node, channel, pool);
+    }
+
+    /**
+     * Write every screen as one line of compact JSON (NDJSON), reusing one encoder
+     */
+    public static BatchStats writeBatch(Stream<? extends NodeModel> screens, OutputStream out) throws IOException {
+        return new BatchWriter().write(screens, out);
+    }
+
+    /**
+     * Write every screen as one line of compact JSON, encoding up to parallelism screens at once
+     * on the executor while keeping the input order
+     */
+    public static BatchStats writeBatch(Stream<? extends NodeModel> screens, OutputStream out, Executor executor,
+                                        int parallelism) throws IOException {
+        return new BatchWriter(executor, parallelism).write(screens, out);
+    }
+
+    /**
+     * Report the cost of every toJson, toJsonCompact, writeJson and fromJson call, e.g. to a
+     * HistogramMetrics
+     */
+    public static void setMetrics(ScreenMetrics metrics) {
+        JsonSerializer.setMetrics(metrics);
+    }
+
+    /**
+     * Serialize a screen as compact JSON, measuring the bytes and time of every subtree
+     */
+    public static ScreenProfile profile(NodeModel node) {
+        return ScreenProfiler.profile(node);
+    }
+
     public static NodeModel fromJson(String json) {
         return JsonSerializer.fromJson(json);
     }
+
+    /**
+     * Parse a screen, deferring content, children and tableData until they are first read
+     */
+    public static NodeModel fromJsonLazy(String json) {
+        return JsonSerializer.fromJsonLazy(json);
+    }
+
+    // Binary serialization methods
+    public static byte[] toBinary(NodeModel node) {
+        return BinaryNodeEncoder.encode(node);
+    }
+
+    public static void writeBinary(NodeModel node, OutputStream out) throws IOException {
+        BinaryNodeEncoder.encode(node, out);
+    }
+
+    public static NodeModel fromBinary(byte[] bytes) {
+        return BinaryNodeDecoder.decode(bytes);
+    }
+
+    // Diff methods
+    public static NodePatch diff(NodeModel from, NodeModel to) {
+        return NodeModelDiff.diff(from, to);
+    }
+
+    public static NodePatch diff(NodeModel from, NodeModel to, Function<? super NodeModel, ?> key) {
+        return NodeModelDiff.diff(from, to, key);
+    }
+
+    // Persistent edit methods, returning a new frozen root that shares unchanged subtrees
+    public static NodeModel edit(NodeModel root, List<?> path, Consumer<? super NodeModel> edit) {
+        return PersistentTree.edit(root, path, edit);
+    }
+
+    public static NodeModel replace(NodeModel root, List<?> path, Object value) {
+        return PersistentTree.replace(root, path, value);
+    }
+
+    public static NodeModel apply(NodeModel root, NodePatch patch) {
+        return PersistentTree.apply(root, patch);
+    }
+
+    // Content hashing methods
+    public static NodeDigest digest(NodeModel node) {
+        return NodeHasher.digest(node);
+    }
+
+    public static String etag(NodeModel node) {
+        return NodeHasher.digest(node).toETag();
+    }
+
+    // Template methods
+    public static String slot(String name) {
+        return ScreenTemplate.slot(name);
+    }
+
+    public static ScreenTemplate template(NodeModel screen) {
+        return ScreenTemplate.compile(screen);
+    }
 }
@@ -0,0 +1,171 @@
+package com.cincinnatiai.ssr_java.builder;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Assembles a node whose children and slots are loaded concurrently. Each pending subtree is a
+ * CompletionStage; build() completes once all of them have, so the screen takes as long as its
+ * slowest dependency rather than the sum of them.
+ *
+ * <pre>
+ * CompletableFuture&lt;NodeModel&gt; screen = SSR.async(SSR.column())
+ *     .addChild(profileClient.load(user).thenApply(ProfileCard::build))
+ *     .addChild(feedClient.load(user).thenApply(FeedSection::build), Duration.ofMillis(200), FEED_UNAVAILABLE)
+ *     .addChild(() -&gt; Recommendations.build(user), executor)
+ *     .build();
+ * </pre>
+ *
+ * A subtree given a timeout and fallback is replaced by the fallback when it fails or doesn't
+ * complete in time; the load itself is not interrupted. A subtree without a fallback that fails
+ * fails the whole build. A subtree that completes with null is left out.
+ */
+public class AsyncNodeBuilder {
+    private final NodeBuilder builder;
+    private final List<CompletableFuture<NodeModel>> children = new ArrayList<>();
+    private CompletableFuture<NodeModel> topBar;
+    private CompletableFuture<NodeModel> content;
+    private CompletableFuture<NodeModel> floatingActionButton;
+
+    public AsyncNodeBuilder(NodeBuilder builder) {
+        this.builder = builder;
+    }
+
+    public AsyncNodeBuilder(String type) {
+        this(new NodeBuilder(type));
+    }
+
+    /**
+     * The wrapped builder, for setting the node's own fields
+     */
+    public NodeBuilder node() {
+        return builder;
+    }
+
+    public AsyncNodeBuilder addChild(NodeModel child) {
+        children.add(CompletableFuture.completedFuture(child));
+        return this;
+    }
+
+    public AsyncNodeBuilder addChild(NodeBuilder child) {
+        return addChild(child.build());
+    }
+
+    public AsyncNodeBuilder addChild(AsyncNodeBuilder child) {
+        return addChild(child.build());
+    }
+
+    public AsyncNodeBuilder addChild(CompletionStage<NodeModel> child) {
+        children.add(child.toCompletableFuture());
+        return this;
+    }
+
+    public AsyncNodeBuilder addChild(CompletionStage<NodeModel> child, Duration timeout, NodeModel fallback) {
+        children.add(withFallback(child, timeout, fallback));
+        return this;
+    }
+
+    /**
+     * Build a child on the executor
+     */
+    public AsyncNodeBuilder addChild(Supplier<NodeModel> child, Executor executor) {
+        return addChild(CompletableFuture.supplyAsync(child, executor));
+    }
+
+    public AsyncNodeBuilder addChild(Supplier<NodeModel> child, Executor executor, Duration timeout, NodeModel fallback) {
+        return addChild(CompletableFuture.supplyAsync(child, executor), timeout, fallback);
+    }
+
+    public AsyncNodeBuilder topBar(CompletionStage<NodeModel> topBar) {
+        this.topBar = topBar.toCompletableFuture();
+        return this;
+    }
+
+    public AsyncNodeBuilder topBar(CompletionStage<NodeModel> topBar, Duration timeout, NodeModel fallback) {
+        this.topBar = withFallback(topBar, timeout, fallback);
+        return this;
+    }
+
+    public AsyncNodeBuilder content(CompletionStage<NodeModel> content) {
+        this.content = content.toCompletableFuture();
+        return this;
+    }
+
+    public AsyncNodeBuilder content(AsyncNodeBuilder content) {
+        return content(content.build());
+    }
+
+    public AsyncNodeBuilder content(CompletionStage<NodeModel> content, Duration timeout, NodeModel fallback) {
+        this.content = withFallback(content, timeout, fallback);
+        return this;
+    }
+
+    public AsyncNodeBuilder floatingActionButton(CompletionStage<NodeModel> floatingActionButton) {
+        this.floatingActionButton = floatingActionButton.toCompletableFuture();
+        return this;
+    }
+
+    public AsyncNodeBuilder floatingActionButton(CompletionStage<NodeModel> floatingActionButton,
+                                                 Duration timeout, NodeModel fallback) {
+        this.floatingActionButton = withFallback(floatingActionButton, timeout, fallback);
+        return this;
+    }
+
+    /**
+     * Complete with the assembled node once every pending subtree has completed. Children keep
+     * the order they were added in, after any added to the wrapped builder directly. The results
+     * are added to the wrapped builder, so call this once.
+     */
+    public CompletableFuture<NodeModel> build() {
+        List<CompletableFuture<NodeModel>> pending = new ArrayList<>(children);
+        CompletableFuture<NodeModel> topBar = optional(this.topBar);
+        CompletableFuture<NodeModel> content = optional(this.content);
+        CompletableFuture<NodeModel> floatingActionButton = optional(this.floatingActionButton);
+
+        List<CompletableFuture<NodeModel>> all = new ArrayList<>(pending);
+        all.add(topBar);
+        all.add(content);
+        all.add(floatingActionButton);
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            for (CompletableFuture<NodeModel> child : pending) {
+                NodeModel node = child.join();
+                if (node != null) {
+                    builder.addChild(node);
+                }
+            }
+            if (topBar.join() != null) {
+                builder.topBar(topBar.join());
+            }
+            if (content.join() != null) {
+                builder.content(content.join());
+            }
+            if (floatingActionButton.join() != null) {
+                builder.floatingActionButton(floatingActionButton.join());
+            }
+            return builder.build();
+        });
+    }
+
+    private static CompletableFuture<NodeModel> optional(CompletableFuture<NodeModel> slot) {
+        return slot != null ? slot : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * A copy of the stage that completes with the fallback on failure or after the timeout,
+     * leaving the caller's future untouched
+     */
+    private static CompletableFuture<NodeModel> withFallback(CompletionStage<NodeModel> stage,
+                                                             Duration timeout, NodeModel fallback) {
+        return stage.toCompletableFuture()
+                .exceptionally(error -> fallback)
+                .completeOnTimeout(fallback, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
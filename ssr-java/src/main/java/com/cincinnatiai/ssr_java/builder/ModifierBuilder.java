@@ -1,6 +1,7 @@
 package com.cincinnatiai.ssr_java.builder;
 
 import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.util.StyleInterner;
 
 public class ModifierBuilder {
     private final ModifierModel model = new ModifierModel();
@@ -80,7 +81,10 @@ public class ModifierBuilder {
         return this;
     }
 
+    /**
+     * Build the model. With {@link StyleInterner} enabled this returns a shared, frozen instance.
+     */
     public ModifierModel build() {
-        return model;
+        return StyleInterner.intern(model);
     }
 }
@@ -4,17 +4,35 @@ import com.cincinnatiai.ssr_java.model.ModifierModel;
 import com.cincinnatiai.ssr_java.model.NodeModel;
 import com.cincinnatiai.ssr_java.model.TableCellModel;
 import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TableRowSource;
+import com.cincinnatiai.ssr_java.model.TableWindowSource;
 import com.cincinnatiai.ssr_java.model.TextStyleModel;
+import com.cincinnatiai.ssr_java.util.FragmentCache;
+import com.cincinnatiai.ssr_java.util.TableWindowRegistry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class NodeBuilder {
-    private final NodeModel model = new NodeModel();
+    private final NodeModel model;
 
     public NodeBuilder(String type) {
-        model.setType(type);
+        model = new NodeModel(type);
+    }
+
+    private NodeBuilder(NodeModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Builder over a shallow copy of an existing node, e.g. a frozen shared screen. Subtrees are
+     * shared, not copied, so only the fields set here differ in the built node.
+     */
+    public static NodeBuilder from(NodeModel node) {
+        return new NodeBuilder(node.thaw());
     }
 
     public NodeBuilder title(String title) {
@@ -183,6 +201,46 @@ public class NodeBuilder {
         return addRow(Arrays.asList(cells));
     }
 
+    /**
+     * Stream table rows from a callback while the table is serialized, instead of holding them in memory
+     */
+    public NodeBuilder tableRows(TableRowSource rows) {
+        model.setTableRowSource(rows);
+        return this;
+    }
+
+    /**
+     * Stream table rows from an iterator. The built tree can only be serialized once.
+     */
+    public NodeBuilder tableRows(Iterator<? extends List<TableCellModel>> rows) {
+        return tableRows(TableRowSource.of(rows));
+    }
+
+    /**
+     * Stream table rows from a stream. The built tree can only be serialized once.
+     */
+    public NodeBuilder tableRows(Stream<? extends List<TableCellModel>> rows) {
+        return tableRows(TableRowSource.of(rows));
+    }
+
+    /**
+     * Send only the first windowSize rows with a nextCursor; the registry keeps the source and
+     * produces the later windows from it. Call columnar(true) before this for columnar windows.
+     */
+    public NodeBuilder window(TableWindowRegistry windows, TableWindowSource rows, int windowSize) {
+        windows.firstWindow(model, rows, windowSize);
+        return this;
+    }
+
+    /**
+     * Send the table rows column-major with a per-table style dictionary. Streamed rows and
+     * ragged rows are still sent row by row.
+     */
+    public NodeBuilder columnar(boolean columnar) {
+        model.setColumnar(columnar);
+        return this;
+    }
+
     public NodeBuilder showBorders(boolean showBorders) {
         model.setShowBorders(showBorders);
         return this;
@@ -211,4 +269,12 @@ public class NodeBuilder {
     public NodeModel build() {
         return model;
     }
+
+    /**
+     * Build an immutable subtree that carries its pre-encoded compact JSON,
+     * so it is spliced into every screen it appears in instead of being re-serialized.
+     */
+    public NodeModel buildFrozen() {
+        return FragmentCache.freeze(model);
+    }
 }
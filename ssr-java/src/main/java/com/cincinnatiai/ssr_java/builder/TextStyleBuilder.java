@@ -1,6 +1,7 @@
 package com.cincinnatiai.ssr_java.builder;
 
 import com.cincinnatiai.ssr_java.model.TextStyleModel;
+import com.cincinnatiai.ssr_java.util.StyleInterner;
 
 public class TextStyleBuilder {
     private final TextStyleModel model = new TextStyleModel();
@@ -30,7 +31,10 @@ public class TextStyleBuilder {
         return this;
     }
 
+    /**
+     * Build the model. With {@link StyleInterner} enabled this returns a shared, frozen instance.
+     */
     public TextStyleModel build() {
-        return model;
+        return StyleInterner.intern(model);
     }
 }
@@ -0,0 +1,72 @@
+package com.cincinnatiai.ssr_java.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Example of a screen assembled from three backends that are called concurrently: a profile
+ * (150 ms), a feed (250 ms) and recommendations, which take 2 s and are replaced by a fallback
+ * after 300 ms. Built sequentially the screen would take 2.4 s.
+ */
+public class AsyncScreenExample {
+
+    private static final NodeModel RECOMMENDATIONS_UNAVAILABLE = SSR.text("Recommendations are unavailable")
+            .modifier(SSR.modifier().padding(16))
+            .buildFrozen();
+
+    public static void main(String[] args) {
+        ExecutorService backends = Executors.newFixedThreadPool(3);
+        try {
+            long start = System.nanoTime();
+            NodeModel ui = createAsyncScreen(backends).join();
+            System.out.printf("Assembled in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+            System.out.println(SSR.toJson(ui));
+        } finally {
+            backends.shutdownNow();
+        }
+    }
+
+    public static CompletableFuture<NodeModel> createAsyncScreen(ExecutorService backends) {
+        CompletableFuture<String> profile = call(backends, 150, "Ada Lovelace");
+        CompletableFuture<String> feed = call(backends, 250, "3 new posts");
+        CompletableFuture<String> recommendations = call(backends, 2000, "Engines and you");
+
+        return SSR.async(SSR.scaffold().topBar(SSR.topAppBar("Home")))
+                .content(SSR.async(SSR.column().modifier(SSR.modifier().padding(16).verticalScroll()))
+                        .addChild(profile.thenApply(name -> card("Profile", name)))
+                        .addChild(feed.thenApply(summary -> card("Feed", summary)))
+                        .addChild(recommendations.thenApply(title -> card("Recommended", title)),
+                                Duration.ofMillis(300), RECOMMENDATIONS_UNAVAILABLE))
+                .build();
+    }
+
+    private static NodeModel card(String title, String body) {
+        return SSR.card()
+                .elevation(4)
+                .modifier(SSR.modifier().fillMaxWidth().paddingBottom(16))
+                .addChild(SSR.column()
+                        .modifier(SSR.modifier().padding(16))
+                        .addChild(SSR.text(title).textStyle(SSR.textStyle().fontSize(18).bold()))
+                        .addChild(SSR.text(body).modifier(SSR.modifier().paddingTop(4))))
+                .build();
+    }
+
+    /**
+     * Stand-in for a backend call that answers after latencyMillis
+     */
+    private static CompletableFuture<String> call(ExecutorService backends, long latencyMillis, String result) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        }, backends);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cincinnatiai.ssr_java.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.CompressionDictionary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Trains a compression dictionary from the example screens plus any screen JSON files given,
+ * writes it to a file and reports how each screen compresses with and without it.
+ * The output is a candidate for the next {@link CompressionDictionary#VERSION}.
+ *
+ * <pre>
+ * DictionaryTrainer ssr-dictionary-v2.txt ../ssr-simple/src/main/assets/examples/*.json
+ * </pre>
+ */
+public class DictionaryTrainer {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: DictionaryTrainer <output file> [screen.json ...]");
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        List<byte[]> samples = new ArrayList<>();
+        addSample(names, samples, "SimpleTableExample", SimpleTableExample.createSimpleTable());
+        addSample(names, samples, "AdvancedTableExample", AdvancedTableExample.createAdvancedTable());
+        addSample(names, samples, "CardLayoutExample", CardLayoutExample.createCardLayout());
+        addSample(names, samples, "VideoPagerExample", VideoPagerExample.createVideoPagerScreen());
+        addSample(names, samples, "SimpleVideoList", VideoPagerExample.createSimpleVideoList());
+        for (int i = 1; i < args.length; i++) {
+            Path file = Paths.get(args[i]);
+            // Round-trip so the sample is the compact form the server actually sends
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            addSample(names, samples, file.getFileName().toString(), SSR.fromJson(json));
+        }
+
+        byte[] dictionary = CompressionDictionary.train(samples, CompressionDictionary.DEFAULT_MAX_SIZE);
+        Files.write(Paths.get(args[0]), dictionary);
+        System.out.println("Wrote " + dictionary.length + " byte dictionary to " + args[0]);
+
+        System.out.printf("%-32s %8s %8s %8s%n", "Screen", "JSON", "Deflate", "Preset");
+        for (int i = 0; i < samples.size(); i++) {
+            byte[] sample = samples.get(i);
+            System.out.printf("%-32s %8d %8d %8d%n",
+                    names.get(i), sample.length, deflate(sample, null), deflate(sample, dictionary));
+        }
+    }
+
+    private static void addSample(List<String> names, List<byte[]> samples, String name, NodeModel screen) {
+        names.add(name);
+        samples.add(SSR.toJsonCompact(screen).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int deflate(byte[] sample, byte[] dictionary) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(sample);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.size();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.cincinnatiai.ssr_java.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prints the size of each example screen as compact and as minimal JSON, raw and gzipped.
+ */
+public class MinimalOutputReport {
+
+    public static void main(String[] args) {
+        Map<String, NodeModel> screens = new LinkedHashMap<>();
+        screens.put("SimpleTable", SimpleTableExample.createSimpleTable());
+        screens.put("AdvancedTable", AdvancedTableExample.createAdvancedTable());
+        screens.put("CardLayout", CardLayoutExample.createCardLayout());
+        screens.put("VideoPager", VideoPagerExample.createVideoPagerScreen());
+        screens.put("SimpleVideoList", VideoPagerExample.createSimpleVideoList());
+
+        System.out.printf("%-16s %9s %9s %7s %9s %9s %7s%n",
+                "Screen", "Compact", "Minimal", "Saved", "gz Comp", "gz Min", "Saved");
+        long compactTotal = 0;
+        long minimalTotal = 0;
+        for (Map.Entry<String, NodeModel> screen : screens.entrySet()) {
+            byte[] compact = SSR.toJsonCompact(screen.getValue()).getBytes(StandardCharsets.UTF_8);
+            byte[] minimal = SSR.toJsonMinimal(screen.getValue()).getBytes(StandardCharsets.UTF_8);
+            int compactGzip = gzippedSize(compact);
+            int minimalGzip = gzippedSize(minimal);
+            compactTotal += compact.length;
+            minimalTotal += minimal.length;
+            System.out.printf("%-16s %9d %9d %6.1f%% %9d %9d %6.1f%%%n", screen.getKey(),
+                    compact.length, minimal.length, saved(compact.length, minimal.length),
+                    compactGzip, minimalGzip, saved(compactGzip, minimalGzip));
+        }
+        System.out.printf("%-16s %9d %9d %6.1f%%%n", "Total", compactTotal, minimalTotal,
+                saved(compactTotal, minimalTotal));
+    }
+
+    private static double saved(long before, long after) {
+        return 100.0 * (before - after) / before;
+    }
+
+    private static int gzippedSize(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.cincinnatiai.ssr_java.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.HistogramMetrics;
+import com.cincinnatiai.ssr_java.util.ScreenMetrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Serializes and parses the example screens with a HistogramMetrics installed and prints the
+ * per-screen percentiles it collected.
+ */
+public class ScreenMetricsReport {
+
+    public static void main(String[] args) {
+        HistogramMetrics metrics = new HistogramMetrics();
+        SSR.setMetrics(metrics);
+        try {
+            // Warm up, then measure from a clean slate
+            exercise(1000);
+            metrics.clear();
+            exercise(1000);
+        } finally {
+            SSR.setMetrics(ScreenMetrics.NO_OP);
+        }
+        System.out.print(metrics.report());
+    }
+
+    private static void exercise(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            roundTrip(SimpleTableExample::createSimpleTable);
+            roundTrip(AdvancedTableExample::createAdvancedTable);
+            roundTrip(CardLayoutExample::createCardLayout);
+            roundTrip(VideoPagerExample::createVideoPagerScreen);
+        }
+    }
+
+    private static void roundTrip(Supplier<NodeModel> screen) {
+        SSR.fromJson(SSR.toJsonCompact(screen.get()));
+    }
+}
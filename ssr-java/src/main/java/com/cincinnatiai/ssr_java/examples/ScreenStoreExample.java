@@ -0,0 +1,68 @@
+package com.cincinnatiai.ssr_java.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.ScreenStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Precompiles the example screens into a ScreenStore, then compares the first request after a
+ * restart served from the store with building and serializing the screen.
+ *
+ * <pre>
+ * java ... ScreenStoreExample write screens.ssrs   # build step
+ * java ... ScreenStoreExample serve screens.ssrs   # fresh JVM, as after a deploy
+ * </pre>
+ */
+public class ScreenStoreExample {
+    private static final Map<String, Supplier<NodeModel>> SCREENS = new LinkedHashMap<>();
+
+    static {
+        SCREENS.put("/tables/simple", SimpleTableExample::createSimpleTable);
+        SCREENS.put("/tables/advanced", AdvancedTableExample::createAdvancedTable);
+        SCREENS.put("/cards", CardLayoutExample::createCardLayout);
+        SCREENS.put("/videos", VideoPagerExample::createVideoPagerScreen);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || !(args[0].equals("write") || args[0].equals("serve"))) {
+            System.err.println("Usage: ScreenStoreExample write|serve <file>");
+            System.exit(2);
+        }
+        Path file = Path.of(args[1]);
+        if (args[0].equals("write")) {
+            try (ScreenStore store = ScreenStore.open(file)) {
+                for (Map.Entry<String, Supplier<NodeModel>> screen : SCREENS.entrySet()) {
+                    System.out.println(screen.getKey() + " " + store.put(screen.getKey(), screen.getValue().get()));
+                }
+                store.force();
+                System.out.println(store.size() + " screens, " + store.getFileSize() + " bytes");
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (ScreenStore store = ScreenStore.openReadOnly(file)) {
+            System.out.printf("open: %.2f ms%n", (System.nanoTime() - start) / 1e6);
+            System.out.printf("%-18s %12s %12s%n", "Screen", "store us", "build us");
+            for (Map.Entry<String, Supplier<NodeModel>> screen : SCREENS.entrySet()) {
+                long t0 = System.nanoTime();
+                ByteBuffer stored = store.get(screen.getKey());
+                long t1 = System.nanoTime();
+                String built = SSR.toJsonCompact(screen.getValue().get());
+                long t2 = System.nanoTime();
+                if (stored == null || stored.remaining() != built.getBytes(StandardCharsets.UTF_8).length) {
+                    System.out.println(screen.getKey() + " is missing or stale in the store");
+                }
+                System.out.printf("%-18s %12.1f %12.1f%n", screen.getKey(), (t1 - t0) / 1e3, (t2 - t1) / 1e3);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.cincinnatiai.ssr_java.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.builder.NodeBuilder;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.StyleInterner;
+
+import java.util.function.Supplier;
+
+/**
+ * Reports how much heap style interning saves when building the example screens.
+ */
+public class StyleInterningReport {
+
+    public static void main(String[] args) {
+        StyleInterner.enable();
+        System.out.printf("%-28s %10s %10s %14s%n", "Screen", "Shared", "Created", "Bytes saved");
+        report("SimpleTableExample", SimpleTableExample::createSimpleTable);
+        report("AdvancedTableExample", AdvancedTableExample::createAdvancedTable);
+        report("CardLayoutExample", CardLayoutExample::createCardLayout);
+        report("VideoPagerExample", VideoPagerExample::createVideoPagerScreen);
+        report("Advanced table, 5000 rows", () -> createLargeTable(5000));
+        StyleInterner.disable();
+    }
+
+    private static void report(String name, Supplier<NodeModel> screen) {
+        StyleInterner.clear();
+        StyleInterner.resetStats();
+        screen.get();
+        System.out.printf("%-28s %10d %10d %14d%n",
+                name, StyleInterner.hits(), StyleInterner.misses(), StyleInterner.bytesSaved());
+    }
+
+    private static NodeModel createLargeTable(int rows) {
+        NodeBuilder table = SSR.table()
+                .showBorders(true)
+                .headerBackgroundColor("#1976D2")
+                .addColumn(SSR.column("Product").weight(2.0f)
+                        .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16)))
+                .addColumn(SSR.column("Revenue").weight(1.5f)
+                        .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16)))
+                .addColumn(SSR.column("Action").weight(1.0f)
+                        .headerStyle(SSR.textStyle().color("#FFFFFF").fontSize(16)));
+        for (int i = 0; i < rows; i++) {
+            table.addRow(
+                    SSR.cell("Product " + i).textStyle(SSR.textStyle().fontSize(14)).build(),
+                    SSR.cell("$" + i).textStyle(SSR.textStyle().fontSize(14).bold().color("#2E7D32")).build(),
+                    SSR.cell("View")
+                            .action("view_" + i)
+                            .backgroundColor("#2196F3")
+                            .textStyle(SSR.textStyle().color("#FFFFFF").bold())
+                            .modifier(SSR.modifier().padding(8))
+                            .build());
+        }
+        return SSR.scaffold().content(table).build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.cincinnatiai.ssr_java.model;
 
+import java.util.Objects;
+
 public class ModifierModel {
     private Integer height;
     private Integer width;
@@ -16,51 +18,97 @@ public class ModifierModel {
     private String verticalAlignment;
     private String contentAlignment;
     private Boolean verticalScroll;
+    private transient boolean frozen;
 
     public ModifierModel() {}
 
     public Integer getHeight() { return height; }
-    public void setHeight(Integer height) { this.height = height; }
+    public void setHeight(Integer height) { checkMutable(); this.height = height; }
 
     public Integer getWidth() { return width; }
-    public void setWidth(Integer width) { this.width = width; }
+    public void setWidth(Integer width) { checkMutable(); this.width = width; }
 
     public Float getWeight() { return weight; }
-    public void setWeight(Float weight) { this.weight = weight; }
+    public void setWeight(Float weight) { checkMutable(); this.weight = weight; }
 
     public Integer getPadding() { return padding; }
-    public void setPadding(Integer padding) { this.padding = padding; }
+    public void setPadding(Integer padding) { checkMutable(); this.padding = padding; }
 
     public Integer getPaddingTop() { return paddingTop; }
-    public void setPaddingTop(Integer paddingTop) { this.paddingTop = paddingTop; }
+    public void setPaddingTop(Integer paddingTop) { checkMutable(); this.paddingTop = paddingTop; }
 
     public Integer getPaddingBottom() { return paddingBottom; }
-    public void setPaddingBottom(Integer paddingBottom) { this.paddingBottom = paddingBottom; }
+    public void setPaddingBottom(Integer paddingBottom) { checkMutable(); this.paddingBottom = paddingBottom; }
 
     public Integer getPaddingStart() { return paddingStart; }
-    public void setPaddingStart(Integer paddingStart) { this.paddingStart = paddingStart; }
+    public void setPaddingStart(Integer paddingStart) { checkMutable(); this.paddingStart = paddingStart; }
 
     public Integer getPaddingEnd() { return paddingEnd; }
-    public void setPaddingEnd(Integer paddingEnd) { this.paddingEnd = paddingEnd; }
+    public void setPaddingEnd(Integer paddingEnd) { checkMutable(); this.paddingEnd = paddingEnd; }
 
     public Boolean getFillMaxSize() { return fillMaxSize; }
-    public void setFillMaxSize(Boolean fillMaxSize) { this.fillMaxSize = fillMaxSize; }
+    public void setFillMaxSize(Boolean fillMaxSize) { checkMutable(); this.fillMaxSize = fillMaxSize; }
 
     public Boolean getFillMaxWidth() { return fillMaxWidth; }
-    public void setFillMaxWidth(Boolean fillMaxWidth) { this.fillMaxWidth = fillMaxWidth; }
+    public void setFillMaxWidth(Boolean fillMaxWidth) { checkMutable(); this.fillMaxWidth = fillMaxWidth; }
 
     public String getBackgroundColor() { return backgroundColor; }
-    public void setBackgroundColor(String backgroundColor) { this.backgroundColor = backgroundColor; }
+    public void setBackgroundColor(String backgroundColor) { checkMutable(); this.backgroundColor = backgroundColor; }
 
     public String getHorizontalAlignment() { return horizontalAlignment; }
-    public void setHorizontalAlignment(String horizontalAlignment) { this.horizontalAlignment = horizontalAlignment; }
+    public void setHorizontalAlignment(String horizontalAlignment) { checkMutable(); this.horizontalAlignment = horizontalAlignment; }
 
     public String getVerticalAlignment() { return verticalAlignment; }
-    public void setVerticalAlignment(String verticalAlignment) { this.verticalAlignment = verticalAlignment; }
+    public void setVerticalAlignment(String verticalAlignment) { checkMutable(); this.verticalAlignment = verticalAlignment; }
 
     public String getContentAlignment() { return contentAlignment; }
-    public void setContentAlignment(String contentAlignment) { this.contentAlignment = contentAlignment; }
+    public void setContentAlignment(String contentAlignment) { checkMutable(); this.contentAlignment = contentAlignment; }
 
     public Boolean getVerticalScroll() { return verticalScroll; }
-    public void setVerticalScroll(Boolean verticalScroll) { this.verticalScroll = verticalScroll; }
+    public void setVerticalScroll(Boolean verticalScroll) { checkMutable(); this.verticalScroll = verticalScroll; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ModifierModel that = (ModifierModel) o;
+        return Objects.equals(height, that.height) &&
+                Objects.equals(width, that.width) &&
+                Objects.equals(weight, that.weight) &&
+                Objects.equals(padding, that.padding) &&
+                Objects.equals(paddingTop, that.paddingTop) &&
+                Objects.equals(paddingBottom, that.paddingBottom) &&
+                Objects.equals(paddingStart, that.paddingStart) &&
+                Objects.equals(paddingEnd, that.paddingEnd) &&
+                Objects.equals(fillMaxSize, that.fillMaxSize) &&
+                Objects.equals(fillMaxWidth, that.fillMaxWidth) &&
+                Objects.equals(backgroundColor, that.backgroundColor) &&
+                Objects.equals(horizontalAlignment, that.horizontalAlignment) &&
+                Objects.equals(verticalAlignment, that.verticalAlignment) &&
+                Objects.equals(contentAlignment, that.contentAlignment) &&
+                Objects.equals(verticalScroll, that.verticalScroll);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(height, width, weight, padding, paddingTop, paddingBottom, paddingStart, paddingEnd,
+                fillMaxSize, fillMaxWidth, backgroundColor, horizontalAlignment, verticalAlignment,
+                contentAlignment, verticalScroll);
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    /**
+     * Make this model immutable. Setters throw IllegalStateException afterwards.
+     */
+    public ModifierModel freeze() {
+        frozen = true;
+        return this;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("ModifierModel is frozen");
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.cincinnatiai.ssr_java.model;
+
+/**
+ * 128-bit structural digest of a NodeModel subtree. Two trees that serialize to the same JSON
+ * have the same digest, so it can stand in for the serialized form as an ETag or a cache key.
+ * It is not cryptographic and must not be used where collisions could be forced on purpose.
+ */
+public final class NodeDigest {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long high;
+    private final long low;
+
+    public NodeDigest(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public long getHigh() { return high; }
+    public long getLow() { return low; }
+
+    /**
+     * 64-bit form of the digest, for callers that only need a long key
+     */
+    public long toLong() {
+        return high;
+    }
+
+    /**
+     * 32 lowercase hex digits
+     */
+    public String toHex() {
+        char[] out = new char[32];
+        for (int i = 0; i < 16; i++) {
+            out[i] = HEX[(int) (high >>> (60 - 4 * i)) & 0xF];
+            out[16 + i] = HEX[(int) (low >>> (60 - 4 * i)) & 0xF];
+        }
+        return new String(out);
+    }
+
+    /**
+     * Strong HTTP entity tag, i.e. the quoted hex digest
+     */
+    public String toETag() {
+        return toETag("");
+    }
+
+    /**
+     * Entity tag for one representation of the screen, e.g. "-m1" for the minified schema, so
+     * representations with different bodies never share a tag
+     */
+    public String toETag(String variant) {
+        return '"' + toHex() + variant + '"';
+    }
+
+    /**
+     * True if an If-None-Match header value matches this digest, so the response can be a 304.
+     * Handles "*", comma-separated lists and weak W/ tags.
+     */
+    public boolean matches(String ifNoneMatch) {
+        return matches(ifNoneMatch, "");
+    }
+
+    /**
+     * True if an If-None-Match header value matches the tag {@link #toETag(String)} gives for
+     * the variant
+     */
+    public boolean matches(String ifNoneMatch, String variant) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = toHex() + variant;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() == opaque.length() + 2 && tag.charAt(0) == '"' && tag.endsWith("\"")
+                    && tag.regionMatches(1, opaque, 0, opaque.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NodeDigest that = (NodeDigest) o;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -1,5 +1,7 @@
 package com.cincinnatiai.ssr_java.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class NodeModel {
@@ -28,6 +30,14 @@ public class NodeModel {
     private String rowAction;
     private Float roundedCorners;
     private Boolean useLazyColumn;
+    private String nextCursor;
+    private transient TableRowSource tableRowSource;
+    private transient boolean columnar;
+    private transient boolean frozen;
+    private transient volatile byte[] frozenJson;
+    private transient volatile NodeDigest digest;
+    private transient NodeModel thawedFrom;
+    private transient boolean derived;
 
     public NodeModel() {}
 
@@ -36,77 +46,287 @@ public class NodeModel {
     }
 
     public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
+    public void setType(String type) { checkMutable(); this.type = type; }
 
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) { checkMutable(); this.title = title; }
 
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { checkMutable(); this.description = description; }
 
     public String getLabel() { return label; }
-    public void setLabel(String label) { this.label = label; }
+    public void setLabel(String label) { checkMutable(); this.label = label; }
 
     public String getBackgroundColor() { return backgroundColor; }
-    public void setBackgroundColor(String backgroundColor) { this.backgroundColor = backgroundColor; }
+    public void setBackgroundColor(String backgroundColor) { checkMutable(); this.backgroundColor = backgroundColor; }
 
     public Float getElevation() { return elevation; }
-    public void setElevation(Float elevation) { this.elevation = elevation; }
+    public void setElevation(Float elevation) { checkMutable(); this.elevation = elevation; }
 
     public String getImageUrl() { return imageUrl; }
-    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public void setImageUrl(String imageUrl) { checkMutable(); this.imageUrl = imageUrl; }
 
     public Float getImageHeight() { return imageHeight; }
-    public void setImageHeight(Float imageHeight) { this.imageHeight = imageHeight; }
+    public void setImageHeight(Float imageHeight) { checkMutable(); this.imageHeight = imageHeight; }
 
     public Float getImageWidth() { return imageWidth; }
-    public void setImageWidth(Float imageWidth) { this.imageWidth = imageWidth; }
+    public void setImageWidth(Float imageWidth) { checkMutable(); this.imageWidth = imageWidth; }
 
     public String getContentDescription() { return contentDescription; }
-    public void setContentDescription(String contentDescription) { this.contentDescription = contentDescription; }
+    public void setContentDescription(String contentDescription) { checkMutable(); this.contentDescription = contentDescription; }
 
     public String getAction() { return action; }
-    public void setAction(String action) { this.action = action; }
+    public void setAction(String action) { checkMutable(); this.action = action; }
 
     public ModifierModel getModifier() { return modifier; }
-    public void setModifier(ModifierModel modifier) { this.modifier = modifier; }
+    public void setModifier(ModifierModel modifier) { checkMutable(); this.modifier = modifier; }
 
     public TextStyleModel getTextStyle() { return textStyle; }
-    public void setTextStyle(TextStyleModel textStyle) { this.textStyle = textStyle; }
+    public void setTextStyle(TextStyleModel textStyle) { checkMutable(); this.textStyle = textStyle; }
 
     public NodeModel getTopBar() { return topBar; }
-    public void setTopBar(NodeModel topBar) { this.topBar = topBar; }
+    public void setTopBar(NodeModel topBar) { checkMutable(); this.topBar = topBar; }
 
     public NodeModel getFloatingActionButton() { return floatingActionButton; }
-    public void setFloatingActionButton(NodeModel floatingActionButton) { this.floatingActionButton = floatingActionButton; }
+    public void setFloatingActionButton(NodeModel floatingActionButton) { checkMutable(); this.floatingActionButton = floatingActionButton; }
 
     public NodeModel getContent() { return content; }
-    public void setContent(NodeModel content) { this.content = content; }
+    public void setContent(NodeModel content) { checkMutable(); this.content = content; }
 
     public List<NodeModel> getChildren() { return children; }
-    public void setChildren(List<NodeModel> children) { this.children = children; }
+    public void setChildren(List<NodeModel> children) { checkMutable(); this.children = children; }
 
     public String getButtonVariant() { return buttonVariant; }
-    public void setButtonVariant(String buttonVariant) { this.buttonVariant = buttonVariant; }
+    public void setButtonVariant(String buttonVariant) { checkMutable(); this.buttonVariant = buttonVariant; }
 
     public List<TableColumnModel> getColumns() { return columns; }
-    public void setColumns(List<TableColumnModel> columns) { this.columns = columns; }
+    public void setColumns(List<TableColumnModel> columns) { checkMutable(); this.columns = columns; }
 
     public List<List<TableCellModel>> getTableData() { return tableData; }
-    public void setTableData(List<List<TableCellModel>> tableData) { this.tableData = tableData; }
+    public void setTableData(List<List<TableCellModel>> tableData) { checkMutable(); this.tableData = tableData; }
 
     public Boolean getShowBorders() { return showBorders; }
-    public void setShowBorders(Boolean showBorders) { this.showBorders = showBorders; }
+    public void setShowBorders(Boolean showBorders) { checkMutable(); this.showBorders = showBorders; }
 
     public String getHeaderBackgroundColor() { return headerBackgroundColor; }
-    public void setHeaderBackgroundColor(String headerBackgroundColor) { this.headerBackgroundColor = headerBackgroundColor; }
+    public void setHeaderBackgroundColor(String headerBackgroundColor) { checkMutable(); this.headerBackgroundColor = headerBackgroundColor; }
 
     public String getRowAction() { return rowAction; }
-    public void setRowAction(String rowAction) { this.rowAction = rowAction; }
+    public void setRowAction(String rowAction) { checkMutable(); this.rowAction = rowAction; }
 
     public Float getRoundedCorners() { return roundedCorners; }
-    public void setRoundedCorners(Float roundedCorners) { this.roundedCorners = roundedCorners; }
+    public void setRoundedCorners(Float roundedCorners) { checkMutable(); this.roundedCorners = roundedCorners; }
 
     public Boolean getUseLazyColumn() { return useLazyColumn; }
-    public void setUseLazyColumn(Boolean useLazyColumn) { this.useLazyColumn = useLazyColumn; }
+    public void setUseLazyColumn(Boolean useLazyColumn) { checkMutable(); this.useLazyColumn = useLazyColumn; }
+
+    /**
+     * Cursor for the table's next window of rows, or null when tableData holds the last rows
+     */
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { checkMutable(); this.nextCursor = nextCursor; }
+
+    /**
+     * Rows streamed into tableData at serialization time, written after any rows held in tableData
+     */
+    public TableRowSource getTableRowSource() { return tableRowSource; }
+    public void setTableRowSource(TableRowSource tableRowSource) { checkMutable(); this.tableRowSource = tableRowSource; }
+
+    /**
+     * Send tableData column-major as columnarData, with the cell styles in a per-table dictionary
+     */
+    public boolean isColumnar() { return columnar; }
+    public void setColumnar(boolean columnar) { checkMutable(); this.columnar = columnar; }
+
+    public boolean isFrozen() { return frozen; }
+
+    /**
+     * True for a frozen node that was thawed from a frozen node and frozen again, such as the
+     * nodes a persistent edit copies. Serializers splice the subtrees it shares but don't keep
+     * pre-encoded JSON for the node itself, so a variant only costs the nodes it copied.
+     */
+    public boolean isDerived() { return derived; }
+
+    /**
+     * Pre-encoded compact JSON of a frozen subtree, or null if it has not been encoded yet
+     */
+    public byte[] getFrozenJson() { return frozenJson; }
+
+    public void setFrozenJson(byte[] frozenJson) {
+        if (!frozen) {
+            throw new IllegalStateException("Only a frozen NodeModel can carry pre-encoded JSON");
+        }
+        this.frozenJson = frozenJson;
+    }
+
+    /**
+     * Memoized structural digest of a frozen subtree, or null if it has not been hashed yet
+     */
+    public NodeDigest getDigest() { return digest; }
+
+    public void setDigest(NodeDigest digest) {
+        if (!frozen) {
+            throw new IllegalStateException("Only a frozen NodeModel can carry a memoized digest");
+        }
+        this.digest = digest;
+    }
+
+    /**
+     * Make this node and its whole subtree immutable. Setters throw IllegalStateException
+     * afterwards and child, column and row lists become unmodifiable.
+     *
+     * <p>Tables streamed from an Iterator or a Stream are rejected with IllegalStateException,
+     * since a frozen subtree is encoded and hashed again and again. A frozen table streamed from
+     * a callback is encoded once, so its pre-encoded JSON holds every row.
+     */
+    public NodeModel freeze() {
+        if (frozen) {
+            return this;
+        }
+        checkNoOneShotRows();
+        freezeSubtree();
+        return this;
+    }
+
+    /**
+     * Checked for the whole subtree up front, so a rejected freeze leaves every node mutable
+     */
+    private void checkNoOneShotRows() {
+        if (frozen) {
+            return;
+        }
+        if (tableRowSource != null && !tableRowSource.isReplayable()) {
+            throw new IllegalStateException("A table streamed from an Iterator or Stream can only be written once"
+                    + " and can't be frozen; use a TableRowSource callback or tableData");
+        }
+        for (NodeModel node : new NodeModel[] {topBar, floatingActionButton, content}) {
+            if (node != null) {
+                node.checkNoOneShotRows();
+            }
+        }
+        if (children != null) {
+            for (NodeModel child : children) {
+                if (child != null) {
+                    child.checkNoOneShotRows();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads children and rows through their getters, so lazily decoded nodes are decoded before
+     * they are frozen
+     */
+    private void freezeSubtree() {
+        if (frozen) {
+            return;
+        }
+        NodeModel content = getContent();
+        List<NodeModel> children = getChildren();
+        List<List<TableCellModel>> tableData = getTableData();
+        if (modifier != null) {
+            modifier.freeze();
+        }
+        if (textStyle != null) {
+            textStyle.freeze();
+        }
+        if (topBar != null) {
+            topBar.freezeSubtree();
+        }
+        if (floatingActionButton != null) {
+            floatingActionButton.freezeSubtree();
+        }
+        if (content != null) {
+            content.freezeSubtree();
+        }
+        if (children != null) {
+            for (NodeModel child : children) {
+                if (child != null) {
+                    child.freezeSubtree();
+                }
+            }
+            this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+        if (columns != null) {
+            for (TableColumnModel column : columns) {
+                if (column != null) {
+                    column.freeze();
+                }
+            }
+            columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        }
+        if (tableData != null) {
+            List<List<TableCellModel>> frozenRows = thawedFrom != null ? thawedFrom.tableData : null;
+            List<List<TableCellModel>> rows = new ArrayList<>(tableData.size());
+            for (int i = 0; i < tableData.size(); i++) {
+                List<TableCellModel> row = tableData.get(i);
+                if (frozenRows != null && i < frozenRows.size() && row == frozenRows.get(i)) {
+                    // Still the frozen row of the node this one was thawed from
+                    rows.add(row);
+                    continue;
+                }
+                if (row != null) {
+                    for (TableCellModel cell : row) {
+                        if (cell != null) {
+                            cell.freeze();
+                        }
+                    }
+                    row = Collections.unmodifiableList(new ArrayList<>(row));
+                }
+                rows.add(row);
+            }
+            this.tableData = Collections.unmodifiableList(rows);
+        }
+        frozen = true;
+        derived = thawedFrom != null;
+        thawedFrom = null;
+    }
+
+    /**
+     * Mutable shallow copy of this node. Child nodes, the modifier, the text style, columns and
+     * table rows are shared rather than copied; only the lists holding them are new, so children,
+     * columns and rows can be added, removed or replaced. When this node is frozen the shared parts
+     * stay frozen and freezing the copy again only walks what changed.
+     */
+    public NodeModel thaw() {
+        // Through the getters, so lazily decoded content, children and rows are decoded first
+        List<NodeModel> children = getChildren();
+        List<List<TableCellModel>> tableData = getTableData();
+        NodeModel copy = new NodeModel(getType());
+        copy.title = getTitle();
+        copy.description = getDescription();
+        copy.label = getLabel();
+        copy.backgroundColor = getBackgroundColor();
+        copy.elevation = getElevation();
+        copy.imageUrl = getImageUrl();
+        copy.imageHeight = getImageHeight();
+        copy.imageWidth = getImageWidth();
+        copy.contentDescription = getContentDescription();
+        copy.action = getAction();
+        copy.modifier = getModifier();
+        copy.textStyle = getTextStyle();
+        copy.topBar = getTopBar();
+        copy.floatingActionButton = getFloatingActionButton();
+        copy.content = getContent();
+        copy.children = children != null ? new ArrayList<>(children) : null;
+        copy.buttonVariant = getButtonVariant();
+        copy.columns = getColumns() != null ? new ArrayList<>(getColumns()) : null;
+        copy.tableData = tableData != null ? new ArrayList<>(tableData) : null;
+        copy.showBorders = getShowBorders();
+        copy.headerBackgroundColor = getHeaderBackgroundColor();
+        copy.rowAction = getRowAction();
+        copy.roundedCorners = getRoundedCorners();
+        copy.useLazyColumn = getUseLazyColumn();
+        copy.nextCursor = getNextCursor();
+        copy.tableRowSource = getTableRowSource();
+        copy.columnar = isColumnar();
+        copy.thawedFrom = frozen ? this : null;
+        return copy;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("NodeModel is frozen");
+        }
+    }
 }
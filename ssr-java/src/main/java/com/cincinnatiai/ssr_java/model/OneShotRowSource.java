@@ -0,0 +1,32 @@
+package com.cincinnatiai.ssr_java.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Row source over an Iterator or Stream, which throws when walked a second time
+ */
+final class OneShotRowSource implements TableRowSource {
+    private final String consumedMessage;
+    private final TableRowSource rows;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    OneShotRowSource(String consumedMessage, TableRowSource rows) {
+        this.consumedMessage = consumedMessage;
+        this.rows = rows;
+    }
+
+    @Override
+    public void forEachRow(Consumer<? super List<TableCellModel>> sink) {
+        if (consumed.getAndSet(true)) {
+            throw new IllegalStateException(consumedMessage);
+        }
+        rows.forEachRow(sink);
+    }
+
+    @Override
+    public boolean isReplayable() {
+        return false;
+    }
+}
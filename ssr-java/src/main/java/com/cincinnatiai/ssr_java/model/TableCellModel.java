@@ -1,5 +1,7 @@
 package com.cincinnatiai.ssr_java.model;
 
+import java.util.Objects;
+
 public class TableCellModel {
     private String text;
     private TextStyleModel textStyle;
@@ -7,6 +9,7 @@ public class TableCellModel {
     private String action;
     private ModifierModel modifier;
     private Boolean showBorder;
+    private transient boolean frozen;
 
     public TableCellModel() {}
 
@@ -15,20 +18,63 @@ public class TableCellModel {
     }
 
     public String getText() { return text; }
-    public void setText(String text) { this.text = text; }
+    public void setText(String text) { checkMutable(); this.text = text; }
 
     public TextStyleModel getTextStyle() { return textStyle; }
-    public void setTextStyle(TextStyleModel textStyle) { this.textStyle = textStyle; }
+    public void setTextStyle(TextStyleModel textStyle) { checkMutable(); this.textStyle = textStyle; }
 
     public String getBackgroundColor() { return backgroundColor; }
-    public void setBackgroundColor(String backgroundColor) { this.backgroundColor = backgroundColor; }
+    public void setBackgroundColor(String backgroundColor) { checkMutable(); this.backgroundColor = backgroundColor; }
 
     public String getAction() { return action; }
-    public void setAction(String action) { this.action = action; }
+    public void setAction(String action) { checkMutable(); this.action = action; }
 
     public ModifierModel getModifier() { return modifier; }
-    public void setModifier(ModifierModel modifier) { this.modifier = modifier; }
+    public void setModifier(ModifierModel modifier) { checkMutable(); this.modifier = modifier; }
 
     public Boolean getShowBorder() { return showBorder; }
-    public void setShowBorder(Boolean showBorder) { this.showBorder = showBorder; }
+    public void setShowBorder(Boolean showBorder) { checkMutable(); this.showBorder = showBorder; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TableCellModel that = (TableCellModel) o;
+        return Objects.equals(text, that.text) &&
+                Objects.equals(textStyle, that.textStyle) &&
+                Objects.equals(backgroundColor, that.backgroundColor) &&
+                Objects.equals(action, that.action) &&
+                Objects.equals(modifier, that.modifier) &&
+                Objects.equals(showBorder, that.showBorder);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, textStyle, backgroundColor, action, modifier, showBorder);
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    /**
+     * Make this model and its styles immutable. Setters throw IllegalStateException afterwards.
+     */
+    public TableCellModel freeze() {
+        if (frozen) {
+            return this;
+        }
+        frozen = true;
+        if (textStyle != null) {
+            textStyle.freeze();
+        }
+        if (modifier != null) {
+            modifier.freeze();
+        }
+        return this;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("TableCellModel is frozen");
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.cincinnatiai.ssr_java.model;
 
+import java.util.Objects;
+
 public class TableColumnModel {
     private String header;
     private Float weight;
@@ -7,6 +9,7 @@ public class TableColumnModel {
     private String horizontalAlignment;
     private TextStyleModel textStyle;
     private TextStyleModel headerStyle;
+    private transient boolean frozen;
 
     public TableColumnModel() {}
 
@@ -15,20 +18,63 @@ public class TableColumnModel {
     }
 
     public String getHeader() { return header; }
-    public void setHeader(String header) { this.header = header; }
+    public void setHeader(String header) { checkMutable(); this.header = header; }
 
     public Float getWeight() { return weight; }
-    public void setWeight(Float weight) { this.weight = weight; }
+    public void setWeight(Float weight) { checkMutable(); this.weight = weight; }
 
     public Integer getWidth() { return width; }
-    public void setWidth(Integer width) { this.width = width; }
+    public void setWidth(Integer width) { checkMutable(); this.width = width; }
 
     public String getHorizontalAlignment() { return horizontalAlignment; }
-    public void setHorizontalAlignment(String horizontalAlignment) { this.horizontalAlignment = horizontalAlignment; }
+    public void setHorizontalAlignment(String horizontalAlignment) { checkMutable(); this.horizontalAlignment = horizontalAlignment; }
 
     public TextStyleModel getTextStyle() { return textStyle; }
-    public void setTextStyle(TextStyleModel textStyle) { this.textStyle = textStyle; }
+    public void setTextStyle(TextStyleModel textStyle) { checkMutable(); this.textStyle = textStyle; }
 
     public TextStyleModel getHeaderStyle() { return headerStyle; }
-    public void setHeaderStyle(TextStyleModel headerStyle) { this.headerStyle = headerStyle; }
+    public void setHeaderStyle(TextStyleModel headerStyle) { checkMutable(); this.headerStyle = headerStyle; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TableColumnModel that = (TableColumnModel) o;
+        return Objects.equals(header, that.header) &&
+                Objects.equals(weight, that.weight) &&
+                Objects.equals(width, that.width) &&
+                Objects.equals(horizontalAlignment, that.horizontalAlignment) &&
+                Objects.equals(textStyle, that.textStyle) &&
+                Objects.equals(headerStyle, that.headerStyle);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(header, weight, width, horizontalAlignment, textStyle, headerStyle);
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    /**
+     * Make this model and its styles immutable. Setters throw IllegalStateException afterwards.
+     */
+    public TableColumnModel freeze() {
+        if (frozen) {
+            return this;
+        }
+        frozen = true;
+        if (textStyle != null) {
+            textStyle.freeze();
+        }
+        if (headerStyle != null) {
+            headerStyle.freeze();
+        }
+        return this;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("TableColumnModel is frozen");
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.cincinnatiai.ssr_java.model;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Table rows produced while the table is serialized instead of being held in tableData.
+ * The serializer writes each row as soon as it is handed over, so only the current row has to
+ * be in memory.
+ *
+ * <p>A lambda source is called again every time the tree is walked. Sources made from an
+ * Iterator or a Stream can only be walked once; serializing or diffing the tree a second time
+ * throws IllegalStateException, and trees holding them can't be frozen or hashed.
+ */
+@FunctionalInterface
+public interface TableRowSource {
+
+    /**
+     * Hand every row to the sink, in order
+     */
+    void forEachRow(Consumer<? super List<TableCellModel>> sink);
+
+    /**
+     * False for sources that can only be walked once, made from an Iterator or a Stream
+     */
+    default boolean isReplayable() {
+        return true;
+    }
+
+    static TableRowSource of(Iterator<? extends List<TableCellModel>> rows) {
+        return new OneShotRowSource("Table row iterator was already consumed", rows::forEachRemaining);
+    }
+
+    static TableRowSource of(Stream<? extends List<TableCellModel>> rows) {
+        return new OneShotRowSource("Table row stream was already consumed", sink -> {
+            try (Stream<? extends List<TableCellModel>> stream = rows) {
+                stream.forEachOrdered(sink);
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.cincinnatiai.ssr_java.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Random-access table rows that are sent a window at a time. The source is kept by a
+ * TableWindowRegistry between requests, so later windows are read from it on demand, e.g. with
+ * an OFFSET/LIMIT query.
+ */
+@FunctionalInterface
+public interface TableWindowSource {
+
+    /**
+     * Up to limit rows starting at offset. Returning fewer rows than asked for ends the table.
+     */
+    List<List<TableCellModel>> rows(int offset, int limit);
+
+    static TableWindowSource of(List<List<TableCellModel>> rows) {
+        return (offset, limit) -> {
+            if (offset >= rows.size()) {
+                return Collections.emptyList();
+            }
+            return new ArrayList<>(rows.subList(offset, (int) Math.min(rows.size(), (long) offset + limit)));
+        };
+    }
+}
@@ -1,10 +1,13 @@
 package com.cincinnatiai.ssr_java.model;
 
+import java.util.Objects;
+
 public class TextStyleModel {
     private Float fontSize;
     private String fontWeight;
     private String textAlign;
     private String color;
+    private transient boolean frozen;
 
     public TextStyleModel() {}
 
@@ -16,14 +19,46 @@ public class TextStyleModel {
     }
 
     public Float getFontSize() { return fontSize; }
-    public void setFontSize(Float fontSize) { this.fontSize = fontSize; }
+    public void setFontSize(Float fontSize) { checkMutable(); this.fontSize = fontSize; }
 
     public String getFontWeight() { return fontWeight; }
-    public void setFontWeight(String fontWeight) { this.fontWeight = fontWeight; }
+    public void setFontWeight(String fontWeight) { checkMutable(); this.fontWeight = fontWeight; }
 
     public String getTextAlign() { return textAlign; }
-    public void setTextAlign(String textAlign) { this.textAlign = textAlign; }
+    public void setTextAlign(String textAlign) { checkMutable(); this.textAlign = textAlign; }
 
     public String getColor() { return color; }
-    public void setColor(String color) { this.color = color; }
+    public void setColor(String color) { checkMutable(); this.color = color; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TextStyleModel that = (TextStyleModel) o;
+        return Objects.equals(fontSize, that.fontSize) &&
+                Objects.equals(fontWeight, that.fontWeight) &&
+                Objects.equals(textAlign, that.textAlign) &&
+                Objects.equals(color, that.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fontSize, fontWeight, textAlign, color);
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    /**
+     * Make this model immutable. Setters throw IllegalStateException afterwards.
+     */
+    public TextStyleModel freeze() {
+        frozen = true;
+        return this;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("TextStyleModel is frozen");
+        }
+    }
 }
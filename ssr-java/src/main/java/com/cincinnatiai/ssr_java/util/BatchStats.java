@@ -0,0 +1,61 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.util.Locale;
+
+/**
+ * Throughput of one {@link BatchWriter} run
+ */
+public final class BatchStats {
+    private final long screens;
+    private final long bytes;
+    private final long nanos;
+    private final long writeNanos;
+
+    BatchStats(long screens, long bytes, long nanos, long writeNanos) {
+        this.screens = screens;
+        this.bytes = bytes;
+        this.nanos = nanos;
+        this.writeNanos = writeNanos;
+    }
+
+    public long getScreens() {
+        return screens;
+    }
+
+    /**
+     * Bytes written, newlines included
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Wall-clock time of the whole batch
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Time spent inside the OutputStream's write and flush calls. Close to getNanos() means the
+     * batch is limited by I/O, not by building and encoding the screens.
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public double getScreensPerSecond() {
+        return nanos > 0 ? screens * 1e9 / nanos : 0;
+    }
+
+    public double getBytesPerSecond() {
+        return nanos > 0 ? bytes * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d screens, %d bytes in %.1f ms (%.0f screens/s, %.1f MB/s, %.0f%% writing)",
+                screens, bytes, nanos / 1e6, getScreensPerSecond(), getBytesPerSecond() / 1e6,
+                nanos > 0 ? writeNanos * 100.0 / nanos : 0);
+    }
+}
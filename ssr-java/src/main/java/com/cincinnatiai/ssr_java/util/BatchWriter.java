@@ -0,0 +1,204 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes many screens to one stream as newline-delimited compact JSON, one screen per line, for
+ * precompute jobs. Encoders and their buffers are reused from screen to screen, so a batch only
+ * allocates what building the screens allocates.
+ *
+ * <p>The default writer encodes on the calling thread through a single encoder. A parallel writer
+ * renders and encodes up to parallelism screens at a time on the executor, each into one of
+ * parallelism reused in-memory encoders, and writes them in input order from the calling thread.
+ *
+ * <pre>
+ * BatchWriter writer = new BatchWriter(pool, 8);
+ * try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 &lt;&lt; 16)) {
+ *     BatchStats stats = writer.write(userIds.stream(), HomeScreen::build, out);
+ * }
+ * </pre>
+ *
+ * Every screen is reported to the installed {@link ScreenMetrics}, as for single screens.
+ */
+public class BatchWriter {
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Writer that renders and encodes on the calling thread
+     */
+    public BatchWriter() {
+        this.executor = null;
+        this.parallelism = 1;
+    }
+
+    /**
+     * Writer that renders and encodes up to parallelism screens at once on the executor
+     */
+    public BatchWriter(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Write every screen of the stream as one line of compact JSON. The stream is consumed on the
+     * calling thread and the output stream is flushed, not closed.
+     */
+    public BatchStats write(Stream<? extends NodeModel> screens, OutputStream out) throws IOException {
+        return write(screens, Function.identity(), out);
+    }
+
+    /**
+     * Render every input to a screen and write it as one line of compact JSON. In a parallel
+     * writer render runs on the executor, so it must be thread-safe.
+     */
+    public <T> BatchStats write(Stream<T> inputs, Function<? super T, ? extends NodeModel> render,
+                                OutputStream out) throws IOException {
+        TimedOutputStream timed = new TimedOutputStream(out);
+        long start = System.nanoTime();
+        long screens = executor == null
+                ? writeSequential(inputs.iterator(), render, timed)
+                : writeParallel(inputs.iterator(), render, timed);
+        return new BatchStats(screens, timed.bytes, System.nanoTime() - start, timed.nanos);
+    }
+
+    private static <T> long writeSequential(Iterator<T> inputs, Function<? super T, ? extends NodeModel> render,
+                                            OutputStream out) throws IOException {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(out, false);
+        long screens = 0;
+        while (inputs.hasNext()) {
+            encode(render.apply(inputs.next()), encoder);
+            screens++;
+        }
+        encoder.flush();
+        return screens;
+    }
+
+    private <T> long writeParallel(Iterator<T> inputs, Function<? super T, ? extends NodeModel> render,
+                                   OutputStream out) throws IOException {
+        ArrayDeque<NodeJsonEncoder> idle = new ArrayDeque<>(parallelism);
+        ArrayDeque<Pending> inFlight = new ArrayDeque<>(parallelism);
+        long screens = 0;
+        while (inputs.hasNext()) {
+            // Write finished screens at the head, and wait for the oldest when every slot is taken
+            while (!inFlight.isEmpty() && (inFlight.size() == parallelism || inFlight.peek().done.isDone())) {
+                idle.push(inFlight.poll().writeTo(out));
+            }
+            T input = inputs.next();
+            NodeJsonEncoder encoder = idle.isEmpty() ? new NodeJsonEncoder(false) : idle.pop();
+            CompletableFuture<Void> done = CompletableFuture.runAsync(
+                    () -> NodeJsonEncoder.writeInMemory(() -> encode(render.apply(input), encoder)), executor);
+            inFlight.add(new Pending(encoder, done));
+            screens++;
+        }
+        while (!inFlight.isEmpty()) {
+            inFlight.poll().writeTo(out);
+        }
+        out.flush();
+        return screens;
+    }
+
+    private static void encode(NodeModel screen, NodeJsonEncoder encoder) throws IOException {
+        ScreenMetrics metrics = JsonSerializer.getMetrics();
+        if (metrics == ScreenMetrics.NO_OP) {
+            encoder.writeNode(screen);
+        } else {
+            long allocated = ScreenStats.allocatedBytes();
+            long start = System.nanoTime();
+            long before = encoder.size();
+            long cellsBefore = encoder.streamedCells();
+            encoder.writeNode(screen);
+            metrics.record(ScreenStats.of(ScreenMetrics.Operation.SERIALIZE, screen, start,
+                    encoder.size() - before, encoder.streamedCells() - cellsBefore, allocated));
+        }
+        encoder.writeRaw(NEWLINE);
+    }
+
+    /**
+     * A screen being encoded into its own encoder
+     */
+    private static final class Pending {
+        final NodeJsonEncoder encoder;
+        final CompletableFuture<Void> done;
+
+        Pending(NodeJsonEncoder encoder, CompletableFuture<Void> done) {
+            this.encoder = encoder;
+            this.done = done;
+        }
+
+        /**
+         * Wait for the screen, write it and return the emptied encoder
+         */
+        NodeJsonEncoder writeTo(OutputStream out) throws IOException {
+            try {
+                done.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+            encoder.drainTo(out);
+            return encoder;
+        }
+    }
+
+    /**
+     * Counts the bytes written and the time spent writing them
+     */
+    private static final class TimedOutputStream extends OutputStream {
+        private final OutputStream out;
+        long bytes;
+        long nanos;
+
+        TimedOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - start;
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - start;
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            out.flush();
+            nanos += System.nanoTime() - start;
+        }
+    }
+}
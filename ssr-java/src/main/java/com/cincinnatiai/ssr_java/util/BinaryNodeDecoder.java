@@ -0,0 +1,356 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cincinnatiai.ssr_java.util.BinaryNodeFormat.*;
+
+/**
+ * Decodes documents in the SSR binary wire format described in {@link BinaryNodeFormat}.
+ */
+public class BinaryNodeDecoder {
+    private final byte[] in;
+    private int pos;
+    private String[] strings;
+
+    private BinaryNodeDecoder(byte[] in) {
+        this.in = in;
+    }
+
+    /**
+     * True if the bytes start with the binary format's magic number
+     */
+    public static boolean isBinary(byte[] bytes) {
+        if (bytes == null || bytes.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode a binary document into a NodeModel
+     */
+    public static NodeModel decode(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            throw new IllegalArgumentException("Not an SSR binary document");
+        }
+        return new BinaryNodeDecoder(bytes).read();
+    }
+
+    private NodeModel read() {
+        pos = MAGIC.length;
+        int version = readByte();
+        if (version > VERSION) {
+            throw new IllegalArgumentException("Unsupported SSR binary version " + version);
+        }
+        strings = new String[readVarint()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readVarint();
+            require(length);
+            strings[i] = new String(in, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+        }
+        return readNode();
+    }
+
+    private NodeModel readNode() {
+        int key = readByte();
+        if (key == NULL_OBJECT) {
+            return null;
+        }
+        NodeModel node = new NodeModel();
+        for (; key != END; key = readByte()) {
+            switch (key >>> 3) {
+                case NODE_TYPE: node.setType(readString(key)); break;
+                case NODE_TITLE: node.setTitle(readString(key)); break;
+                case NODE_DESCRIPTION: node.setDescription(readString(key)); break;
+                case NODE_LABEL: node.setLabel(readString(key)); break;
+                case NODE_BACKGROUND_COLOR: node.setBackgroundColor(readString(key)); break;
+                case NODE_ELEVATION: node.setElevation(readFloat(key)); break;
+                case NODE_IMAGE_URL: node.setImageUrl(readString(key)); break;
+                case NODE_IMAGE_HEIGHT: node.setImageHeight(readFloat(key)); break;
+                case NODE_IMAGE_WIDTH: node.setImageWidth(readFloat(key)); break;
+                case NODE_CONTENT_DESCRIPTION: node.setContentDescription(readString(key)); break;
+                case NODE_ACTION: node.setAction(readString(key)); break;
+                case NODE_MODIFIER: expect(key, OBJECT); node.setModifier(readModifier()); break;
+                case NODE_TEXT_STYLE: expect(key, OBJECT); node.setTextStyle(readTextStyle()); break;
+                case NODE_TOP_BAR: expect(key, OBJECT); node.setTopBar(readNode()); break;
+                case NODE_FLOATING_ACTION_BUTTON: expect(key, OBJECT); node.setFloatingActionButton(readNode()); break;
+                case NODE_CONTENT: expect(key, OBJECT); node.setContent(readNode()); break;
+                case NODE_CHILDREN: node.setChildren(readChildren(key)); break;
+                case NODE_BUTTON_VARIANT: node.setButtonVariant(readString(key)); break;
+                case NODE_COLUMNS: node.setColumns(readColumns(key)); break;
+                case NODE_TABLE_DATA: node.setTableData(readTableData(key)); break;
+                case NODE_SHOW_BORDERS: node.setShowBorders(readBoolean(key)); break;
+                case NODE_HEADER_BACKGROUND_COLOR: node.setHeaderBackgroundColor(readString(key)); break;
+                case NODE_ROW_ACTION: node.setRowAction(readString(key)); break;
+                case NODE_ROUNDED_CORNERS: node.setRoundedCorners(readFloat(key)); break;
+                case NODE_USE_LAZY_COLUMN: node.setUseLazyColumn(readBoolean(key)); break;
+                case NODE_NEXT_CURSOR: node.setNextCursor(readString(key)); break;
+                default: skipValue(key & 7);
+            }
+        }
+        return node;
+    }
+
+    private ModifierModel readModifier() {
+        int key = readByte();
+        if (key == NULL_OBJECT) {
+            return null;
+        }
+        ModifierModel modifier = new ModifierModel();
+        for (; key != END; key = readByte()) {
+            switch (key >>> 3) {
+                case MODIFIER_HEIGHT: modifier.setHeight(readInt(key)); break;
+                case MODIFIER_WIDTH: modifier.setWidth(readInt(key)); break;
+                case MODIFIER_WEIGHT: modifier.setWeight(readFloat(key)); break;
+                case MODIFIER_PADDING: modifier.setPadding(readInt(key)); break;
+                case MODIFIER_PADDING_TOP: modifier.setPaddingTop(readInt(key)); break;
+                case MODIFIER_PADDING_BOTTOM: modifier.setPaddingBottom(readInt(key)); break;
+                case MODIFIER_PADDING_START: modifier.setPaddingStart(readInt(key)); break;
+                case MODIFIER_PADDING_END: modifier.setPaddingEnd(readInt(key)); break;
+                case MODIFIER_FILL_MAX_SIZE: modifier.setFillMaxSize(readBoolean(key)); break;
+                case MODIFIER_FILL_MAX_WIDTH: modifier.setFillMaxWidth(readBoolean(key)); break;
+                case MODIFIER_BACKGROUND_COLOR: modifier.setBackgroundColor(readString(key)); break;
+                case MODIFIER_HORIZONTAL_ALIGNMENT: modifier.setHorizontalAlignment(readString(key)); break;
+                case MODIFIER_VERTICAL_ALIGNMENT: modifier.setVerticalAlignment(readString(key)); break;
+                case MODIFIER_CONTENT_ALIGNMENT: modifier.setContentAlignment(readString(key)); break;
+                case MODIFIER_VERTICAL_SCROLL: modifier.setVerticalScroll(readBoolean(key)); break;
+                default: skipValue(key & 7);
+            }
+        }
+        return modifier;
+    }
+
+    private TextStyleModel readTextStyle() {
+        int key = readByte();
+        if (key == NULL_OBJECT) {
+            return null;
+        }
+        TextStyleModel textStyle = new TextStyleModel();
+        for (; key != END; key = readByte()) {
+            switch (key >>> 3) {
+                case TEXT_STYLE_FONT_SIZE: textStyle.setFontSize(readFloat(key)); break;
+                case TEXT_STYLE_FONT_WEIGHT: textStyle.setFontWeight(readString(key)); break;
+                case TEXT_STYLE_TEXT_ALIGN: textStyle.setTextAlign(readString(key)); break;
+                case TEXT_STYLE_COLOR: textStyle.setColor(readString(key)); break;
+                default: skipValue(key & 7);
+            }
+        }
+        return textStyle;
+    }
+
+    private TableColumnModel readColumn() {
+        int key = readByte();
+        if (key == NULL_OBJECT) {
+            return null;
+        }
+        TableColumnModel column = new TableColumnModel();
+        for (; key != END; key = readByte()) {
+            switch (key >>> 3) {
+                case COLUMN_HEADER: column.setHeader(readString(key)); break;
+                case COLUMN_WEIGHT: column.setWeight(readFloat(key)); break;
+                case COLUMN_WIDTH: column.setWidth(readInt(key)); break;
+                case COLUMN_HORIZONTAL_ALIGNMENT: column.setHorizontalAlignment(readString(key)); break;
+                case COLUMN_TEXT_STYLE: expect(key, OBJECT); column.setTextStyle(readTextStyle()); break;
+                case COLUMN_HEADER_STYLE: expect(key, OBJECT); column.setHeaderStyle(readTextStyle()); break;
+                default: skipValue(key & 7);
+            }
+        }
+        return column;
+    }
+
+    private TableCellModel readCell() {
+        int key = readByte();
+        if (key == NULL_OBJECT) {
+            return null;
+        }
+        TableCellModel cell = new TableCellModel();
+        for (; key != END; key = readByte()) {
+            switch (key >>> 3) {
+                case CELL_TEXT: cell.setText(readString(key)); break;
+                case CELL_TEXT_STYLE: expect(key, OBJECT); cell.setTextStyle(readTextStyle()); break;
+                case CELL_BACKGROUND_COLOR: cell.setBackgroundColor(readString(key)); break;
+                case CELL_ACTION: cell.setAction(readString(key)); break;
+                case CELL_MODIFIER: expect(key, OBJECT); cell.setModifier(readModifier()); break;
+                case CELL_SHOW_BORDER: cell.setShowBorder(readBoolean(key)); break;
+                default: skipValue(key & 7);
+            }
+        }
+        return cell;
+    }
+
+    private List<NodeModel> readChildren(int key) {
+        expect(key, LIST);
+        int size = readListHeader(OBJECT);
+        if (size < 0) {
+            return null;
+        }
+        List<NodeModel> children = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            children.add(readNode());
+        }
+        return children;
+    }
+
+    private List<TableColumnModel> readColumns(int key) {
+        expect(key, LIST);
+        int size = readListHeader(OBJECT);
+        if (size < 0) {
+            return null;
+        }
+        List<TableColumnModel> columns = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            columns.add(readColumn());
+        }
+        return columns;
+    }
+
+    private List<List<TableCellModel>> readTableData(int key) {
+        expect(key, LIST);
+        int size = readListHeader(LIST);
+        if (size < 0) {
+            return null;
+        }
+        List<List<TableCellModel>> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int cells = readListHeader(OBJECT);
+            if (cells < 0) {
+                rows.add(null);
+                continue;
+            }
+            List<TableCellModel> row = new ArrayList<>(cells);
+            for (int j = 0; j < cells; j++) {
+                row.add(readCell());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Returns -1 for a null list
+    private int readListHeader(int elementWireType) {
+        int size = readVarint() - 1;
+        if (size < 0) {
+            return -1;
+        }
+        int wireType = readByte();
+        if (wireType != elementWireType) {
+            throw malformed("Unexpected list element type " + wireType);
+        }
+        return size;
+    }
+
+    private String readString(int key) {
+        expect(key, VARINT);
+        int index = readVarint();
+        if (index >= strings.length) {
+            throw malformed("String index " + index + " out of range");
+        }
+        return strings[index];
+    }
+
+    private Integer readInt(int key) {
+        expect(key, VARINT);
+        int zigzag = readVarint();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private Boolean readBoolean(int key) {
+        expect(key, VARINT);
+        return readVarint() != 0;
+    }
+
+    private Float readFloat(int key) {
+        expect(key, FIXED32);
+        require(4);
+        int bits = (in[pos] & 0xFF) << 24 | (in[pos + 1] & 0xFF) << 16 | (in[pos + 2] & 0xFF) << 8 | (in[pos + 3] & 0xFF);
+        pos += 4;
+        return Float.intBitsToFloat(bits);
+    }
+
+    private void skipValue(int wireType) {
+        switch (wireType) {
+            case VARINT:
+                readVarint();
+                break;
+            case FIXED32:
+                require(4);
+                pos += 4;
+                break;
+            case OBJECT:
+                skipObject();
+                break;
+            case LIST:
+                int size = readVarint() - 1;
+                if (size >= 0) {
+                    int elementWireType = readByte();
+                    for (int i = 0; i < size; i++) {
+                        if (elementWireType == OBJECT) {
+                            skipObject();
+                        } else {
+                            skipValue(elementWireType);
+                        }
+                    }
+                }
+                break;
+            default:
+                throw malformed("Unknown wire type " + wireType);
+        }
+    }
+
+    private void skipObject() {
+        int key = readByte();
+        if (key == NULL_OBJECT) {
+            return;
+        }
+        for (; key != END; key = readByte()) {
+            skipValue(key & 7);
+        }
+    }
+
+    private void expect(int key, int wireType) {
+        if ((key & 7) != wireType) {
+            throw malformed("Field " + (key >>> 3) + " has wire type " + (key & 7) + ", expected " + wireType);
+        }
+    }
+
+    private int readVarint() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw malformed("Varint too long");
+    }
+
+    private int readByte() {
+        require(1);
+        return in[pos++] & 0xFF;
+    }
+
+    private void require(int length) {
+        if (pos + length > in.length) {
+            throw malformed("Unexpected end of document");
+        }
+    }
+
+    private IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
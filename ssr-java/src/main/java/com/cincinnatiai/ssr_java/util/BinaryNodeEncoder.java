@@ -0,0 +1,326 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TableRowSource;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cincinnatiai.ssr_java.util.BinaryNodeFormat.*;
+
+/**
+ * Encodes NodeModel trees in the SSR binary wire format described in {@link BinaryNodeFormat}.
+ * The tree is walked twice: once to build the string table, once to write the fields.
+ * Streamed table rows are therefore held in memory for the duration of the encode.
+ */
+public class BinaryNodeEncoder {
+    private final OutputStream out;
+    private final byte[] buf = new byte[NodeJsonEncoder.DEFAULT_BUFFER_SIZE];
+    private int pos;
+
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private boolean collecting;
+    private final Map<NodeModel, List<List<TableCellModel>>> streamedRows = new IdentityHashMap<>();
+
+    private BinaryNodeEncoder(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Encode a NodeModel into a binary document
+     */
+    public static byte[] encode(NodeModel node) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NodeJsonEncoder.writeInMemory(() -> encode(node, out));
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream a NodeModel as a binary document. The stream is flushed but not closed.
+     */
+    public static void encode(NodeModel node, OutputStream out) throws IOException {
+        new BinaryNodeEncoder(out).write(node);
+    }
+
+    private void write(NodeModel node) throws IOException {
+        collecting = true;
+        writeNode(node);
+        collecting = false;
+
+        writeBytes(MAGIC);
+        writeByte(VERSION);
+        writeVarint(strings.size());
+        for (String value : strings) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            writeBytes(utf8);
+        }
+        writeNode(node);
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeNode(NodeModel node) throws IOException {
+        if (node == null) {
+            writeByte(NULL_OBJECT);
+            return;
+        }
+        stringField(NODE_TYPE, node.getType());
+        stringField(NODE_TITLE, node.getTitle());
+        stringField(NODE_DESCRIPTION, node.getDescription());
+        stringField(NODE_LABEL, node.getLabel());
+        stringField(NODE_BACKGROUND_COLOR, node.getBackgroundColor());
+        floatField(NODE_ELEVATION, node.getElevation());
+        stringField(NODE_IMAGE_URL, node.getImageUrl());
+        floatField(NODE_IMAGE_HEIGHT, node.getImageHeight());
+        floatField(NODE_IMAGE_WIDTH, node.getImageWidth());
+        stringField(NODE_CONTENT_DESCRIPTION, node.getContentDescription());
+        stringField(NODE_ACTION, node.getAction());
+        if (node.getModifier() != null) {
+            writeKey(NODE_MODIFIER, OBJECT);
+            writeModifier(node.getModifier());
+        }
+        if (node.getTextStyle() != null) {
+            writeKey(NODE_TEXT_STYLE, OBJECT);
+            writeTextStyle(node.getTextStyle());
+        }
+        if (node.getTopBar() != null) {
+            writeKey(NODE_TOP_BAR, OBJECT);
+            writeNode(node.getTopBar());
+        }
+        if (node.getFloatingActionButton() != null) {
+            writeKey(NODE_FLOATING_ACTION_BUTTON, OBJECT);
+            writeNode(node.getFloatingActionButton());
+        }
+        if (node.getContent() != null) {
+            writeKey(NODE_CONTENT, OBJECT);
+            writeNode(node.getContent());
+        }
+        if (node.getChildren() != null) {
+            writeKey(NODE_CHILDREN, LIST);
+            writeListHeader(node.getChildren().size(), OBJECT);
+            for (NodeModel child : node.getChildren()) {
+                writeNode(child);
+            }
+        }
+        stringField(NODE_BUTTON_VARIANT, node.getButtonVariant());
+        if (node.getColumns() != null) {
+            writeKey(NODE_COLUMNS, LIST);
+            writeListHeader(node.getColumns().size(), OBJECT);
+            for (TableColumnModel column : node.getColumns()) {
+                writeColumn(column);
+            }
+        }
+        List<List<TableCellModel>> tableData = tableData(node);
+        if (tableData != null) {
+            writeKey(NODE_TABLE_DATA, LIST);
+            writeListHeader(tableData.size(), LIST);
+            for (List<TableCellModel> row : tableData) {
+                writeRow(row);
+            }
+        }
+        booleanField(NODE_SHOW_BORDERS, node.getShowBorders());
+        stringField(NODE_HEADER_BACKGROUND_COLOR, node.getHeaderBackgroundColor());
+        stringField(NODE_ROW_ACTION, node.getRowAction());
+        floatField(NODE_ROUNDED_CORNERS, node.getRoundedCorners());
+        booleanField(NODE_USE_LAZY_COLUMN, node.getUseLazyColumn());
+        stringField(NODE_NEXT_CURSOR, node.getNextCursor());
+        writeByte(END);
+    }
+
+    /**
+     * Rows of a table, including streamed ones. Lists are length-prefixed and the tree is walked
+     * twice, so streamed rows are drained once while collecting strings and kept for the write pass.
+     */
+    private List<List<TableCellModel>> tableData(NodeModel node) {
+        TableRowSource source = node.getTableRowSource();
+        if (source == null) {
+            return node.getTableData();
+        }
+        if (!collecting) {
+            return streamedRows.get(node);
+        }
+        List<List<TableCellModel>> rows = new ArrayList<>();
+        if (node.getTableData() != null) {
+            rows.addAll(node.getTableData());
+        }
+        source.forEachRow(rows::add);
+        streamedRows.put(node, rows);
+        return rows;
+    }
+
+    private void writeModifier(ModifierModel modifier) throws IOException {
+        intField(MODIFIER_HEIGHT, modifier.getHeight());
+        intField(MODIFIER_WIDTH, modifier.getWidth());
+        floatField(MODIFIER_WEIGHT, modifier.getWeight());
+        intField(MODIFIER_PADDING, modifier.getPadding());
+        intField(MODIFIER_PADDING_TOP, modifier.getPaddingTop());
+        intField(MODIFIER_PADDING_BOTTOM, modifier.getPaddingBottom());
+        intField(MODIFIER_PADDING_START, modifier.getPaddingStart());
+        intField(MODIFIER_PADDING_END, modifier.getPaddingEnd());
+        booleanField(MODIFIER_FILL_MAX_SIZE, modifier.getFillMaxSize());
+        booleanField(MODIFIER_FILL_MAX_WIDTH, modifier.getFillMaxWidth());
+        stringField(MODIFIER_BACKGROUND_COLOR, modifier.getBackgroundColor());
+        stringField(MODIFIER_HORIZONTAL_ALIGNMENT, modifier.getHorizontalAlignment());
+        stringField(MODIFIER_VERTICAL_ALIGNMENT, modifier.getVerticalAlignment());
+        stringField(MODIFIER_CONTENT_ALIGNMENT, modifier.getContentAlignment());
+        booleanField(MODIFIER_VERTICAL_SCROLL, modifier.getVerticalScroll());
+        writeByte(END);
+    }
+
+    private void writeTextStyle(TextStyleModel textStyle) throws IOException {
+        floatField(TEXT_STYLE_FONT_SIZE, textStyle.getFontSize());
+        stringField(TEXT_STYLE_FONT_WEIGHT, textStyle.getFontWeight());
+        stringField(TEXT_STYLE_TEXT_ALIGN, textStyle.getTextAlign());
+        stringField(TEXT_STYLE_COLOR, textStyle.getColor());
+        writeByte(END);
+    }
+
+    private void writeColumn(TableColumnModel column) throws IOException {
+        if (column == null) {
+            writeByte(NULL_OBJECT);
+            return;
+        }
+        stringField(COLUMN_HEADER, column.getHeader());
+        floatField(COLUMN_WEIGHT, column.getWeight());
+        intField(COLUMN_WIDTH, column.getWidth());
+        stringField(COLUMN_HORIZONTAL_ALIGNMENT, column.getHorizontalAlignment());
+        if (column.getTextStyle() != null) {
+            writeKey(COLUMN_TEXT_STYLE, OBJECT);
+            writeTextStyle(column.getTextStyle());
+        }
+        if (column.getHeaderStyle() != null) {
+            writeKey(COLUMN_HEADER_STYLE, OBJECT);
+            writeTextStyle(column.getHeaderStyle());
+        }
+        writeByte(END);
+    }
+
+    private void writeRow(List<TableCellModel> row) throws IOException {
+        if (row == null) {
+            writeVarint(0);
+            return;
+        }
+        writeListHeader(row.size(), OBJECT);
+        for (TableCellModel cell : row) {
+            writeCell(cell);
+        }
+    }
+
+    private void writeCell(TableCellModel cell) throws IOException {
+        if (cell == null) {
+            writeByte(NULL_OBJECT);
+            return;
+        }
+        stringField(CELL_TEXT, cell.getText());
+        if (cell.getTextStyle() != null) {
+            writeKey(CELL_TEXT_STYLE, OBJECT);
+            writeTextStyle(cell.getTextStyle());
+        }
+        stringField(CELL_BACKGROUND_COLOR, cell.getBackgroundColor());
+        stringField(CELL_ACTION, cell.getAction());
+        if (cell.getModifier() != null) {
+            writeKey(CELL_MODIFIER, OBJECT);
+            writeModifier(cell.getModifier());
+        }
+        booleanField(CELL_SHOW_BORDER, cell.getShowBorder());
+        writeByte(END);
+    }
+
+    private void stringField(int field, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = strings.size();
+            stringIndex.put(value, index);
+            strings.add(value);
+        }
+        writeKey(field, VARINT);
+        writeVarint(index);
+    }
+
+    private void intField(int field, Integer value) throws IOException {
+        if (value != null) {
+            writeKey(field, VARINT);
+            writeVarint((value << 1) ^ (value >> 31));
+        }
+    }
+
+    private void floatField(int field, Float value) throws IOException {
+        if (value != null) {
+            writeKey(field, FIXED32);
+            int bits = Float.floatToIntBits(value);
+            writeByte(bits >>> 24);
+            writeByte(bits >>> 16);
+            writeByte(bits >>> 8);
+            writeByte(bits);
+        }
+    }
+
+    private void booleanField(int field, Boolean value) throws IOException {
+        if (value != null) {
+            writeKey(field, VARINT);
+            writeByte(value ? 1 : 0);
+        }
+    }
+
+    private void writeKey(int field, int wireType) throws IOException {
+        writeByte(key(field, wireType));
+    }
+
+    private void writeListHeader(int size, int elementWireType) throws IOException {
+        writeVarint(size + 1);
+        writeByte(elementWireType);
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (collecting) {
+            return;
+        }
+        if (pos == buf.length) {
+            flushBuffer();
+        }
+        buf[pos++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (pos + bytes.length > buf.length) {
+            flushBuffer();
+        }
+        if (bytes.length > buf.length) {
+            out.write(bytes);
+            return;
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
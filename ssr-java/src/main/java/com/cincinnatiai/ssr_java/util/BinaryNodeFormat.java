@@ -0,0 +1,103 @@
+package com.cincinnatiai.ssr_java.util;
+
+/**
+ * Layout of the SSR binary wire format, version 1.
+ *
+ * <pre>
+ * document := "SSRB" version:u8 stringCount:varint (byteLength:varint utf8)* node
+ * object   := (key value)* END | NULL_OBJECT
+ * key      := fieldNumber &lt;&lt; 3 | wireType
+ * value    := varint                      (VARINT: zigzag int, boolean 0/1, string table index)
+ *           | f32 big-endian              (FIXED32: IEEE 754 float)
+ *           | object                      (OBJECT)
+ *           | (count + 1):varint elementWireType:u8 element*   (LIST: count 0 encodes null)
+ * </pre>
+ *
+ * Field numbers follow the declaration order of each model class, starting at 1.
+ * Decoders skip unknown fields using their wire type.
+ */
+final class BinaryNodeFormat {
+    static final byte[] MAGIC = {'S', 'S', 'R', 'B'};
+    static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int NULL_OBJECT = 0xFF;
+
+    static final int VARINT = 0;
+    static final int FIXED32 = 1;
+    static final int OBJECT = 2;
+    static final int LIST = 3;
+
+    // NodeModel
+    static final int NODE_TYPE = 1;
+    static final int NODE_TITLE = 2;
+    static final int NODE_DESCRIPTION = 3;
+    static final int NODE_LABEL = 4;
+    static final int NODE_BACKGROUND_COLOR = 5;
+    static final int NODE_ELEVATION = 6;
+    static final int NODE_IMAGE_URL = 7;
+    static final int NODE_IMAGE_HEIGHT = 8;
+    static final int NODE_IMAGE_WIDTH = 9;
+    static final int NODE_CONTENT_DESCRIPTION = 10;
+    static final int NODE_ACTION = 11;
+    static final int NODE_MODIFIER = 12;
+    static final int NODE_TEXT_STYLE = 13;
+    static final int NODE_TOP_BAR = 14;
+    static final int NODE_FLOATING_ACTION_BUTTON = 15;
+    static final int NODE_CONTENT = 16;
+    static final int NODE_CHILDREN = 17;
+    static final int NODE_BUTTON_VARIANT = 18;
+    static final int NODE_COLUMNS = 19;
+    static final int NODE_TABLE_DATA = 20;
+    static final int NODE_SHOW_BORDERS = 21;
+    static final int NODE_HEADER_BACKGROUND_COLOR = 22;
+    static final int NODE_ROW_ACTION = 23;
+    static final int NODE_ROUNDED_CORNERS = 24;
+    static final int NODE_USE_LAZY_COLUMN = 25;
+    static final int NODE_NEXT_CURSOR = 26;
+
+    // ModifierModel
+    static final int MODIFIER_HEIGHT = 1;
+    static final int MODIFIER_WIDTH = 2;
+    static final int MODIFIER_WEIGHT = 3;
+    static final int MODIFIER_PADDING = 4;
+    static final int MODIFIER_PADDING_TOP = 5;
+    static final int MODIFIER_PADDING_BOTTOM = 6;
+    static final int MODIFIER_PADDING_START = 7;
+    static final int MODIFIER_PADDING_END = 8;
+    static final int MODIFIER_FILL_MAX_SIZE = 9;
+    static final int MODIFIER_FILL_MAX_WIDTH = 10;
+    static final int MODIFIER_BACKGROUND_COLOR = 11;
+    static final int MODIFIER_HORIZONTAL_ALIGNMENT = 12;
+    static final int MODIFIER_VERTICAL_ALIGNMENT = 13;
+    static final int MODIFIER_CONTENT_ALIGNMENT = 14;
+    static final int MODIFIER_VERTICAL_SCROLL = 15;
+
+    // TextStyleModel
+    static final int TEXT_STYLE_FONT_SIZE = 1;
+    static final int TEXT_STYLE_FONT_WEIGHT = 2;
+    static final int TEXT_STYLE_TEXT_ALIGN = 3;
+    static final int TEXT_STYLE_COLOR = 4;
+
+    // TableColumnModel
+    static final int COLUMN_HEADER = 1;
+    static final int COLUMN_WEIGHT = 2;
+    static final int COLUMN_WIDTH = 3;
+    static final int COLUMN_HORIZONTAL_ALIGNMENT = 4;
+    static final int COLUMN_TEXT_STYLE = 5;
+    static final int COLUMN_HEADER_STYLE = 6;
+
+    // TableCellModel
+    static final int CELL_TEXT = 1;
+    static final int CELL_TEXT_STYLE = 2;
+    static final int CELL_BACKGROUND_COLOR = 3;
+    static final int CELL_ACTION = 4;
+    static final int CELL_MODIFIER = 5;
+    static final int CELL_SHOW_BORDER = 6;
+
+    static int key(int field, int wireType) {
+        return field << 3 | wireType;
+    }
+
+    private BinaryNodeFormat() {}
+}
@@ -0,0 +1,165 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A serialized screen held in direct ByteBuffers from a {@link DirectBufferPool}, as many as it
+ * takes. Write it to a channel with {@link #writeTo(WritableByteChannel)}, which uses one gathering
+ * write per call when the channel supports it, then {@link #close()} the chain to give its buffers
+ * back to the pool.
+ *
+ * <pre>
+ * try (ByteBufferChain json = SSR.toByteBuffers(screen, pool)) {
+ *     while (json.hasRemaining()) {
+ *         json.writeTo(channel);
+ *     }
+ * }
+ * </pre>
+ *
+ * Not thread-safe: one thread fills, writes and closes a chain.
+ */
+public final class ByteBufferChain implements AutoCloseable {
+    private final DirectBufferPool pool;
+    private final List<ByteBuffer> filled = new ArrayList<>();
+    private ByteBuffer[] buffers;
+    private int first;
+    private long size;
+    private boolean closed;
+
+    ByteBufferChain(DirectBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Stream that appends to the chain, acquiring buffers as they fill up
+     */
+    OutputStream outputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                current().put((byte) b);
+                size++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                while (len > 0) {
+                    ByteBuffer buffer = current();
+                    int n = Math.min(len, buffer.remaining());
+                    buffer.put(b, off, n);
+                    off += n;
+                    len -= n;
+                    size += n;
+                }
+            }
+        };
+    }
+
+    private ByteBuffer current() {
+        if (buffers != null) {
+            throw new IllegalStateException("ByteBufferChain is already complete");
+        }
+        ByteBuffer last = filled.isEmpty() ? null : filled.get(filled.size() - 1);
+        if (last == null || !last.hasRemaining()) {
+            last = pool.acquire();
+            filled.add(last);
+        }
+        return last;
+    }
+
+    /**
+     * Flip the buffers for reading once encoding is done
+     */
+    void complete() {
+        for (ByteBuffer buffer : filled) {
+            buffer.flip();
+        }
+        buffers = filled.toArray(new ByteBuffer[0]);
+    }
+
+    /**
+     * Total bytes in the chain
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * The buffers, positioned at the bytes not written yet. They stay valid until the chain is closed.
+     */
+    public ByteBuffer[] getBuffers() {
+        checkOpen();
+        return buffers.clone();
+    }
+
+    public boolean hasRemaining() {
+        checkOpen();
+        skipWritten();
+        return first < buffers.length;
+    }
+
+    /**
+     * Write as much as the channel takes in one call: a single gathering write for a
+     * GatheringByteChannel, otherwise one write per buffer until the channel stops taking bytes.
+     * Blocking channels take everything; call again while hasRemaining() for non-blocking ones.
+     *
+     * @return the number of bytes written
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        checkOpen();
+        skipWritten();
+        if (first == buffers.length) {
+            return 0;
+        }
+        if (channel instanceof GatheringByteChannel) {
+            return ((GatheringByteChannel) channel).write(buffers, first, buffers.length - first);
+        }
+        long written = 0;
+        while (first < buffers.length) {
+            int n = channel.write(buffers[first]);
+            written += n;
+            if (buffers[first].hasRemaining()) {
+                break;
+            }
+            first++;
+        }
+        return written;
+    }
+
+    private void skipWritten() {
+        while (first < buffers.length && !buffers[first].hasRemaining()) {
+            first++;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("ByteBufferChain is closed");
+        }
+        if (buffers == null) {
+            throw new IllegalStateException("ByteBufferChain is not complete");
+        }
+    }
+
+    /**
+     * Give every buffer back to the pool. Calling it again does nothing.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer buffer : filled) {
+            pool.release(buffer);
+        }
+        filled.clear();
+        buffers = null;
+    }
+}
@@ -0,0 +1,171 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+/**
+ * The values ssr-simple assumes for missing fields, used by minimal output to leave out fields
+ * that equal them. Each method returns the value to write, or null when the client would render
+ * the same without it. Mirrors RenderDefaults in ssr-simple, whose RenderDefaultsTest fails when
+ * the two sides drift apart.
+ *
+ * Only defaults that are the same for every client theme are listed: a missing fontSize, color or
+ * backgroundColor falls back to the MaterialTheme, so those are always written.
+ */
+final class ClientDefaults {
+    private static final float CARD_ELEVATION = 4f;
+
+    private ClientDefaults() {
+    }
+
+    // NodeModel, per renderer
+
+    /**
+     * RenderCard and RenderVideoItem: 4dp
+     */
+    static Float elevation(NodeModel node) {
+        boolean card = "Card".equals(node.getType()) || "VideoItem".equals(node.getType());
+        return card ? unless(node.getElevation(), CARD_ELEVATION) : node.getElevation();
+    }
+
+    /**
+     * RenderTable: 0, no clipping. RenderVideoItem falls back to the theme's CardDefaults.shape,
+     * so its corners are always written.
+     */
+    static Float roundedCorners(NodeModel node) {
+        if ("Table".equals(node.getType())) {
+            return unless(node.getRoundedCorners(), 0f);
+        }
+        return node.getRoundedCorners();
+    }
+
+    /**
+     * RenderButton: filled
+     */
+    static String buttonVariant(NodeModel node) {
+        return "Button".equals(node.getType()) ? unlessIgnoreCase(node.getButtonVariant(), "filled") : node.getButtonVariant();
+    }
+
+    /**
+     * RenderTable: no borders
+     */
+    static Boolean showBorders(NodeModel node) {
+        return "Table".equals(node.getType()) ? unless(node.getShowBorders(), false) : node.getShowBorders();
+    }
+
+    /**
+     * RenderTable: lazy rows
+     */
+    static Boolean useLazyColumn(NodeModel node) {
+        return "Table".equals(node.getType()) ? unless(node.getUseLazyColumn(), true) : node.getUseLazyColumn();
+    }
+
+    // ModifierModel, buildModifier and the layout renderers
+
+    /**
+     * Padding 0 insets nothing, and each side falls back to 0 without it
+     */
+    static Integer padding(ModifierModel modifier) {
+        return unless(modifier.getPadding(), 0);
+    }
+
+    /**
+     * A side of 0 can only be left out when it wouldn't fall back to a non-zero padding
+     */
+    static Integer paddingSide(ModifierModel modifier, Integer side) {
+        return padding(modifier) == null ? unless(side, 0) : side;
+    }
+
+    /**
+     * fillMaxSize, fillMaxWidth and verticalScroll only apply when true
+     */
+    static Boolean flag(Boolean value) {
+        return unless(value, false);
+    }
+
+    /**
+     * RenderColumn: start. Only read from the node's own modifier, so nodeType may be null.
+     */
+    static String horizontalAlignment(ModifierModel modifier, String nodeType) {
+        return "Column".equals(nodeType) ? unlessIgnoreCase(modifier.getHorizontalAlignment(), "start") : modifier.getHorizontalAlignment();
+    }
+
+    /**
+     * RenderRow: top
+     */
+    static String verticalAlignment(ModifierModel modifier, String nodeType) {
+        return "Row".equals(nodeType) ? unlessIgnoreCase(modifier.getVerticalAlignment(), "top") : modifier.getVerticalAlignment();
+    }
+
+    /**
+     * RenderBox: topStart
+     */
+    static String contentAlignment(ModifierModel modifier, String nodeType) {
+        return "Box".equals(nodeType) ? unlessIgnoreCase(modifier.getContentAlignment(), "topstart") : modifier.getContentAlignment();
+    }
+
+    /**
+     * True when every field of the modifier would be left out, so a missing modifier renders the same
+     */
+    static boolean isDefault(ModifierModel modifier, String nodeType) {
+        return modifier.getHeight() == null
+                && modifier.getWidth() == null
+                && modifier.getWeight() == null
+                && padding(modifier) == null
+                && paddingSide(modifier, modifier.getPaddingTop()) == null
+                && paddingSide(modifier, modifier.getPaddingBottom()) == null
+                && paddingSide(modifier, modifier.getPaddingStart()) == null
+                && paddingSide(modifier, modifier.getPaddingEnd()) == null
+                && flag(modifier.getFillMaxSize()) == null
+                && flag(modifier.getFillMaxWidth()) == null
+                && modifier.getBackgroundColor() == null
+                && horizontalAlignment(modifier, nodeType) == null
+                && verticalAlignment(modifier, nodeType) == null
+                && contentAlignment(modifier, nodeType) == null
+                && flag(modifier.getVerticalScroll()) == null;
+    }
+
+    // TextStyleModel, buildTextStyle
+
+    static String fontWeight(TextStyleModel textStyle) {
+        return unlessIgnoreCase(textStyle.getFontWeight(), "normal");
+    }
+
+    static String textAlign(TextStyleModel textStyle) {
+        return unlessIgnoreCase(textStyle.getTextAlign(), "start");
+    }
+
+    /**
+     * True when every field of the style would be left out. A cell's style replaces its column's
+     * style even when empty, so this only applies where a missing style means the default one.
+     */
+    static boolean isDefault(TextStyleModel textStyle) {
+        return textStyle.getFontSize() == null
+                && fontWeight(textStyle) == null
+                && textAlign(textStyle) == null
+                && textStyle.getColor() == null;
+    }
+
+    // TableColumnModel, TableHeaderCell and TableDataCell
+
+    static Float columnWeight(TableColumnModel column) {
+        return unless(column.getWeight(), 1f);
+    }
+
+    static String columnAlignment(TableColumnModel column) {
+        return unlessIgnoreCase(column.getHorizontalAlignment(), "start");
+    }
+
+    private static <T> T unless(T value, T defaultValue) {
+        return defaultValue.equals(value) ? null : value;
+    }
+
+    /**
+     * The client lowercases these names before matching them
+     */
+    private static String unlessIgnoreCase(String value, String defaultValue) {
+        return defaultValue.equalsIgnoreCase(value) ? null : value;
+    }
+}
@@ -0,0 +1,135 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Column-major view of a table for the columnarData wire form. Each cell's textStyle,
+ * backgroundColor, modifier and showBorder are looked up in a per-table dictionary of distinct
+ * styles, so a cell only costs its text and a small style index.
+ */
+final class ColumnarTable {
+    final TableCellModel[][] rows;
+    final int columnCount;
+    final List<Style> styles = new ArrayList<>();
+    final int[][] styleIndex;
+
+    private ColumnarTable(TableCellModel[][] rows, int columnCount) {
+        this.rows = rows;
+        this.columnCount = columnCount;
+        this.styleIndex = new int[columnCount][rows.length];
+        Map<Style, Integer> ids = new HashMap<>();
+        for (int r = 0; r < rows.length; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                Style style = new Style(rows[r][c]);
+                Integer id = ids.get(style);
+                if (id == null) {
+                    id = styles.size();
+                    ids.put(style, id);
+                    styles.add(style);
+                }
+                styleIndex[c][r] = id;
+            }
+        }
+    }
+
+    /**
+     * Column-major view of the rows, or null when they can't be sent that way: no rows,
+     * rows of different lengths, or null rows or cells
+     */
+    static ColumnarTable of(List<List<TableCellModel>> tableData) {
+        if (tableData == null || tableData.isEmpty() || tableData.get(0) == null) {
+            return null;
+        }
+        int columnCount = tableData.get(0).size();
+        TableCellModel[][] rows = new TableCellModel[tableData.size()][];
+        int r = 0;
+        for (List<TableCellModel> row : tableData) {
+            if (row == null || row.size() != columnCount) {
+                return null;
+            }
+            TableCellModel[] cells = row.toArray(new TableCellModel[columnCount]);
+            for (TableCellModel cell : cells) {
+                if (cell == null) {
+                    return null;
+                }
+            }
+            rows[r++] = cells;
+        }
+        return new ColumnarTable(rows, columnCount);
+    }
+
+    int rowCount() {
+        return rows.length;
+    }
+
+    TableCellModel cell(int row, int column) {
+        return rows[row][column];
+    }
+
+    /**
+     * True when every cell in the column has the same style, which is sent as a single index
+     */
+    boolean isUniform(int column) {
+        int[] index = styleIndex[column];
+        for (int r = 1; r < index.length; r++) {
+            if (index[r] != index[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean hasActions(int column) {
+        for (TableCellModel[] row : rows) {
+            if (row[column].getAction() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The styling fields of a cell, compared by value
+     */
+    static final class Style {
+        final TextStyleModel textStyle;
+        final String backgroundColor;
+        final ModifierModel modifier;
+        final Boolean showBorder;
+
+        Style(TableCellModel cell) {
+            this.textStyle = cell.getTextStyle();
+            this.backgroundColor = cell.getBackgroundColor();
+            this.modifier = cell.getModifier();
+            this.showBorder = cell.getShowBorder();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Style)) {
+                return false;
+            }
+            Style that = (Style) o;
+            return Objects.equals(textStyle, that.textStyle)
+                    && Objects.equals(backgroundColor, that.backgroundColor)
+                    && Objects.equals(modifier, that.modifier)
+                    && Objects.equals(showBorder, that.showBorder);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(textStyle, backgroundColor, modifier, showBorder);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeDigest;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * Least-recently-used cache of compressed screens keyed by their {@link NodeDigest}.
+ * A screen that was compressed before is answered by hashing it, without serializing or
+ * deflating again. Entries are compressed at the best level since that cost is paid once.
+ */
+public class CompressedScreenCache {
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final int maxEntries;
+    private final Map<NodeDigest, byte[]> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CompressedScreenCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public CompressedScreenCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<NodeDigest, byte[]> eldest) {
+                return size() > CompressedScreenCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Compressed compact JSON of a screen, from the cache when an equal screen was compressed before
+     */
+    public byte[] get(NodeModel screen) {
+        return get(NodeHasher.digest(screen), screen);
+    }
+
+    /**
+     * Same as {@link #get(NodeModel)} for callers that already hold the digest, e.g. for the ETag
+     */
+    public byte[] get(NodeDigest digest, NodeModel screen) {
+        byte[] compressed;
+        synchronized (entries) {
+            compressed = entries.get(digest);
+        }
+        if (compressed != null) {
+            hits.increment();
+            return compressed;
+        }
+        misses.increment();
+        // Compress outside the lock; two threads racing on a new screen both do the work once
+        compressed = ScreenCompressor.compress(screen, Deflater.BEST_COMPRESSION);
+        synchronized (entries) {
+            entries.put(digest, compressed);
+        }
+        return compressed;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Number of lookups answered from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups that had to serialize and compress the screen
+     */
+    public long misses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,135 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DEFLATE preset dictionary for SSR payloads: field names, component types and style fragments
+ * that show up in nearly every screen. Deflate can back-reference the dictionary from the first
+ * byte of a stream, which is where small screens lose most of their compression.
+ *
+ * <p>The dictionary is versioned and ssr-simple ships a byte-identical copy. A new dictionary
+ * must get a new {@link #VERSION} and resource file, never replace an existing one, or clients
+ * holding the old version can no longer inflate.
+ */
+public class CompressionDictionary {
+    public static final int VERSION = 1;
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final String RESOURCE = "ssr-dictionary-v" + VERSION + ".txt";
+    private static final int MIN_SEGMENT = 6;
+    private static final int MAX_SEGMENT = 64;
+
+    /**
+     * The current dictionary. Callers get their own copy.
+     */
+    public static byte[] bytes() {
+        return Holder.DICTIONARY.clone();
+    }
+
+    static byte[] shared() {
+        return Holder.DICTIONARY;
+    }
+
+    /**
+     * Train a dictionary from sample payloads, e.g. the compact JSON of representative screens.
+     * Segments that start at a JSON token are scored by how many samples contain them times
+     * their length: deflate already handles repeats within one screen, so the dictionary only
+     * pays off for text that recurs across screens. The best segments go last, closest to the
+     * data, where back-references are cheapest.
+     */
+    public static byte[] train(List<byte[]> samples, int maxSize) {
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (byte[] sample : samples) {
+            // Latin-1 maps every byte to one char, so segments can be turned back into the same bytes
+            String text = new String(sample, StandardCharsets.ISO_8859_1);
+            Set<String> seen = new HashSet<>();
+            for (int start = 0; start < text.length(); start++) {
+                if (!isTokenStart(text.charAt(start))) {
+                    continue;
+                }
+                int limit = Math.min(text.length(), start + MAX_SEGMENT);
+                for (int end = start + MIN_SEGMENT; end <= limit; end++) {
+                    if (end < text.length() && !isTokenStart(text.charAt(end))) {
+                        continue;
+                    }
+                    String segment = text.substring(start, end);
+                    if (seen.add(segment)) {
+                        documentFrequency.merge(segment, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : documentFrequency.entrySet()) {
+            if (entry.getValue() > 1) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort((a, b) -> {
+            long scoreA = (long) a.getValue() * a.getKey().length();
+            long scoreB = (long) b.getValue() * b.getKey().length();
+            return scoreA != scoreB ? Long.compare(scoreB, scoreA) : a.getKey().compareTo(b.getKey());
+        });
+
+        List<String> picked = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            String segment = candidate.getKey();
+            if (size + segment.length() > maxSize) {
+                continue;
+            }
+            boolean covered = false;
+            for (String other : picked) {
+                if (other.contains(segment)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (covered) {
+                continue;
+            }
+            for (int i = picked.size() - 1; i >= 0; i--) {
+                if (segment.contains(picked.get(i))) {
+                    size -= picked.remove(i).length();
+                }
+            }
+            picked.add(segment);
+            size += segment.length();
+        }
+
+        StringBuilder dictionary = new StringBuilder(size);
+        for (int i = picked.size() - 1; i >= 0; i--) {
+            dictionary.append(picked.get(i));
+        }
+        return dictionary.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean isTokenStart(char c) {
+        return c == '{' || c == '[' || c == '"' || c == ',' || c == ':';
+    }
+
+    private static class Holder {
+        static final byte[] DICTIONARY = load();
+
+        private static byte[] load() {
+            try (InputStream in = CompressionDictionary.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing compression dictionary resource " + RESOURCE);
+                }
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of equally sized direct ByteBuffers for {@link ByteBufferChain}. Allocating direct memory
+ * is slow and only reclaimed by the garbage collector, so buffers are handed back with
+ * {@link #release(ByteBuffer)} and reused. The most recently released buffer is handed out first
+ * while it is still in cache. At most maxPooled buffers are kept; any released beyond that are left
+ * to the collector.
+ */
+public class DirectBufferPool {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAX_POOLED = 256;
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedDeque<ByteBuffer> free = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final LongAdder allocated = new LongAdder();
+
+    public DirectBufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        if (maxPooled < 0) {
+            throw new IllegalArgumentException("maxPooled must not be negative");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * A cleared buffer from the pool, or a newly allocated one when the pool is empty
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.pollFirst();
+        if (buffer == null) {
+            allocated.increment();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer acquired from this pool. It must not be used afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            throw new IllegalArgumentException("Buffer was not acquired from this pool");
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            free.offerFirst(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Buffers waiting in the pool
+     */
+    public int getPooledCount() {
+        return pooled.get();
+    }
+
+    /**
+     * Buffers allocated because the pool was empty, since it was created
+     */
+    public long getAllocatedCount() {
+        return allocated.sum();
+    }
+}
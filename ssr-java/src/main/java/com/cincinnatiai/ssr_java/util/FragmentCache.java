@@ -0,0 +1,76 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-encoded compact JSON for frozen NodeModel subtrees.
+ * The compact encoder splices these bytes verbatim instead of re-serializing the subtree,
+ * and the hit and miss counters show how often that happened.
+ */
+public class FragmentCache {
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder splicedBytes = new LongAdder();
+
+    /**
+     * Freeze a subtree and encode its compact JSON up front
+     */
+    public static NodeModel freeze(NodeModel node) {
+        node.freeze();
+        if (node.getFrozenJson() == null) {
+            node.setFrozenJson(encode(node));
+        }
+        return node;
+    }
+
+    /**
+     * Number of times a frozen subtree was spliced from its pre-encoded bytes
+     */
+    public static long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times a frozen subtree had to be encoded because it had no bytes yet
+     */
+    public static long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Total bytes copied from pre-encoded fragments instead of being re-serialized
+     */
+    public static long splicedBytes() {
+        return splicedBytes.sum();
+    }
+
+    public static void resetStats() {
+        hits.reset();
+        misses.reset();
+        splicedBytes.reset();
+    }
+
+    /**
+     * Compact JSON of a frozen node, encoded and stored on the node on first use
+     */
+    static byte[] bytesFor(NodeModel node) {
+        byte[] json = node.getFrozenJson();
+        if (json != null) {
+            hits.increment();
+            splicedBytes.add(json.length);
+            return json;
+        }
+        misses.increment();
+        json = encode(node);
+        node.setFrozenJson(json);
+        return json;
+    }
+
+    private static byte[] encode(NodeModel node) {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(false);
+        NodeJsonEncoder.writeInMemory(() -> encoder.writeNodeFields(node));
+        return encoder.toByteArray();
+    }
+}
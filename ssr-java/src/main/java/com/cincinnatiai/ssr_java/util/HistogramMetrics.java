@@ -0,0 +1,228 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory {@link ScreenMetrics} that keeps a histogram of each stat per operation and screen.
+ * Screens are told apart by {@link ScreenStats#getScreenName()} unless another key is given; past
+ * maxScreens distinct keys, further screens are recorded under "other".
+ * Histograms are log-linear with 32 buckets per power of two, so percentiles are within about 3%
+ * of the recorded values; recording is lock-free and allocates nothing once a screen is known.
+ *
+ * <pre>
+ * HistogramMetrics metrics = new HistogramMetrics();
+ * SSR.setMetrics(metrics);
+ * ...
+ * HistogramMetrics.Screen home = metrics.get(ScreenMetrics.Operation.SERIALIZE, "Home");
+ * long p99Bytes = home.bytes().percentile(0.99);
+ * </pre>
+ */
+public class HistogramMetrics implements ScreenMetrics {
+    public static final int DEFAULT_MAX_SCREENS = 256;
+    public static final String OTHER = "other";
+
+    private final Function<ScreenStats, String> key;
+    private final int maxScreens;
+    private final Map<ScreenMetrics.Operation, ConcurrentHashMap<String, Screen>> screens = new ConcurrentHashMap<>();
+
+    public HistogramMetrics() {
+        this(ScreenStats::getScreenName, DEFAULT_MAX_SCREENS);
+    }
+
+    /**
+     * Keep histograms per key, e.g. ScreenStats::getScreenType, for up to maxScreens keys
+     */
+    public HistogramMetrics(Function<ScreenStats, String> key, int maxScreens) {
+        if (maxScreens <= 0) {
+            throw new IllegalArgumentException("maxScreens must be positive");
+        }
+        this.key = key;
+        this.maxScreens = maxScreens;
+        for (ScreenMetrics.Operation operation : ScreenMetrics.Operation.values()) {
+            screens.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void record(ScreenStats stats) {
+        ConcurrentHashMap<String, Screen> byKey = screens.get(stats.getOperation());
+        String name = String.valueOf(key.apply(stats));
+        Screen screen = byKey.get(name);
+        if (screen == null) {
+            screen = byKey.computeIfAbsent(byKey.size() < maxScreens ? name : OTHER, ignored -> new Screen());
+        }
+        screen.nanos.record(stats.getNanos());
+        screen.bytes.record(stats.getBytes());
+        screen.nodeCount.record(stats.getNodeCount());
+        screen.maxDepth.record(stats.getMaxDepth());
+        screen.tableCells.record(stats.getTableCells());
+        if (stats.getAllocatedBytes() >= 0) {
+            screen.allocatedBytes.record(stats.getAllocatedBytes());
+        }
+    }
+
+    /**
+     * Histograms for a screen, or null if none was recorded
+     */
+    public Screen get(ScreenMetrics.Operation operation, String screen) {
+        return screens.get(operation).get(screen);
+    }
+
+    /**
+     * Histograms of every recorded screen, sorted by key
+     */
+    public Map<String, Screen> getScreens(ScreenMetrics.Operation operation) {
+        return new TreeMap<>(screens.get(operation));
+    }
+
+    public void clear() {
+        for (Map<String, Screen> byKey : screens.values()) {
+            byKey.clear();
+        }
+    }
+
+    /**
+     * A table of count and p50/p99 time, bytes and allocation per operation and screen
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(String.format("%-12s %-28s %8s %10s %10s %10s %10s %10s %10s%n",
+                "Operation", "Screen", "Count", "p50 us", "p99 us", "p50 bytes", "p99 bytes", "p50 alloc", "p99 alloc"));
+        for (ScreenMetrics.Operation operation : ScreenMetrics.Operation.values()) {
+            for (Map.Entry<String, Screen> entry : getScreens(operation).entrySet()) {
+                Screen screen = entry.getValue();
+                report.append(String.format("%-12s %-28s %8d %10.1f %10.1f %10d %10d %10d %10d%n",
+                        operation, entry.getKey(), screen.nanos.count(),
+                        screen.nanos.percentile(0.5) / 1e3, screen.nanos.percentile(0.99) / 1e3,
+                        screen.bytes.percentile(0.5), screen.bytes.percentile(0.99),
+                        screen.allocatedBytes.percentile(0.5), screen.allocatedBytes.percentile(0.99)));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * The histograms of one operation on one screen
+     */
+    public static final class Screen {
+        private final Histogram nanos = new Histogram();
+        private final Histogram bytes = new Histogram();
+        private final Histogram nodeCount = new Histogram();
+        private final Histogram maxDepth = new Histogram();
+        private final Histogram tableCells = new Histogram();
+        private final Histogram allocatedBytes = new Histogram();
+
+        public Histogram nanos() {
+            return nanos;
+        }
+
+        public Histogram bytes() {
+            return bytes;
+        }
+
+        public Histogram nodeCount() {
+            return nodeCount;
+        }
+
+        public Histogram maxDepth() {
+            return maxDepth;
+        }
+
+        public Histogram tableCells() {
+            return tableCells;
+        }
+
+        /**
+         * Empty when the JVM doesn't count allocated bytes per thread
+         */
+        public Histogram allocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    /**
+     * Log-linear histogram of non-negative longs
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        public void record(long value) {
+            value = Math.max(0, value);
+            counts.incrementAndGet(bucket(value));
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        public double mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        /**
+         * The value at or below which the given fraction (0 to 1) of recorded values fall, or 0 when
+         * nothing was recorded
+         */
+        public long percentile(double fraction) {
+            long total = 0;
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(max(), highestValue(i));
+                }
+            }
+            return max();
+        }
+
+        static int bucket(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int shift = exponent - SUB_BUCKET_BITS;
+            return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        }
+
+        /**
+         * Largest value that falls into the bucket
+         */
+        static long highestValue(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int shift = bucket / SUB_BUCKETS - 1;
+            long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+    }
+}
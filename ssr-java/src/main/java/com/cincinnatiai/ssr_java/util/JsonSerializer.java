@@ -1,35 +1,221 @@
 package com.cincinnatiai.ssr_java.util;
 
 import com.cincinnatiai.ssr_java.model.NodeModel;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
 
 public class JsonSerializer {
-    private static final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .create();
+    private static volatile ScreenMetrics metrics = ScreenMetrics.NO_OP;
+
+    /**
+     * Report the cost of every screen serialized or parsed here to metrics. Pass
+     * ScreenMetrics.NO_OP to turn reporting off.
+     */
+    public static void setMetrics(ScreenMetrics metrics) {
+        JsonSerializer.metrics = metrics != null ? metrics : ScreenMetrics.NO_OP;
+    }
 
-    private static final Gson compactGson = new GsonBuilder()
-            .create();
+    public static ScreenMetrics getMetrics() {
+        return metrics;
+    }
 
     /**
      * Serialize a NodeModel to a pretty-printed JSON string
      */
     public static String toJson(NodeModel node) {
-        return gson.toJson(node);
+        return encodeToString(node, () -> new NodeJsonEncoder(true));
     }
 
     /**
      * Serialize a NodeModel to a compact JSON string
      */
     public static String toJsonCompact(NodeModel node) {
-        return compactGson.toJson(node);
+        return encodeToString(node, () -> new NodeJsonEncoder(false));
+    }
+
+    /**
+     * Serialize a NodeModel to compact JSON without the fields that equal what ssr-simple assumes
+     * when they are missing, e.g. elevation 4 on a VideoItem or fillMaxWidth false
+     */
+    public static String toJsonMinimal(NodeModel node) {
+        return encodeToString(node, () -> {
+            NodeJsonEncoder encoder = new NodeJsonEncoder(false);
+            encoder.setMinimal(true);
+            return encoder;
+        });
+    }
+
+    /**
+     * Serialize a NodeModel to compact JSON with every field name replaced by its
+     * {@link ShortKeys short key}. Only clients that understand the minified schema can read it.
+     */
+    public static String toJsonMinified(NodeModel node) {
+        return encodeToString(node, () -> {
+            NodeJsonEncoder encoder = new NodeJsonEncoder(false);
+            encoder.setMinified(true);
+            return encoder;
+        });
+    }
+
+    /**
+     * Stream a NodeModel as compact UTF-8 JSON to an OutputStream
+     */
+    public static void writeJson(NodeModel node, OutputStream out) throws IOException {
+        write(node, new NodeJsonEncoder(out, false));
+    }
+
+    /**
+     * Stream a NodeModel as minimal compact UTF-8 JSON to an OutputStream, see toJsonMinimal
+     */
+    public static void writeJsonMinimal(NodeModel node, OutputStream out) throws IOException {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(out, false);
+        encoder.setMinimal(true);
+        write(node, encoder);
+    }
+
+    /**
+     * Stream a NodeModel as compact JSON to a Writer
+     */
+    public static void writeJson(NodeModel node, Writer out) throws IOException {
+        writeJson(node, new WriterOutputStream(out));
+    }
+
+    /**
+     * Encode a NodeModel as compact UTF-8 JSON straight into direct buffers from the pool, ready
+     * for channel writes without a String or byte[] copy of the screen. Close the chain to give
+     * the buffers back.
+     */
+    public static ByteBufferChain toByteBuffers(NodeModel node, DirectBufferPool pool) {
+        ByteBufferChain chain = new ByteBufferChain(pool);
+        try {
+            // The chain's stream only writes to memory
+            NodeJsonEncoder.writeInMemory(() -> writeJson(node, chain.outputStream()));
+        } catch (RuntimeException e) {
+            chain.close();
+            throw e;
+        }
+        chain.complete();
+        return chain;
+    }
+
+    /**
+     * Write a NodeModel as compact UTF-8 JSON to a blocking channel through pooled direct
+     * buffers, with gathering writes where the channel supports them
+     */
+    public static void writeJson(NodeModel node, WritableByteChannel channel, DirectBufferPool pool) throws IOException {
+        try (ByteBufferChain chain = toByteBuffers(node, pool)) {
+            while (chain.hasRemaining()) {
+                chain.writeTo(channel);
+            }
+        }
     }
 
     /**
-     * Deserialize a JSON string to a NodeModel
+     * Deserialize a JSON string to a NodeModel, in the regular or the minified schema
      */
     public static NodeModel fromJson(String json) {
-        return gson.fromJson(json, NodeModel.class);
+        ScreenMetrics metrics = JsonSerializer.metrics;
+        if (metrics == ScreenMetrics.NO_OP) {
+            return NodeJsonDecoder.decode(json);
+        }
+        long allocated = ScreenStats.allocatedBytes();
+        long start = System.nanoTime();
+        NodeModel node = NodeJsonDecoder.decode(json);
+        metrics.record(ScreenStats.of(ScreenMetrics.Operation.DESERIALIZE, node, start, utf8Length(json), 0, allocated));
+        return node;
+    }
+
+    /**
+     * Deserialize a JSON string to a NodeModel whose content, children and tableData are decoded
+     * when first read. Not reported to the metrics, which would have to read the whole tree.
+     */
+    public static NodeModel fromJsonLazy(String json) {
+        return NodeJsonDecoder.decodeLazy(json);
+    }
+
+    /**
+     * Stream a NodeModel as minified compact UTF-8 JSON to an OutputStream, see toJsonMinified
+     */
+    public static void writeJsonMinified(NodeModel node, OutputStream out) throws IOException {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(out, false);
+        encoder.setMinified(true);
+        write(node, encoder);
+    }
+
+    private static void write(NodeModel node, NodeJsonEncoder encoder) throws IOException {
+        ScreenMetrics metrics = JsonSerializer.metrics;
+        if (metrics == ScreenMetrics.NO_OP) {
+            encoder.encode(node);
+            return;
+        }
+        long allocated = ScreenStats.allocatedBytes();
+        long start = System.nanoTime();
+        encoder.encode(node);
+        metrics.record(ScreenStats.of(ScreenMetrics.Operation.SERIALIZE, node, start, encoder.size(),
+                encoder.streamedCells(), allocated));
+    }
+
+    /**
+     * Encode in memory with a fresh encoder, created inside the measured span
+     */
+    private static String encodeToString(NodeModel node, Supplier<NodeJsonEncoder> encoders) {
+        ScreenMetrics metrics = JsonSerializer.metrics;
+        boolean measured = metrics != ScreenMetrics.NO_OP;
+        long allocated = measured ? ScreenStats.allocatedBytes() : 0;
+        long start = measured ? System.nanoTime() : 0;
+        NodeJsonEncoder encoder = encoders.get();
+        NodeJsonEncoder.writeInMemory(() -> encoder.writeNode(node));
+        String json = encoder.toUtf8String();
+        if (measured) {
+            metrics.record(ScreenStats.of(ScreenMetrics.Operation.SERIALIZE, node, start, encoder.size(),
+                encoder.streamedCells(), allocated));
+        }
+        return json;
+    }
+
+    private static long utf8Length(String value) {
+        long length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                // Surrogate pairs are 4 bytes for 2 chars, everything else up here 3 bytes for 1
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Hands encoder output to a Writer. The encoder only flushes on code point boundaries,
+     * so every chunk decodes on its own.
+     */
+    private static class WriterOutputStream extends OutputStream {
+        private final Writer writer;
+
+        WriterOutputStream(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writer.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writer.write(new String(b, off, len, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
     }
 }
@@ -0,0 +1,166 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * NodeModel from {@link NodeJsonDecoder#decodeLazy(String)}. The content, children and tableData
+ * are kept as offsets into the document and decoded the first time they are read; children are
+ * decoded one at a time as they are read. Setting a deferred field discards its offset, and
+ * freezing decodes everything.
+ */
+final class LazyNodeModel extends NodeModel {
+    private static final int NONE = -1;
+
+    private final NodeJsonDecoder.LazyDocument document;
+    private int contentOffset = NONE;
+    private int childrenOffset = NONE;
+    private int tableDataOffset = NONE;
+    private boolean columnarTableData;
+
+    LazyNodeModel(NodeJsonDecoder.LazyDocument document) {
+        this.document = document;
+    }
+
+    void deferContent(int offset) {
+        super.setContent(null);
+        contentOffset = offset;
+    }
+
+    void deferChildren(int offset) {
+        super.setChildren(null);
+        childrenOffset = offset;
+    }
+
+    void deferTableData(int offset, boolean columnar) {
+        if (offset == NONE && columnar) {
+            // A null columnarData leaves tableData alone, as in the eager decoder
+            return;
+        }
+        super.setTableData(null);
+        tableDataOffset = offset;
+        columnarTableData = columnar;
+        if (columnar) {
+            setColumnar(true);
+        }
+    }
+
+    @Override
+    public synchronized NodeModel getContent() {
+        if (contentOffset != NONE) {
+            int offset = contentOffset;
+            contentOffset = NONE;
+            super.setContent(NodeJsonDecoder.decodeNodeAt(document, offset));
+        }
+        return super.getContent();
+    }
+
+    @Override
+    public synchronized void setContent(NodeModel content) {
+        super.setContent(content);
+        contentOffset = NONE;
+    }
+
+    @Override
+    public synchronized List<NodeModel> getChildren() {
+        if (childrenOffset != NONE) {
+            int offset = childrenOffset;
+            childrenOffset = NONE;
+            super.setChildren(new LazyChildren(document, NodeJsonDecoder.elementOffsets(document, offset)));
+        }
+        return super.getChildren();
+    }
+
+    @Override
+    public synchronized void setChildren(List<NodeModel> children) {
+        super.setChildren(children);
+        childrenOffset = NONE;
+    }
+
+    @Override
+    public synchronized List<List<TableCellModel>> getTableData() {
+        if (tableDataOffset != NONE) {
+            int offset = tableDataOffset;
+            tableDataOffset = NONE;
+            if (columnarTableData) {
+                NodeJsonDecoder.decodeColumnarDataAt(document, offset, this);
+            } else {
+                super.setTableData(NodeJsonDecoder.decodeTableDataAt(document, offset));
+            }
+        }
+        return super.getTableData();
+    }
+
+    @Override
+    public synchronized void setTableData(List<List<TableCellModel>> tableData) {
+        super.setTableData(tableData);
+        tableDataOffset = NONE;
+    }
+
+    @Override
+    public synchronized NodeModel freeze() {
+        getContent();
+        getChildren();
+        getTableData();
+        return super.freeze();
+    }
+
+    /**
+     * Child list holding the offset of each child until it is first read
+     */
+    private static final class LazyChildren extends AbstractList<NodeModel> implements RandomAccess {
+        private final NodeJsonDecoder.LazyDocument document;
+        // The decoded child, or the Integer offset of a child not decoded yet
+        private final List<Object> elements;
+
+        LazyChildren(NodeJsonDecoder.LazyDocument document, int[] offsets) {
+            this.document = document;
+            this.elements = new ArrayList<>(offsets.length);
+            for (int offset : offsets) {
+                elements.add(offset == NONE ? null : offset);
+            }
+        }
+
+        @Override
+        public synchronized NodeModel get(int index) {
+            Object element = elements.get(index);
+            if (element instanceof Integer) {
+                NodeModel child = NodeJsonDecoder.decodeNodeAt(document, (Integer) element);
+                elements.set(index, child);
+                return child;
+            }
+            return (NodeModel) element;
+        }
+
+        @Override
+        public synchronized int size() {
+            return elements.size();
+        }
+
+        @Override
+        public synchronized NodeModel set(int index, NodeModel child) {
+            NodeModel previous = get(index);
+            elements.set(index, child);
+            return previous;
+        }
+
+        @Override
+        public synchronized void add(int index, NodeModel child) {
+            elements.add(index, child);
+            modCount++;
+        }
+
+        @Override
+        public synchronized NodeModel remove(int index) {
+            NodeModel previous = get(index);
+            elements.remove(index);
+            modCount++;
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeDigest;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TableRowSource;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.util.List;
+
+/**
+ * Bottom-up (Merkle) structural hashing of NodeModel trees, computed straight from the fields
+ * without serializing. Each node's digest covers its own fields and the digests of its child
+ * nodes, and frozen subtrees keep their digest, so re-hashing a screen built from frozen
+ * fragments only walks the parts that were built fresh.
+ *
+ * <p>Streamed table rows are part of the digest, so a TableRowSource callback runs once for the
+ * hash and again for the write. Tables streamed from an Iterator or a Stream can't be walked twice
+ * and are rejected with IllegalStateException before any row is read.
+ *
+ * <p>Digests are stable across JVMs and runs. Changing the mixing below changes every digest,
+ * which invalidates ETags and cache keys clients already hold, so bump {@link #VERSION} with it.
+ */
+public class NodeHasher {
+    static final int VERSION = 1;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    // Field tags, so equal values in different fields hash differently
+    private static final int NODE = 1;
+    private static final int MODIFIER = 2;
+    private static final int TEXT_STYLE = 3;
+    private static final int COLUMN = 4;
+    private static final int CELL = 5;
+    private static final int LIST = 6;
+
+    private long h1 = C1 ^ VERSION;
+    private long h2 = C2 ^ VERSION;
+    private long length;
+
+    private NodeHasher() {}
+
+    /**
+     * Digest of a subtree. Frozen nodes compute theirs once and reuse it afterwards.
+     */
+    public static NodeDigest digest(NodeModel node) {
+        if (node.isFrozen()) {
+            NodeDigest digest = node.getDigest();
+            if (digest == null) {
+                digest = compute(node);
+                node.setDigest(digest);
+            }
+            return digest;
+        }
+        return compute(node);
+    }
+
+    /**
+     * True when hashing the tree would read a TableRowSource outside a frozen subtree, so a
+     * digest costs a second pass over the streamed rows (or throws for one-shot sources)
+     */
+    public static boolean streamsRows(NodeModel node) {
+        if (node == null || node.isFrozen()) {
+            return false;
+        }
+        if (node.getTableRowSource() != null) {
+            return true;
+        }
+        if (streamsRows(node.getTopBar()) || streamsRows(node.getFloatingActionButton())
+                || streamsRows(node.getContent())) {
+            return true;
+        }
+        if (node.getChildren() != null) {
+            for (NodeModel child : node.getChildren()) {
+                if (streamsRows(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static NodeDigest compute(NodeModel node) {
+        NodeHasher h = new NodeHasher();
+        h.add(NODE);
+        h.string(1, node.getType());
+        h.string(2, node.getTitle());
+        h.string(3, node.getDescription());
+        h.string(4, node.getLabel());
+        h.string(5, node.getBackgroundColor());
+        h.number(6, node.getElevation());
+        h.string(7, node.getImageUrl());
+        h.number(8, node.getImageHeight());
+        h.number(9, node.getImageWidth());
+        h.string(10, node.getContentDescription());
+        h.string(11, node.getAction());
+        h.modifier(12, node.getModifier());
+        h.textStyle(13, node.getTextStyle());
+        h.node(14, node.getTopBar());
+        h.node(15, node.getFloatingActionButton());
+        h.node(16, node.getContent());
+        List<NodeModel> children = node.getChildren();
+        if (children != null) {
+            h.list(17, children.size());
+            for (NodeModel child : children) {
+                h.node(0, child);
+            }
+        }
+        h.string(18, node.getButtonVariant());
+        List<TableColumnModel> columns = node.getColumns();
+        if (columns != null) {
+            h.list(19, columns.size());
+            for (TableColumnModel column : columns) {
+                h.column(column);
+            }
+        }
+        if (node.getTableData() != null || node.getTableRowSource() != null) {
+            // The row count goes last, so streamed rows hash the same as the rows they produce
+            h.add(20);
+            h.add(LIST);
+            long[] count = new long[1];
+            if (node.getTableData() != null) {
+                for (List<TableCellModel> row : node.getTableData()) {
+                    h.row(row);
+                    count[0]++;
+                }
+            }
+            TableRowSource source = node.getTableRowSource();
+            if (source != null) {
+                if (!source.isReplayable()) {
+                    throw new IllegalStateException("A table streamed from an Iterator or Stream can't be hashed:"
+                            + " hashing would consume the rows before they are written; use a TableRowSource callback");
+                }
+                source.forEachRow(row -> {
+                    h.row(row);
+                    count[0]++;
+                });
+            }
+            h.add(count[0]);
+        }
+        h.bool(21, node.getShowBorders());
+        h.string(22, node.getHeaderBackgroundColor());
+        h.string(23, node.getRowAction());
+        h.number(24, node.getRoundedCorners());
+        h.bool(25, node.getUseLazyColumn());
+        h.string(27, node.getNextCursor());
+        if (node.isColumnar()) {
+            // The wire form differs, so a columnar table must not share ETags or cache entries
+            h.bool(26, true);
+        }
+        return h.finish();
+    }
+
+    private void node(int tag, NodeModel node) {
+        if (node == null) {
+            if (tag == 0) {
+                add(0);
+            }
+            return;
+        }
+        NodeDigest digest = digest(node);
+        add(tag);
+        add(digest.getHigh());
+        add(digest.getLow());
+    }
+
+    private void modifier(int tag, ModifierModel modifier) {
+        if (modifier == null) {
+            return;
+        }
+        add(tag);
+        add(MODIFIER);
+        number(1, modifier.getHeight());
+        number(2, modifier.getWidth());
+        number(3, modifier.getWeight());
+        number(4, modifier.getPadding());
+        number(5, modifier.getPaddingTop());
+        number(6, modifier.getPaddingBottom());
+        number(7, modifier.getPaddingStart());
+        number(8, modifier.getPaddingEnd());
+        bool(9, modifier.getFillMaxSize());
+        bool(10, modifier.getFillMaxWidth());
+        string(11, modifier.getBackgroundColor());
+        string(12, modifier.getHorizontalAlignment());
+        string(13, modifier.getVerticalAlignment());
+        string(14, modifier.getContentAlignment());
+        bool(15, modifier.getVerticalScroll());
+        add(-MODIFIER);
+    }
+
+    private void textStyle(int tag, TextStyleModel textStyle) {
+        if (textStyle == null) {
+            return;
+        }
+        add(tag);
+        add(TEXT_STYLE);
+        number(1, textStyle.getFontSize());
+        string(2, textStyle.getFontWeight());
+        string(3, textStyle.getTextAlign());
+        string(4, textStyle.getColor());
+        add(-TEXT_STYLE);
+    }
+
+    private void column(TableColumnModel column) {
+        if (column == null) {
+            add(0);
+            return;
+        }
+        add(COLUMN);
+        string(1, column.getHeader());
+        number(2, column.getWeight());
+        number(3, column.getWidth());
+        string(4, column.getHorizontalAlignment());
+        textStyle(5, column.getTextStyle());
+        textStyle(6, column.getHeaderStyle());
+        add(-COLUMN);
+    }
+
+    private void cell(TableCellModel cell) {
+        if (cell == null) {
+            add(0);
+            return;
+        }
+        add(CELL);
+        string(1, cell.getText());
+        textStyle(2, cell.getTextStyle());
+        string(3, cell.getBackgroundColor());
+        string(4, cell.getAction());
+        modifier(5, cell.getModifier());
+        bool(6, cell.getShowBorder());
+        add(-CELL);
+    }
+
+    private void row(List<TableCellModel> row) {
+        if (row == null) {
+            add(0);
+            return;
+        }
+        list(0, row.size());
+        for (TableCellModel cell : row) {
+            cell(cell);
+        }
+    }
+
+    private void list(int tag, int size) {
+        add(tag);
+        add(LIST);
+        add(size);
+    }
+
+    private void string(int tag, String value) {
+        if (value == null) {
+            return;
+        }
+        add(tag);
+        int length = value.length();
+        add(length);
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            add((long) value.charAt(i) << 48 | (long) value.charAt(i + 1) << 32
+                    | (long) value.charAt(i + 2) << 16 | value.charAt(i + 3));
+        }
+        if (i < length) {
+            long tail = 0;
+            for (; i < length; i++) {
+                tail = tail << 16 | value.charAt(i);
+            }
+            add(tail);
+        }
+    }
+
+    private void number(int tag, Float value) {
+        if (value != null) {
+            add(tag);
+            add(Float.floatToIntBits(value));
+        }
+    }
+
+    private void number(int tag, Integer value) {
+        if (value != null) {
+            add(tag);
+            add(value);
+        }
+    }
+
+    private void bool(int tag, Boolean value) {
+        if (value != null) {
+            add(tag);
+            add(value ? 1 : 2);
+        }
+    }
+
+    // Two MurmurHash3-style lanes over 64-bit words
+
+    private void add(long value) {
+        long k1 = Long.rotateLeft(value * C1, 31) * C2;
+        h1 ^= k1;
+        h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52dce729;
+        long k2 = Long.rotateLeft(value * C2, 33) * C1;
+        h2 ^= k2;
+        h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495ab5;
+        length++;
+    }
+
+    private NodeDigest finish() {
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = mix(h1);
+        h2 = mix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new NodeDigest(h1, h2);
+    }
+
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
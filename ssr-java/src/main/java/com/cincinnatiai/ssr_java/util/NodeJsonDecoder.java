@@ -0,0 +1,881 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+import com.google.gson.JsonSyntaxException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hand-written JSON decoder for the SSR model classes.
+ * Fields are dispatched by name straight to the model setters, unknown fields are skipped.
+ */
+public class NodeJsonDecoder {
+    private final String in;
+    private final LazyDocument lazy;
+    private int pos;
+    private boolean minified;
+
+    NodeJsonDecoder(String in) {
+        this.in = in;
+        this.lazy = null;
+    }
+
+    /**
+     * A lazy decoder starting at offset, which defers content, children and tableData
+     */
+    NodeJsonDecoder(LazyDocument document, int offset) {
+        this.in = document.json;
+        this.pos = offset;
+        this.lazy = document;
+        this.minified = document.minified;
+    }
+
+    /**
+     * Decode a JSON document into a NodeModel. Empty input and a literal null decode to null.
+     */
+    public static NodeModel decode(String json) {
+        if (json == null) {
+            return null;
+        }
+        NodeJsonDecoder decoder = new NodeJsonDecoder(json);
+        if (!decoder.skipWhitespace()) {
+            return null;
+        }
+        NodeModel node = decoder.readNode();
+        if (decoder.skipWhitespace()) {
+            throw decoder.syntaxError("Unexpected trailing content");
+        }
+        return node;
+    }
+
+    /**
+     * Decode a JSON document into a NodeModel whose content, children and tableData are decoded
+     * when they are first read. Only the root's own fields are decoded up front; the rest of the
+     * document is scanned for its structure but not turned into objects. Syntax errors inside a
+     * deferred subtree surface when it is read. The tree keeps the whole document alive until
+     * every deferred subtree has been read.
+     */
+    public static NodeModel decodeLazy(String json) {
+        if (json == null) {
+            return null;
+        }
+        NodeJsonDecoder decoder = new NodeJsonDecoder(new LazyDocument(json), 0);
+        if (!decoder.skipWhitespace()) {
+            return null;
+        }
+        NodeModel node = decoder.readNode();
+        if (decoder.skipWhitespace()) {
+            throw decoder.syntaxError("Unexpected trailing content");
+        }
+        return node;
+    }
+
+    static NodeModel decodeNodeAt(LazyDocument document, int offset) {
+        return new NodeJsonDecoder(document, offset).readNode();
+    }
+
+    static List<List<TableCellModel>> decodeTableDataAt(LazyDocument document, int offset) {
+        return new NodeJsonDecoder(document, offset).readTableData();
+    }
+
+    static void decodeColumnarDataAt(LazyDocument document, int offset, NodeModel node) {
+        new NodeJsonDecoder(document, offset).readColumnarData(node);
+    }
+
+    /**
+     * Offsets of the elements of the array at offset, or -1 for null elements
+     */
+    static int[] elementOffsets(LazyDocument document, int offset) {
+        NodeJsonDecoder decoder = new NodeJsonDecoder(document, offset);
+        int[] offsets = new int[8];
+        int count = 0;
+        decoder.beginArray();
+        while (decoder.hasNextElement()) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            if (decoder.consumeNull()) {
+                offsets[count++] = -1;
+                continue;
+            }
+            offsets[count++] = decoder.pos;
+            decoder.skipValue();
+        }
+        decoder.endArray();
+        return Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Offset of the value at the current position, skipping over it, or -1 for null
+     */
+    private int deferValue() {
+        if (consumeNull()) {
+            return -1;
+        }
+        int start = pos;
+        skipValue();
+        return start;
+    }
+
+    NodeModel readNode() {
+        if (consumeNull()) {
+            return null;
+        }
+        NodeModel node = lazy != null ? new LazyNodeModel(lazy) : new NodeModel();
+        beginObject();
+        while (hasNextField()) {
+            String name = nextName();
+            switch (name) {
+                case ShortKeys.MARKER: readSchemaVersion(); break;
+                case "type": node.setType(readString()); break;
+                case "title": node.setTitle(readString()); break;
+                case "description": node.setDescription(readString()); break;
+                case "label": node.setLabel(readString()); break;
+                case "backgroundColor": node.setBackgroundColor(readString()); break;
+                case "elevation": node.setElevation(readFloat()); break;
+                case "imageUrl": node.setImageUrl(readString()); break;
+                case "imageHeight": node.setImageHeight(readFloat()); break;
+                case "imageWidth": node.setImageWidth(readFloat()); break;
+                case "contentDescription": node.setContentDescription(readString()); break;
+                case "action": node.setAction(readString()); break;
+                case "modifier": node.setModifier(readModifier()); break;
+                case "textStyle": node.setTextStyle(readTextStyle()); break;
+                case "topBar": node.setTopBar(readNode()); break;
+                case "floatingActionButton": node.setFloatingActionButton(readNode()); break;
+                case "content":
+                    if (lazy != null) {
+                        ((LazyNodeModel) node).deferContent(deferValue());
+                    } else {
+                        node.setContent(readNode());
+                    }
+                    break;
+                case "children":
+                    if (lazy != null) {
+                        ((LazyNodeModel) node).deferChildren(deferValue());
+                    } else {
+                        node.setChildren(readChildren());
+                    }
+                    break;
+                case "buttonVariant": node.setButtonVariant(readString()); break;
+                case "columns": node.setColumns(readColumns()); break;
+                case "tableData":
+                    if (lazy != null) {
+                        ((LazyNodeModel) node).deferTableData(deferValue(), false);
+                    } else {
+                        node.setTableData(readTableData());
+                    }
+                    break;
+                case "columnarData":
+                    if (lazy != null) {
+                        ((LazyNodeModel) node).deferTableData(deferValue(), true);
+                    } else {
+                        readColumnarData(node);
+                    }
+                    break;
+                case "showBorders": node.setShowBorders(readBoolean()); break;
+                case "headerBackgroundColor": node.setHeaderBackgroundColor(readString()); break;
+                case "rowAction": node.setRowAction(readString()); break;
+                case "roundedCorners": node.setRoundedCorners(readFloat()); break;
+                case "useLazyColumn": node.setUseLazyColumn(readBoolean()); break;
+                case "nextCursor": node.setNextCursor(readString()); break;
+                default: skipValue();
+            }
+        }
+        endObject();
+        return node;
+    }
+
+    ModifierModel readModifier() {
+        if (consumeNull()) {
+            return null;
+        }
+        ModifierModel modifier = new ModifierModel();
+        beginObject();
+        while (hasNextField()) {
+            String name = nextName();
+            switch (name) {
+                case "height": modifier.setHeight(readInt()); break;
+                case "width": modifier.setWidth(readInt()); break;
+                case "weight": modifier.setWeight(readFloat()); break;
+                case "padding": modifier.setPadding(readInt()); break;
+                case "paddingTop": modifier.setPaddingTop(readInt()); break;
+                case "paddingBottom": modifier.setPaddingBottom(readInt()); break;
+                case "paddingStart": modifier.setPaddingStart(readInt()); break;
+                case "paddingEnd": modifier.setPaddingEnd(readInt()); break;
+                case "fillMaxSize": modifier.setFillMaxSize(readBoolean()); break;
+                case "fillMaxWidth": modifier.setFillMaxWidth(readBoolean()); break;
+                case "backgroundColor": modifier.setBackgroundColor(readString()); break;
+                case "horizontalAlignment": modifier.setHorizontalAlignment(readString()); break;
+                case "verticalAlignment": modifier.setVerticalAlignment(readString()); break;
+                case "contentAlignment": modifier.setContentAlignment(readString()); break;
+                case "verticalScroll": modifier.setVerticalScroll(readBoolean()); break;
+                default: skipValue();
+            }
+        }
+        endObject();
+        return modifier;
+    }
+
+    TextStyleModel readTextStyle() {
+        if (consumeNull()) {
+            return null;
+        }
+        TextStyleModel textStyle = new TextStyleModel();
+        beginObject();
+        while (hasNextField()) {
+            String name = nextName();
+            switch (name) {
+                case "fontSize": textStyle.setFontSize(readFloat()); break;
+                case "fontWeight": textStyle.setFontWeight(readString()); break;
+                case "textAlign": textStyle.setTextAlign(readString()); break;
+                case "color": textStyle.setColor(readString()); break;
+                default: skipValue();
+            }
+        }
+        endObject();
+        return textStyle;
+    }
+
+    TableColumnModel readColumn() {
+        if (consumeNull()) {
+            return null;
+        }
+        TableColumnModel column = new TableColumnModel();
+        beginObject();
+        while (hasNextField()) {
+            String name = nextName();
+            switch (name) {
+                case "header": column.setHeader(readString()); break;
+                case "weight": column.setWeight(readFloat()); break;
+                case "width": column.setWidth(readInt()); break;
+                case "horizontalAlignment": column.setHorizontalAlignment(readString()); break;
+                case "textStyle": column.setTextStyle(readTextStyle()); break;
+                case "headerStyle": column.setHeaderStyle(readTextStyle()); break;
+                default: skipValue();
+            }
+        }
+        endObject();
+        return column;
+    }
+
+    TableCellModel readCell() {
+        if (consumeNull()) {
+            return null;
+        }
+        TableCellModel cell = new TableCellModel();
+        beginObject();
+        while (hasNextField()) {
+            String name = nextName();
+            switch (name) {
+                case "text": cell.setText(readString()); break;
+                case "textStyle": cell.setTextStyle(readTextStyle()); break;
+                case "backgroundColor": cell.setBackgroundColor(readString()); break;
+                case "action": cell.setAction(readString()); break;
+                case "modifier": cell.setModifier(readModifier()); break;
+                case "showBorder": cell.setShowBorder(readBoolean()); break;
+                default: skipValue();
+            }
+        }
+        endObject();
+        return cell;
+    }
+
+    List<NodeModel> readChildren() {
+        if (consumeNull()) {
+            return null;
+        }
+        List<NodeModel> children = new ArrayList<>();
+        beginArray();
+        while (hasNextElement()) {
+            children.add(readNode());
+        }
+        endArray();
+        return children;
+    }
+
+    List<TableColumnModel> readColumns() {
+        if (consumeNull()) {
+            return null;
+        }
+        List<TableColumnModel> columns = new ArrayList<>();
+        beginArray();
+        while (hasNextElement()) {
+            columns.add(readColumn());
+        }
+        endArray();
+        return columns;
+    }
+
+    List<List<TableCellModel>> readTableData() {
+        if (consumeNull()) {
+            return null;
+        }
+        List<List<TableCellModel>> rows = new ArrayList<>();
+        beginArray();
+        while (hasNextElement()) {
+            if (consumeNull()) {
+                rows.add(null);
+                continue;
+            }
+            List<TableCellModel> row = new ArrayList<>();
+            beginArray();
+            while (hasNextElement()) {
+                row.add(readCell());
+            }
+            endArray();
+            rows.add(row);
+        }
+        endArray();
+        return rows;
+    }
+
+    /**
+     * Read a column-major table back into row-major tableData and mark the node columnar, so it
+     * is sent the same way again. Cells with the same style share its TextStyleModel and
+     * ModifierModel instances.
+     */
+    void readColumnarData(NodeModel node) {
+        if (consumeNull()) {
+            return;
+        }
+        int rowCount = 0;
+        List<List<String>> text = null;
+        List<List<String>> actions = null;
+        List<TableCellModel> styles = null;
+        List<List<Integer>> styleIndex = null;
+        beginObject();
+        while (hasNextField()) {
+            String name = nextName();
+            switch (name) {
+                case "rowCount": rowCount = readInt(); break;
+                case "text": text = readStringColumns(); break;
+                case "actions": actions = readStringColumns(); break;
+                case "styles": styles = readStyles(); break;
+                case "styleIndex": styleIndex = readIndexColumns(); break;
+                default: skipValue();
+            }
+        }
+        endObject();
+        int columnCount = text == null ? 0 : text.size();
+        List<List<TableCellModel>> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            List<TableCellModel> row = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                TableCellModel cell = new TableCellModel();
+                cell.setText(columnValue(text, c, r));
+                cell.setAction(columnValue(actions, c, r));
+                List<Integer> index = styleIndex == null ? null : styleIndex.get(c);
+                if (index != null && !index.isEmpty()) {
+                    TableCellModel style = styles.get(index.get(index.size() == 1 ? 0 : r));
+                    cell.setTextStyle(style.getTextStyle());
+                    cell.setBackgroundColor(style.getBackgroundColor());
+                    cell.setModifier(style.getModifier());
+                    cell.setShowBorder(style.getShowBorder());
+                }
+                row.add(cell);
+            }
+            rows.add(row);
+        }
+        node.setTableData(rows);
+        node.setColumnar(true);
+    }
+
+    private static String columnValue(List<List<String>> columns, int column, int row) {
+        if (columns == null || columns.get(column) == null) {
+            return null;
+        }
+        return columns.get(column).get(row);
+    }
+
+    private List<List<String>> readStringColumns() {
+        if (consumeNull()) {
+            return null;
+        }
+        List<List<String>> columns = new ArrayList<>();
+        beginArray();
+        while (hasNextElement()) {
+            if (consumeNull()) {
+                columns.add(null);
+                continue;
+            }
+            List<String> column = new ArrayList<>();
+            beginArray();
+            while (hasNextElement()) {
+                column.add(readString());
+            }
+            endArray();
+            columns.add(column);
+        }
+        endArray();
+        return columns;
+    }
+
+    private List<List<Integer>> readIndexColumns() {
+        if (consumeNull()) {
+            return null;
+        }
+        List<List<Integer>> columns = new ArrayList<>();
+        beginArray();
+        while (hasNextElement()) {
+            if (consumeNull()) {
+                columns.add(null);
+                continue;
+            }
+            List<Integer> column = new ArrayList<>();
+            beginArray();
+            while (hasNextElement()) {
+                column.add(readInt());
+            }
+            endArray();
+            columns.add(column);
+        }
+        endArray();
+        return columns;
+    }
+
+    /**
+     * Style dictionary entries have the styling fields of a cell, so they are read as cells
+     */
+    private List<TableCellModel> readStyles() {
+        if (consumeNull()) {
+            return null;
+        }
+        List<TableCellModel> styles = new ArrayList<>();
+        beginArray();
+        while (hasNextElement()) {
+            styles.add(readCell());
+        }
+        endArray();
+        return styles;
+    }
+
+    // Tokens
+
+    private void beginObject() {
+        expect('{');
+    }
+
+    private void endObject() {
+        expect('}');
+    }
+
+    private void beginArray() {
+        expect('[');
+    }
+
+    private void endArray() {
+        expect(']');
+    }
+
+    private boolean hasNextField() {
+        return hasNext('}');
+    }
+
+    private boolean hasNextElement() {
+        return hasNext(']');
+    }
+
+    private boolean hasNext(char close) {
+        requireMore();
+        char c = in.charAt(pos);
+        if (c == close) {
+            return false;
+        }
+        // Like Gson's lenient reader, member separators are consumed rather than validated
+        if (c == ',') {
+            pos++;
+        }
+        return true;
+    }
+
+    private String nextName() {
+        requireMore();
+        if (in.charAt(pos) != '"') {
+            throw syntaxError("Expected a field name");
+        }
+        String name = readQuoted();
+        expect(':');
+        return minified ? ShortKeys.expand(name) : name;
+    }
+
+    /**
+     * The marker of a minified document: every field name after it is a short key
+     */
+    private void readSchemaVersion() {
+        Integer version = readInt();
+        if (version == null || version < 1 || version > ShortKeys.VERSION) {
+            throw syntaxError("Unsupported minified schema version " + version);
+        }
+        minified = true;
+        if (lazy != null) {
+            lazy.minified = true;
+        }
+    }
+
+    /**
+     * A string, or like Gson the text of a bare number or boolean
+     */
+    String readString() {
+        if (consumeNull()) {
+            return null;
+        }
+        requireMore();
+        if (in.charAt(pos) == '"') {
+            return readQuoted();
+        }
+        if (consumeBoolean(true)) {
+            return "true";
+        }
+        if (consumeBoolean(false)) {
+            return "false";
+        }
+        int start = pos;
+        while (pos < in.length() && isNumberChar(in.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw syntaxError("Expected a string");
+        }
+        return in.substring(start, pos);
+    }
+
+    /**
+     * A boolean, or like Gson a quoted one: "true" in any case is true, any other string false
+     */
+    Boolean readBoolean() {
+        if (consumeNull()) {
+            return null;
+        }
+        requireMore();
+        if (in.charAt(pos) == '"') {
+            return Boolean.parseBoolean(readQuoted());
+        }
+        if (consumeBoolean(true)) {
+            return Boolean.TRUE;
+        }
+        if (consumeBoolean(false)) {
+            return Boolean.FALSE;
+        }
+        throw syntaxError("Expected a boolean");
+    }
+
+    private boolean consumeBoolean(boolean value) {
+        String literal = value ? "true" : "false";
+        if (in.startsWith(literal, pos)) {
+            pos += literal.length();
+            return true;
+        }
+        return false;
+    }
+
+    Integer readInt() {
+        if (consumeNull()) {
+            return null;
+        }
+        requireMore();
+        if (in.charAt(pos) == '"') {
+            int start = pos;
+            String quoted = readQuoted();
+            try {
+                return Integer.parseInt(quoted);
+            } catch (NumberFormatException e) {
+                return toInt(parseDouble(quoted, start));
+            }
+        }
+        int start = pos;
+        boolean negative = in.charAt(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        int digitsStart = pos;
+        while (pos < in.length() && isDigit(in.charAt(pos)) && pos - digitsStart < 10) {
+            value = value * 10 + (in.charAt(pos++) - '0');
+        }
+        if (pos > digitsStart && (pos == in.length() || !isNumberChar(in.charAt(pos)))) {
+            long signed = negative ? -value : value;
+            if (signed == (int) signed) {
+                return (int) signed;
+            }
+        }
+        pos = start;
+        return toInt(readDouble());
+    }
+
+    private int toInt(double number) {
+        if (number != (int) number) {
+            throw syntaxError("Expected an int but was " + number);
+        }
+        return (int) number;
+    }
+
+    Float readFloat() {
+        if (consumeNull()) {
+            return null;
+        }
+        return (float) readDouble();
+    }
+
+    /**
+     * A number, or like Gson a quoted one
+     */
+    private double readDouble() {
+        requireMore();
+        int start = pos;
+        if (in.charAt(pos) == '"') {
+            return parseDouble(readQuoted(), start);
+        }
+        while (pos < in.length() && isNumberChar(in.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw syntaxError("Expected a number");
+        }
+        return parseDouble(in.substring(start, pos), start);
+    }
+
+    private static double parseDouble(String number, int offset) {
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException("Malformed number at offset " + offset, e);
+        }
+    }
+
+    /**
+     * Skip over one complete value of any kind
+     */
+    void skipValue() {
+        requireMore();
+        char c = in.charAt(pos);
+        if (c == '"') {
+            skipQuoted();
+        } else if (c == '{' || c == '[') {
+            if (lazy != null) {
+                pos = lazy.end(pos);
+            } else {
+                skipContainer();
+            }
+        } else {
+            int start = pos;
+            while (pos < in.length() && (Character.isLetterOrDigit(in.charAt(pos)) || isNumberChar(in.charAt(pos)))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw syntaxError("Unexpected character '" + c + "'");
+            }
+        }
+    }
+
+    /**
+     * Skip an object or array by matching brackets outside strings. This is the whole cost of a
+     * deferred subtree in lazy decoding, so it scans with locals rather than the token methods.
+     */
+    private void skipContainer() {
+        String in = this.in;
+        int length = in.length();
+        int i = pos;
+        int nesting = 0;
+        while (i < length) {
+            char c = in.charAt(i++);
+            if (c == '"') {
+                i = skipQuoted(in, i);
+            } else if (c == '{' || c == '[') {
+                nesting++;
+            } else if ((c == '}' || c == ']') && --nesting == 0) {
+                pos = i;
+                return;
+            }
+        }
+        pos = length;
+        throw syntaxError("Unexpected end of input");
+    }
+
+    /**
+     * Offset just past the closing quote of a string whose contents start at i
+     */
+    private static int skipQuoted(String in, int i) {
+        int length = in.length();
+        while (i < length) {
+            char c = in.charAt(i++);
+            if (c == '"') {
+                return i;
+            }
+            if (c == '\\') {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * A document decoded lazily, with the end of every object and array found in one pass so that
+     * deferring a subtree at any depth is a lookup rather than another scan
+     */
+    static final class LazyDocument {
+        final String json;
+        boolean minified;
+        private int[] opens = new int[64];
+        private int[] ends = new int[64];
+        private int count;
+
+        LazyDocument(String json) {
+            this.json = json;
+            int length = json.length();
+            int[] stack = new int[32];
+            int depth = 0;
+            int i = 0;
+            while (i < length) {
+                char c = json.charAt(i++);
+                if (c == '"') {
+                    i = skipQuoted(json, i);
+                } else if (c == '{' || c == '[') {
+                    if (count == opens.length) {
+                        opens = Arrays.copyOf(opens, count * 2);
+                        ends = Arrays.copyOf(ends, count * 2);
+                    }
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    opens[count] = i - 1;
+                    ends[count] = -1;
+                    stack[depth++] = count++;
+                } else if ((c == '}' || c == ']') && depth > 0) {
+                    ends[stack[--depth]] = i;
+                }
+            }
+        }
+
+        /**
+         * Offset just past the object or array that opens at offset
+         */
+        int end(int offset) {
+            int index = Arrays.binarySearch(opens, 0, count, offset);
+            int end = index >= 0 ? ends[index] : -1;
+            if (end < 0) {
+                throw new JsonSyntaxException("Unexpected end of input at offset " + json.length());
+            }
+            return end;
+        }
+    }
+
+    private String readQuoted() {
+        int start = ++pos;
+        while (pos < in.length()) {
+            char c = in.charAt(pos);
+            if (c == '"') {
+                return in.substring(start, pos++);
+            }
+            if (c == '\\') {
+                StringBuilder sb = new StringBuilder(pos - start + 16);
+                sb.append(in, start, pos);
+                return readEscaped(sb);
+            }
+            pos++;
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private String readEscaped(StringBuilder sb) {
+        while (pos < in.length()) {
+            char c = in.charAt(pos++);
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos >= in.length()) {
+                break;
+            }
+            char escaped = in.charAt(pos++);
+            switch (escaped) {
+                case 'u':
+                    if (pos + 4 > in.length()) {
+                        throw syntaxError("Unterminated escape sequence");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(in.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new JsonSyntaxException("Malformed unicode escape at offset " + pos, e);
+                    }
+                    pos += 4;
+                    break;
+                case 'b': sb.append('\b'); break;
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'f': sb.append('\f'); break;
+                case 'r': sb.append('\r'); break;
+                default: sb.append(escaped);
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private void skipQuoted() {
+        pos++;
+        while (pos < in.length()) {
+            char c = in.charAt(pos++);
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                pos++;
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private boolean consumeNull() {
+        requireMore();
+        if (in.startsWith("null", pos)) {
+            pos += 4;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        requireMore();
+        if (in.charAt(pos) != c) {
+            throw syntaxError("Expected '" + c + "' but was '" + in.charAt(pos) + "'");
+        }
+        pos++;
+    }
+
+    private void requireMore() {
+        if (!skipWhitespace()) {
+            throw syntaxError("Unexpected end of input");
+        }
+    }
+
+    private boolean skipWhitespace() {
+        while (pos < in.length()) {
+            char c = in.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return true;
+            }
+            pos++;
+        }
+        return false;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNumberChar(char c) {
+        return isDigit(c) || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    JsonSyntaxException syntaxError(String message) {
+        return new JsonSyntaxException(message + " at offset " + pos);
+    }
+}
@@ -0,0 +1,891 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TableRowSource;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Hand-written UTF-8 JSON encoder for the SSR model classes.
+ * Field names are pre-escaped byte constants and null fields are skipped without any reflection.
+ * The output is identical to what Gson produces for the same models, in both compact and pretty form.
+ */
+public class NodeJsonEncoder {
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final Map<byte[], byte[]> SHORT_KEYS = new IdentityHashMap<>();
+    private static final byte[] MARKER = key(ShortKeys.MARKER);
+
+    private static final byte[] TYPE = field("type");
+    private static final byte[] TITLE = field("title");
+    private static final byte[] DESCRIPTION = field("description");
+    private static final byte[] LABEL = field("label");
+    private static final byte[] BACKGROUND_COLOR = field("backgroundColor");
+    private static final byte[] ELEVATION = field("elevation");
+    private static final byte[] IMAGE_URL = field("imageUrl");
+    private static final byte[] IMAGE_HEIGHT = field("imageHeight");
+    private static final byte[] IMAGE_WIDTH = field("imageWidth");
+    private static final byte[] CONTENT_DESCRIPTION = field("contentDescription");
+    private static final byte[] ACTION = field("action");
+    private static final byte[] MODIFIER = field("modifier");
+    private static final byte[] TEXT_STYLE = field("textStyle");
+    private static final byte[] TOP_BAR = field("topBar");
+    private static final byte[] FLOATING_ACTION_BUTTON = field("floatingActionButton");
+    private static final byte[] CONTENT = field("content");
+    private static final byte[] CHILDREN = field("children");
+    private static final byte[] BUTTON_VARIANT = field("buttonVariant");
+    private static final byte[] COLUMNS = field("columns");
+    private static final byte[] TABLE_DATA = field("tableData");
+    private static final byte[] COLUMNAR_DATA = field("columnarData");
+    private static final byte[] SHOW_BORDERS = field("showBorders");
+    private static final byte[] HEADER_BACKGROUND_COLOR = field("headerBackgroundColor");
+    private static final byte[] ROW_ACTION = field("rowAction");
+    private static final byte[] ROUNDED_CORNERS = field("roundedCorners");
+    private static final byte[] USE_LAZY_COLUMN = field("useLazyColumn");
+    private static final byte[] NEXT_CURSOR = field("nextCursor");
+
+    private static final byte[] HEIGHT = field("height");
+    private static final byte[] WIDTH = field("width");
+    private static final byte[] WEIGHT = field("weight");
+    private static final byte[] PADDING = field("padding");
+    private static final byte[] PADDING_TOP = field("paddingTop");
+    private static final byte[] PADDING_BOTTOM = field("paddingBottom");
+    private static final byte[] PADDING_START = field("paddingStart");
+    private static final byte[] PADDING_END = field("paddingEnd");
+    private static final byte[] FILL_MAX_SIZE = field("fillMaxSize");
+    private static final byte[] FILL_MAX_WIDTH = field("fillMaxWidth");
+    private static final byte[] HORIZONTAL_ALIGNMENT = field("horizontalAlignment");
+    private static final byte[] VERTICAL_ALIGNMENT = field("verticalAlignment");
+    private static final byte[] CONTENT_ALIGNMENT = field("contentAlignment");
+    private static final byte[] VERTICAL_SCROLL = field("verticalScroll");
+
+    private static final byte[] FONT_SIZE = field("fontSize");
+    private static final byte[] FONT_WEIGHT = field("fontWeight");
+    private static final byte[] TEXT_ALIGN = field("textAlign");
+    private static final byte[] COLOR = field("color");
+
+    private static final byte[] HEADER = field("header");
+    private static final byte[] HEADER_STYLE = field("headerStyle");
+
+    private static final byte[] TEXT = field("text");
+    private static final byte[] SHOW_BORDER = field("showBorder");
+
+    private static final byte[] ROW_COUNT = field("rowCount");
+    private static final byte[] ACTIONS = field("actions");
+    private static final byte[] STYLES = field("styles");
+    private static final byte[] STYLE_INDEX = field("styleIndex");
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    // Escapes for ASCII characters, matching Gson's HTML-safe writer. Null means no escape is needed.
+    private static final byte[][] ESCAPES = new byte[128][];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = unicodeEscape(c);
+        }
+        ESCAPES['"'] = ascii("\\\"");
+        ESCAPES['\\'] = ascii("\\\\");
+        ESCAPES['\t'] = ascii("\\t");
+        ESCAPES['\b'] = ascii("\\b");
+        ESCAPES['\n'] = ascii("\\n");
+        ESCAPES['\r'] = ascii("\\r");
+        ESCAPES['\f'] = ascii("\\f");
+        ESCAPES['<'] = unicodeEscape('<');
+        ESCAPES['>'] = unicodeEscape('>');
+        ESCAPES['&'] = unicodeEscape('&');
+        ESCAPES['='] = unicodeEscape('=');
+        ESCAPES['\''] = unicodeEscape('\'');
+    }
+
+    private final OutputStream out;
+    private final boolean pretty;
+    private final ParallelJsonSerializer parallel;
+    private ScreenProfiler profiler;
+    private boolean minimal;
+    private boolean minified;
+    private boolean markerPending;
+    private byte[] buf;
+    private int pos;
+    private long flushed;
+    private long streamedCells;
+
+    private int depth;
+    private boolean[] empty = new boolean[32];
+
+    /**
+     * Create an encoder that streams through a fixed-size buffer to the given OutputStream
+     */
+    public NodeJsonEncoder(OutputStream out, boolean pretty) {
+        this(out, pretty, null);
+    }
+
+    /**
+     * Create an encoder that splits wide child and row lists across the serializer's pool
+     */
+    NodeJsonEncoder(OutputStream out, boolean pretty, ParallelJsonSerializer parallel) {
+        this.out = out;
+        this.pretty = pretty;
+        this.parallel = parallel;
+        this.buf = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * Create an encoder that accumulates its output in memory
+     */
+    public NodeJsonEncoder(boolean pretty) {
+        this(null, pretty);
+    }
+
+    /**
+     * Encode a NodeModel and flush it to the underlying stream
+     */
+    public void encode(NodeModel node) throws IOException {
+        writeNode(node);
+        flush();
+    }
+
+    /**
+     * Flush buffered bytes to the underlying stream. In-memory encoders keep their bytes.
+     */
+    public void flush() throws IOException {
+        if (out != null) {
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    /**
+     * Total number of bytes written so far
+     */
+    public long size() {
+        return flushed + pos;
+    }
+
+    /**
+     * Table cells written so far from TableRowSource rows, which can't be counted from the tree
+     */
+    long streamedCells() {
+        return streamedCells;
+    }
+
+    /**
+     * Copy of the accumulated output of an in-memory encoder
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+    /**
+     * Accumulated output of an in-memory encoder decoded as a String
+     */
+    public String toUtf8String() {
+        return new String(buf, 0, pos, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Move the output of an in-memory encoder to a stream and start over, keeping the buffer
+     */
+    void drainTo(OutputStream target) throws IOException {
+        target.write(buf, 0, pos);
+        pos = 0;
+        flushed = 0;
+    }
+
+    /**
+     * Report every node written to the profiler. Profiled encoders never split lists across a pool.
+     */
+    void setProfiler(ScreenProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Leave out fields equal to the values ssr-simple assumes when they are missing. Frozen
+     * fragments are re-encoded, since their cached bytes are complete, and lists are never split
+     * across a pool.
+     */
+    void setMinimal(boolean minimal) {
+        this.minimal = minimal;
+    }
+
+    /**
+     * Write field names as their {@link ShortKeys}, after a schema marker on the root. Frozen
+     * fragments are re-encoded and lists are never split across a pool, as for minimal output.
+     */
+    void setMinified(boolean minified) {
+        this.minified = minified;
+        this.markerPending = minified;
+    }
+
+    void writeNode(NodeModel node) throws IOException {
+        if (node == null) {
+            writeNull();
+            return;
+        }
+        if (profiler != null) {
+            profiler.enter(node, size());
+        }
+        if (!pretty && !minimal && !minified && spliceable(node)) {
+            writeRaw(FragmentCache.bytesFor(node));
+        } else {
+            writeNodeFields(node);
+        }
+        if (profiler != null) {
+            profiler.exit(size());
+        }
+    }
+
+    /**
+     * Frozen nodes are written from their pre-encoded JSON, except derived ones that have none
+     */
+    private static boolean spliceable(NodeModel node) {
+        return node.isFrozen() && (!node.isDerived() || node.getFrozenJson() != null);
+    }
+
+    void writeNodeFields(NodeModel node) throws IOException {
+        beginObject();
+        if (markerPending) {
+            markerPending = false;
+            name(MARKER);
+            writeInt(ShortKeys.VERSION);
+        }
+        stringField(TYPE, node.getType());
+        stringField(TITLE, node.getTitle());
+        stringField(DESCRIPTION, node.getDescription());
+        stringField(LABEL, node.getLabel());
+        stringField(BACKGROUND_COLOR, node.getBackgroundColor());
+        floatField(ELEVATION, minimal ? ClientDefaults.elevation(node) : node.getElevation());
+        stringField(IMAGE_URL, node.getImageUrl());
+        floatField(IMAGE_HEIGHT, node.getImageHeight());
+        floatField(IMAGE_WIDTH, node.getImageWidth());
+        stringField(CONTENT_DESCRIPTION, node.getContentDescription());
+        stringField(ACTION, node.getAction());
+        if (node.getModifier() != null && !(minimal && ClientDefaults.isDefault(node.getModifier(), node.getType()))) {
+            name(MODIFIER);
+            writeModifier(node.getModifier(), node.getType());
+        }
+        if (node.getTextStyle() != null && !(minimal && ClientDefaults.isDefault(node.getTextStyle()))) {
+            name(TEXT_STYLE);
+            writeTextStyle(node.getTextStyle());
+        }
+        if (node.getTopBar() != null) {
+            name(TOP_BAR);
+            writeNode(node.getTopBar());
+        }
+        if (node.getFloatingActionButton() != null) {
+            name(FLOATING_ACTION_BUTTON);
+            writeNode(node.getFloatingActionButton());
+        }
+        if (node.getContent() != null) {
+            name(CONTENT);
+            writeNode(node.getContent());
+        }
+        if (node.getChildren() != null) {
+            name(CHILDREN);
+            beginArray();
+            if (isParallel(node.getChildren())) {
+                writeParallel(node.getChildren(), NodeJsonEncoder::writeNode);
+            } else {
+                for (NodeModel child : node.getChildren()) {
+                    beforeElement();
+                    writeNode(child);
+                }
+            }
+            endArray();
+        }
+        stringField(BUTTON_VARIANT, minimal ? ClientDefaults.buttonVariant(node) : node.getButtonVariant());
+        if (node.getColumns() != null) {
+            name(COLUMNS);
+            beginArray();
+            for (TableColumnModel column : node.getColumns()) {
+                beforeElement();
+                writeColumn(column);
+            }
+            endArray();
+        }
+        ColumnarTable columnar = node.isColumnar() && node.getTableRowSource() == null
+                ? ColumnarTable.of(node.getTableData()) : null;
+        if (columnar != null) {
+            name(COLUMNAR_DATA);
+            writeColumnar(columnar);
+        } else if (node.getTableData() != null || node.getTableRowSource() != null) {
+            name(TABLE_DATA);
+            beginArray();
+            if (isParallel(node.getTableData())) {
+                writeParallel(node.getTableData(), NodeJsonEncoder::writeRow);
+            } else if (node.getTableData() != null) {
+                for (List<TableCellModel> row : node.getTableData()) {
+                    beforeElement();
+                    writeRow(row);
+                }
+            }
+            if (node.getTableRowSource() != null) {
+                writeRows(node.getTableRowSource());
+            }
+            endArray();
+        }
+        booleanField(SHOW_BORDERS, minimal ? ClientDefaults.showBorders(node) : node.getShowBorders());
+        stringField(HEADER_BACKGROUND_COLOR, node.getHeaderBackgroundColor());
+        stringField(ROW_ACTION, node.getRowAction());
+        floatField(ROUNDED_CORNERS, minimal ? ClientDefaults.roundedCorners(node) : node.getRoundedCorners());
+        booleanField(USE_LAZY_COLUMN, minimal ? ClientDefaults.useLazyColumn(node) : node.getUseLazyColumn());
+        stringField(NEXT_CURSOR, node.getNextCursor());
+        endObject();
+    }
+
+    private boolean isParallel(List<?> elements) {
+        return parallel != null && profiler == null && !minimal && !minified && elements instanceof RandomAccess && elements.size() >= parallel.getThreshold();
+    }
+
+    /**
+     * Write the elements of the open array from chunks encoded in parallel, in order
+     */
+    private <T> void writeParallel(List<T> elements, ElementWriter<T> writer) throws IOException {
+        byte[][] chunks = parallel.encodeChunks(elements, writer, pretty, depth, empty[depth]);
+        for (byte[] chunk : chunks) {
+            writeRaw(chunk);
+        }
+        if (!elements.isEmpty()) {
+            empty[depth] = false;
+        }
+    }
+
+    /**
+     * Encode elements [from, to) of an array as they would appear inside the array at the given
+     * depth, so that concatenated chunks match the sequential output byte for byte
+     */
+    static <T> byte[] encodeChunk(List<T> elements, int from, int to, ElementWriter<T> writer,
+                                  ParallelJsonSerializer parallel, boolean pretty, int depth, boolean first) throws IOException {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(null, pretty, parallel);
+        if (depth >= encoder.empty.length) {
+            encoder.empty = new boolean[depth * 2];
+        }
+        encoder.depth = depth;
+        encoder.empty[depth] = first;
+        for (int i = from; i < to; i++) {
+            encoder.beforeElement();
+            writer.write(encoder, elements.get(i));
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Encode a NodeModel into a new in-memory buffer
+     */
+    static byte[] encodeToBytes(NodeModel node, boolean pretty) {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(pretty);
+        writeInMemory(() -> encoder.writeNode(node));
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Run writes that only reach memory, so the IOException their methods declare can't happen
+     */
+    static void writeInMemory(InMemoryWrite write) {
+        try {
+            write.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes to an in-memory encoder or stream
+     */
+    interface InMemoryWrite {
+        void run() throws IOException;
+    }
+
+    /**
+     * Writes one array element with an encoder
+     */
+    interface ElementWriter<T> {
+        void write(NodeJsonEncoder encoder, T element) throws IOException;
+    }
+
+    void writeModifier(ModifierModel modifier) throws IOException {
+        writeModifier(modifier, null);
+    }
+
+    /**
+     * Write a modifier; in minimal mode the type of the node it belongs to decides which
+     * alignment is the default
+     */
+    private void writeModifier(ModifierModel modifier, String nodeType) throws IOException {
+        beginObject();
+        intField(HEIGHT, modifier.getHeight());
+        intField(WIDTH, modifier.getWidth());
+        floatField(WEIGHT, modifier.getWeight());
+        if (minimal) {
+            intField(PADDING, ClientDefaults.padding(modifier));
+            intField(PADDING_TOP, ClientDefaults.paddingSide(modifier, modifier.getPaddingTop()));
+            intField(PADDING_BOTTOM, ClientDefaults.paddingSide(modifier, modifier.getPaddingBottom()));
+            intField(PADDING_START, ClientDefaults.paddingSide(modifier, modifier.getPaddingStart()));
+            intField(PADDING_END, ClientDefaults.paddingSide(modifier, modifier.getPaddingEnd()));
+            booleanField(FILL_MAX_SIZE, ClientDefaults.flag(modifier.getFillMaxSize()));
+            booleanField(FILL_MAX_WIDTH, ClientDefaults.flag(modifier.getFillMaxWidth()));
+            stringField(BACKGROUND_COLOR, modifier.getBackgroundColor());
+            stringField(HORIZONTAL_ALIGNMENT, ClientDefaults.horizontalAlignment(modifier, nodeType));
+            stringField(VERTICAL_ALIGNMENT, ClientDefaults.verticalAlignment(modifier, nodeType));
+            stringField(CONTENT_ALIGNMENT, ClientDefaults.contentAlignment(modifier, nodeType));
+            booleanField(VERTICAL_SCROLL, ClientDefaults.flag(modifier.getVerticalScroll()));
+        } else {
+            intField(PADDING, modifier.getPadding());
+            intField(PADDING_TOP, modifier.getPaddingTop());
+            intField(PADDING_BOTTOM, modifier.getPaddingBottom());
+            intField(PADDING_START, modifier.getPaddingStart());
+            intField(PADDING_END, modifier.getPaddingEnd());
+            booleanField(FILL_MAX_SIZE, modifier.getFillMaxSize());
+            booleanField(FILL_MAX_WIDTH, modifier.getFillMaxWidth());
+            stringField(BACKGROUND_COLOR, modifier.getBackgroundColor());
+            stringField(HORIZONTAL_ALIGNMENT, modifier.getHorizontalAlignment());
+            stringField(VERTICAL_ALIGNMENT, modifier.getVerticalAlignment());
+            stringField(CONTENT_ALIGNMENT, modifier.getContentAlignment());
+            booleanField(VERTICAL_SCROLL, modifier.getVerticalScroll());
+        }
+        endObject();
+    }
+
+    void writeTextStyle(TextStyleModel textStyle) throws IOException {
+        beginObject();
+        floatField(FONT_SIZE, textStyle.getFontSize());
+        stringField(FONT_WEIGHT, minimal ? ClientDefaults.fontWeight(textStyle) : textStyle.getFontWeight());
+        stringField(TEXT_ALIGN, minimal ? ClientDefaults.textAlign(textStyle) : textStyle.getTextAlign());
+        stringField(COLOR, textStyle.getColor());
+        endObject();
+    }
+
+    void writeColumn(TableColumnModel column) throws IOException {
+        if (column == null) {
+            writeNull();
+            return;
+        }
+        beginObject();
+        stringField(HEADER, column.getHeader());
+        floatField(WEIGHT, minimal ? ClientDefaults.columnWeight(column) : column.getWeight());
+        intField(WIDTH, column.getWidth());
+        stringField(HORIZONTAL_ALIGNMENT, minimal ? ClientDefaults.columnAlignment(column) : column.getHorizontalAlignment());
+        if (column.getTextStyle() != null && !(minimal && ClientDefaults.isDefault(column.getTextStyle()))) {
+            name(TEXT_STYLE);
+            writeTextStyle(column.getTextStyle());
+        }
+        if (column.getHeaderStyle() != null && !(minimal && ClientDefaults.isDefault(column.getHeaderStyle()))) {
+            name(HEADER_STYLE);
+            writeTextStyle(column.getHeaderStyle());
+        }
+        endObject();
+    }
+
+    void writeRow(List<TableCellModel> row) throws IOException {
+        if (row == null) {
+            writeNull();
+            return;
+        }
+        beginArray();
+        for (TableCellModel cell : row) {
+            beforeElement();
+            writeCell(cell);
+        }
+        endArray();
+    }
+
+    /**
+     * Write streamed rows as they are produced. The sink can't throw IOException, so it is
+     * tunnelled out unchecked and unwrapped here.
+     */
+    private void writeRows(TableRowSource rows) throws IOException {
+        try {
+            rows.forEachRow(row -> {
+                try {
+                    beforeElement();
+                    writeRow(row);
+                    streamedCells += row != null ? row.size() : 0;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Write a table column-major: per column the cell texts, the cell actions (null for a column
+     * without any), and indexes into the table's style dictionary. A column whose cells all share
+     * one style gets a single index.
+     */
+    void writeColumnar(ColumnarTable table) throws IOException {
+        beginObject();
+        name(ROW_COUNT);
+        writeInt(table.rowCount());
+        name(TEXT);
+        beginArray();
+        for (int c = 0; c < table.columnCount; c++) {
+            beforeElement();
+            beginArray();
+            for (int r = 0; r < table.rowCount(); r++) {
+                beforeElement();
+                writeNullableString(table.cell(r, c).getText());
+            }
+            endArray();
+        }
+        endArray();
+        boolean hasActions = false;
+        for (int c = 0; c < table.columnCount && !hasActions; c++) {
+            hasActions = table.hasActions(c);
+        }
+        if (hasActions) {
+            name(ACTIONS);
+            beginArray();
+            for (int c = 0; c < table.columnCount; c++) {
+                beforeElement();
+                if (!table.hasActions(c)) {
+                    writeNull();
+                    continue;
+                }
+                beginArray();
+                for (int r = 0; r < table.rowCount(); r++) {
+                    beforeElement();
+                    writeNullableString(table.cell(r, c).getAction());
+                }
+                endArray();
+            }
+            endArray();
+        }
+        name(STYLES);
+        beginArray();
+        for (ColumnarTable.Style style : table.styles) {
+            beforeElement();
+            beginObject();
+            if (style.textStyle != null) {
+                name(TEXT_STYLE);
+                writeTextStyle(style.textStyle);
+            }
+            stringField(BACKGROUND_COLOR, style.backgroundColor);
+            if (style.modifier != null && !(minimal && ClientDefaults.isDefault(style.modifier, null))) {
+                name(MODIFIER);
+                writeModifier(style.modifier);
+            }
+            booleanField(SHOW_BORDER, style.showBorder);
+            endObject();
+        }
+        endArray();
+        name(STYLE_INDEX);
+        beginArray();
+        for (int c = 0; c < table.columnCount; c++) {
+            beforeElement();
+            beginArray();
+            int[] index = table.styleIndex[c];
+            int count = table.isUniform(c) ? 1 : index.length;
+            for (int r = 0; r < count; r++) {
+                beforeElement();
+                writeInt(index[r]);
+            }
+            endArray();
+        }
+        endArray();
+        endObject();
+    }
+
+    void writeCell(TableCellModel cell) throws IOException {
+        if (cell == null) {
+            writeNull();
+            return;
+        }
+        beginObject();
+        stringField(TEXT, cell.getText());
+        if (cell.getTextStyle() != null) {
+            name(TEXT_STYLE);
+            writeTextStyle(cell.getTextStyle());
+        }
+        stringField(BACKGROUND_COLOR, cell.getBackgroundColor());
+        stringField(ACTION, cell.getAction());
+        if (cell.getModifier() != null && !(minimal && ClientDefaults.isDefault(cell.getModifier(), null))) {
+            name(MODIFIER);
+            writeModifier(cell.getModifier());
+        }
+        booleanField(SHOW_BORDER, cell.getShowBorder());
+        endObject();
+    }
+
+    private void stringField(byte[] name, String value) throws IOException {
+        if (value != null) {
+            name(name);
+            writeString(value);
+        }
+    }
+
+    private void writeNullableString(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+        } else {
+            writeString(value);
+        }
+    }
+
+    private void intField(byte[] name, Integer value) throws IOException {
+        if (value != null) {
+            name(name);
+            writeInt(value);
+        }
+    }
+
+    private void floatField(byte[] name, Float value) throws IOException {
+        if (value != null) {
+            name(name);
+            writeFloat(value);
+        }
+    }
+
+    private void booleanField(byte[] name, Boolean value) throws IOException {
+        if (value != null) {
+            name(name);
+            writeBoolean(value);
+        }
+    }
+
+    // Structural tokens
+
+    void beginObject() throws IOException {
+        open('{');
+    }
+
+    void endObject() throws IOException {
+        close('}');
+    }
+
+    void beginArray() throws IOException {
+        open('[');
+    }
+
+    void endArray() throws IOException {
+        close(']');
+    }
+
+    void name(byte[] quotedName) throws IOException {
+        separator();
+        writeRaw(minified ? SHORT_KEYS.getOrDefault(quotedName, quotedName) : quotedName);
+        if (pretty) {
+            writeByte(':');
+            writeByte(' ');
+        } else {
+            writeByte(':');
+        }
+    }
+
+    void beforeElement() throws IOException {
+        separator();
+    }
+
+    private void open(char c) throws IOException {
+        writeByte(c);
+        depth++;
+        if (depth == empty.length) {
+            empty = Arrays.copyOf(empty, depth * 2);
+        }
+        empty[depth] = true;
+    }
+
+    private void close(char c) throws IOException {
+        boolean wasEmpty = empty[depth];
+        depth--;
+        if (pretty && !wasEmpty) {
+            newline();
+        }
+        writeByte(c);
+    }
+
+    private void separator() throws IOException {
+        if (empty[depth]) {
+            empty[depth] = false;
+        } else {
+            writeByte(',');
+        }
+        if (pretty) {
+            newline();
+        }
+    }
+
+    private void newline() throws IOException {
+        ensure(1 + depth * 2);
+        buf[pos++] = '\n';
+        for (int i = 0; i < depth; i++) {
+            buf[pos++] = ' ';
+            buf[pos++] = ' ';
+        }
+    }
+
+    // Values
+
+    void writeNull() throws IOException {
+        writeRaw(NULL);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensure(11);
+        if (value == Integer.MIN_VALUE) {
+            writeRaw(ascii(Integer.toString(value)));
+            return;
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        pos = end;
+    }
+
+    void writeFloat(float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        String text = Float.toString(value);
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buf[pos++] = (byte) text.charAt(i);
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        writeByte('"');
+        writeEscaped(value);
+        writeByte('"');
+    }
+
+    /**
+     * Write the escaped contents of a JSON string, without the quotes
+     */
+    void writeEscaped(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            // Every character is written whole, so buffer flushes always fall on code point boundaries
+            ensure(6);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte[] escape = ESCAPES[c];
+                if (escape == null) {
+                    buf[pos++] = (byte) c;
+                } else {
+                    System.arraycopy(escape, 0, buf, pos, escape.length);
+                    pos += escape.length;
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c == '\u2028' || c == '\u2029') {
+                writeUnicodeEscape(c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced the same way String.getBytes does it
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        buf[pos++] = '\\';
+        buf[pos++] = 'u';
+        buf[pos++] = HEX[(c >> 12) & 0xF];
+        buf[pos++] = HEX[(c >> 8) & 0xF];
+        buf[pos++] = HEX[(c >> 4) & 0xF];
+        buf[pos++] = HEX[c & 0xF];
+    }
+
+    void writeRaw(byte[] bytes) throws IOException {
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    void writeRaw(byte[] bytes, int offset, int length) throws IOException {
+        if (out != null && length > buf.length) {
+            flushBuffer();
+            out.write(bytes, offset, length);
+            flushed += length;
+            return;
+        }
+        ensure(length);
+        System.arraycopy(bytes, offset, buf, pos, length);
+        pos += length;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensure(1);
+        buf[pos++] = (byte) c;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (pos + length <= buf.length) {
+            return;
+        }
+        if (out != null) {
+            flushBuffer();
+        }
+        if (pos + length > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + length));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            flushed += pos;
+            pos = 0;
+        }
+    }
+
+    /**
+     * Key of a model field, registered with its short form
+     */
+    private static byte[] field(String name) {
+        byte[] quoted = key(name);
+        SHORT_KEYS.put(quoted, key(ShortKeys.shorten(name)));
+        return quoted;
+    }
+
+    static byte[] key(String name) {
+        return ascii("\"" + name + "\"");
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] unicodeEscape(int c) {
+        return ascii(String.format("\\u%04x", c));
+    }
+}
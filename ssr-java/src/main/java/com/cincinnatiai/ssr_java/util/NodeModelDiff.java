@@ -0,0 +1,300 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Computes a {@link NodePatch} between two NodeModel trees, so a re-rendered screen can be sent
+ * as the edits since the previous render instead of the whole tree.
+ *
+ * <p>Scalar, modifier and text style changes become field replaces. Children are matched by
+ * position, or by a caller-supplied key so reordered children become moves instead of rewrites.
+ * Table rows are matched by position and only the changed cells are sent. Subtrees that are the
+ * same instance on both sides, such as shared frozen fragments, are skipped without being walked.
+ */
+public class NodeModelDiff {
+    private static final int ROW_LOOKAHEAD = 32;
+
+    private final Function<? super NodeModel, ?> key;
+    private final List<PatchOperation> operations = new ArrayList<>();
+
+    private NodeModelDiff(Function<? super NodeModel, ?> key) {
+        this.key = key;
+    }
+
+    /**
+     * Diff two trees, matching children by position
+     */
+    public static NodePatch diff(NodeModel from, NodeModel to) {
+        return diff(from, to, null);
+    }
+
+    /**
+     * Diff two trees, matching children by the given key (e.g. {@code NodeModel::getAction}).
+     * Lists whose keys are missing or not unique fall back to positional matching.
+     */
+    public static NodePatch diff(NodeModel from, NodeModel to, Function<? super NodeModel, ?> key) {
+        NodeModelDiff diff = new NodeModelDiff(key);
+        diff.node(Path.ROOT, from, to);
+        return new NodePatch(diff.operations);
+    }
+
+    private void node(Path path, NodeModel a, NodeModel b) {
+        if (a == b) {
+            return;
+        }
+        // Streamed rows can't be compared without consuming them, and columnarData can't be
+        // patched row by row, so either kind of table is resent whole when it changes
+        if (a == null || b == null || !Objects.equals(a.getType(), b.getType())
+                || a.getTableRowSource() != b.getTableRowSource()
+                || a.isColumnar() != b.isColumnar()
+                || a.isColumnar() && !Objects.equals(a.getTableData(), b.getTableData())) {
+            emit(PatchOperation.Op.REPLACE, path, -1, b);
+            return;
+        }
+        field(path, "title", a.getTitle(), b.getTitle());
+        field(path, "description", a.getDescription(), b.getDescription());
+        field(path, "label", a.getLabel(), b.getLabel());
+        field(path, "backgroundColor", a.getBackgroundColor(), b.getBackgroundColor());
+        field(path, "elevation", a.getElevation(), b.getElevation());
+        field(path, "imageUrl", a.getImageUrl(), b.getImageUrl());
+        field(path, "imageHeight", a.getImageHeight(), b.getImageHeight());
+        field(path, "imageWidth", a.getImageWidth(), b.getImageWidth());
+        field(path, "contentDescription", a.getContentDescription(), b.getContentDescription());
+        field(path, "action", a.getAction(), b.getAction());
+        field(path, "modifier", a.getModifier(), b.getModifier());
+        field(path, "textStyle", a.getTextStyle(), b.getTextStyle());
+        childNode(path, "topBar", a.getTopBar(), b.getTopBar());
+        childNode(path, "floatingActionButton", a.getFloatingActionButton(), b.getFloatingActionButton());
+        childNode(path, "content", a.getContent(), b.getContent());
+        children(path, a.getChildren(), b.getChildren());
+        field(path, "buttonVariant", a.getButtonVariant(), b.getButtonVariant());
+        field(path, "columns", a.getColumns(), b.getColumns());
+        tableData(path, a.getTableData(), b.getTableData());
+        field(path, "showBorders", a.getShowBorders(), b.getShowBorders());
+        field(path, "headerBackgroundColor", a.getHeaderBackgroundColor(), b.getHeaderBackgroundColor());
+        field(path, "rowAction", a.getRowAction(), b.getRowAction());
+        field(path, "roundedCorners", a.getRoundedCorners(), b.getRoundedCorners());
+        field(path, "useLazyColumn", a.getUseLazyColumn(), b.getUseLazyColumn());
+        field(path, "nextCursor", a.getNextCursor(), b.getNextCursor());
+    }
+
+    private void field(Path path, String name, Object a, Object b) {
+        if (!Objects.equals(a, b)) {
+            emit(PatchOperation.Op.REPLACE, path.child(name), -1, b);
+        }
+    }
+
+    private void childNode(Path path, String name, NodeModel a, NodeModel b) {
+        if (a == null || b == null) {
+            field(path, name, a, b);
+        } else {
+            node(path.child(name), a, b);
+        }
+    }
+
+    private void children(Path path, List<NodeModel> a, List<NodeModel> b) {
+        if (a == b) {
+            return;
+        }
+        if (a == null || b == null) {
+            emit(PatchOperation.Op.REPLACE, path.child("children"), -1, b);
+            return;
+        }
+        Path list = path.child("children");
+        List<Object> aKeys = keys(a);
+        List<Object> bKeys = aKeys == null ? null : keys(b);
+        if (bKeys == null) {
+            int common = Math.min(a.size(), b.size());
+            for (int i = 0; i < common; i++) {
+                node(list.child(i), a.get(i), b.get(i));
+            }
+            resize(list, a.size(), b);
+            return;
+        }
+
+        // Drop children whose key is gone, highest index first so earlier indexes stay valid
+        Set<Object> kept = new HashSet<>(bKeys);
+        List<NodeModel> nodes = new ArrayList<>(a);
+        for (int i = a.size() - 1; i >= 0; i--) {
+            if (!kept.contains(aKeys.get(i))) {
+                emit(PatchOperation.Op.REMOVE, list.child(i), -1, null);
+                aKeys.remove(i);
+                nodes.remove(i);
+            }
+        }
+        // Walk the target order, moving or inserting whatever doesn't already sit at each index
+        for (int i = 0; i < b.size(); i++) {
+            Object k = bKeys.get(i);
+            if (i < aKeys.size() && aKeys.get(i).equals(k)) {
+                node(list.child(i), nodes.get(i), b.get(i));
+                continue;
+            }
+            int j = aKeys.subList(i, aKeys.size()).indexOf(k);
+            if (j < 0) {
+                emit(PatchOperation.Op.INSERT, list.child(i), -1, b.get(i));
+                aKeys.add(i, k);
+                nodes.add(i, b.get(i));
+                continue;
+            }
+            j += i;
+            emit(PatchOperation.Op.MOVE, list.child(i), j, null);
+            aKeys.add(i, aKeys.remove(j));
+            nodes.add(i, nodes.remove(j));
+            node(list.child(i), nodes.get(i), b.get(i));
+        }
+    }
+
+    private void tableData(Path path, List<List<TableCellModel>> a, List<List<TableCellModel>> b) {
+        if (a == b) {
+            return;
+        }
+        if (a == null || b == null) {
+            emit(PatchOperation.Op.REPLACE, path.child("tableData"), -1, b);
+            return;
+        }
+        // Rows are aligned greedily: a mismatch that reappears within a few rows is treated as
+        // inserted or removed rows instead of rewriting every row after it
+        Path rows = path.child("tableData");
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            if (Objects.equals(a.get(i), b.get(j))) {
+                i++;
+                j++;
+                continue;
+            }
+            int removedUntil = indexOf(a, b.get(j), i + 1);
+            int insertedUntil = indexOf(b, a.get(i), j + 1);
+            if (removedUntil >= 0 && (insertedUntil < 0 || removedUntil - i <= insertedUntil - j)) {
+                for (; i < removedUntil; i++) {
+                    emit(PatchOperation.Op.REMOVE, rows.child(j), -1, null);
+                }
+            } else if (insertedUntil >= 0) {
+                for (; j < insertedUntil; j++) {
+                    emit(PatchOperation.Op.INSERT, rows.child(j), -1, b.get(j));
+                }
+            } else {
+                row(rows.child(j), a.get(i), b.get(j));
+                i++;
+                j++;
+            }
+        }
+        for (; j < b.size(); j++) {
+            emit(PatchOperation.Op.INSERT, rows.child(j), -1, b.get(j));
+        }
+        for (int k = a.size() - 1; k >= i; k--) {
+            emit(PatchOperation.Op.REMOVE, rows.child(j + k - i), -1, null);
+        }
+    }
+
+    private static int indexOf(List<?> rows, Object row, int from) {
+        int end = Math.min(rows.size(), from + ROW_LOOKAHEAD);
+        for (int k = from; k < end; k++) {
+            if (Objects.equals(rows.get(k), row)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private void row(Path path, List<TableCellModel> a, List<TableCellModel> b) {
+        if (a == b) {
+            return;
+        }
+        if (a == null || b == null) {
+            emit(PatchOperation.Op.REPLACE, path, -1, b);
+            return;
+        }
+        int common = Math.min(a.size(), b.size());
+        int changed = 0;
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(a.get(i), b.get(i))) {
+                changed++;
+            }
+        }
+        // A mostly rewritten row is smaller as one replace than as per-cell edits
+        if (changed * 2 > b.size()) {
+            emit(PatchOperation.Op.REPLACE, path, -1, b);
+            return;
+        }
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(a.get(i), b.get(i))) {
+                emit(PatchOperation.Op.REPLACE, path.child(i), -1, b.get(i));
+            }
+        }
+        resize(path, a.size(), b);
+    }
+
+    /**
+     * Append the extra target elements, or trim the surplus from the end
+     */
+    private void resize(Path list, int fromSize, List<?> to) {
+        for (int i = fromSize; i < to.size(); i++) {
+            emit(PatchOperation.Op.INSERT, list.child(i), -1, to.get(i));
+        }
+        for (int i = fromSize - 1; i >= to.size(); i--) {
+            emit(PatchOperation.Op.REMOVE, list.child(i), -1, null);
+        }
+    }
+
+    /**
+     * Keys of a child list, or null when there is no key function or the keys can't identify the children
+     */
+    private List<Object> keys(List<NodeModel> nodes) {
+        if (key == null) {
+            return null;
+        }
+        List<Object> keys = new ArrayList<>(nodes.size());
+        Set<Object> seen = new HashSet<>();
+        for (NodeModel node : nodes) {
+            Object k = node == null ? null : key.apply(node);
+            if (k == null || !seen.add(k)) {
+                return null;
+            }
+            keys.add(k);
+        }
+        return keys;
+    }
+
+    private void emit(PatchOperation.Op op, Path path, int from, Object value) {
+        operations.add(new PatchOperation(op, path.toList(), from, value));
+    }
+
+    /**
+     * Parent-linked path, only turned into a list when an operation is emitted
+     */
+    private static final class Path {
+        static final Path ROOT = new Path(null, null, 0);
+
+        private final Path parent;
+        private final Object segment;
+        private final int depth;
+
+        private Path(Path parent, Object segment, int depth) {
+            this.parent = parent;
+            this.segment = segment;
+            this.depth = depth;
+        }
+
+        Path child(Object segment) {
+            return new Path(this, segment, depth + 1);
+        }
+
+        List<Object> toList() {
+            Object[] segments = new Object[depth];
+            for (Path p = this; p.depth > 0; p = p.parent) {
+                segments[p.depth - 1] = p.segment;
+            }
+            return Arrays.asList(segments);
+        }
+    }
+}
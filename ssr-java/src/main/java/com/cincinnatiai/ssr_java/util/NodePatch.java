@@ -0,0 +1,250 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableColumnModel;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ordered list of edits that turns one NodeModel tree into another, produced by {@link NodeModelDiff}.
+ * Operations apply in sequence, so every path refers to the tree as left by the operations before it.
+ *
+ * <pre>
+ * {"ops":[
+ *   {"op":"replace","path":["content","children",1,"tableData",4,2],"value":{"text":"$1,200"}},
+ *   {"op":"move","path":["content","children",0],"from":3},
+ *   {"op":"remove","path":["content","children",5]}
+ * ]}
+ * </pre>
+ */
+public class NodePatch {
+    private static final byte[] OPS = NodeJsonEncoder.key("ops");
+    private static final byte[] OP = NodeJsonEncoder.key("op");
+    private static final byte[] PATH = NodeJsonEncoder.key("path");
+    private static final byte[] FROM = NodeJsonEncoder.key("from");
+    private static final byte[] VALUE = NodeJsonEncoder.key("value");
+
+    private final List<PatchOperation> operations;
+
+    NodePatch(List<PatchOperation> operations) {
+        this.operations = Collections.unmodifiableList(operations);
+    }
+
+    public List<PatchOperation> getOperations() { return operations; }
+
+    /**
+     * True when both trees were structurally equal
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Serialize the patch to compact JSON
+     */
+    public String toJson() {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(false);
+        NodeJsonEncoder.writeInMemory(() -> write(encoder));
+        return encoder.toUtf8String();
+    }
+
+    /**
+     * Stream the patch as compact UTF-8 JSON to an OutputStream
+     */
+    public void writeJson(OutputStream out) throws IOException {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(out, false);
+        write(encoder);
+        encoder.flush();
+    }
+
+    /**
+     * Apply the patch to a mutable tree in place. Values are inserted as-is, not copied.
+     * Returns the root, which is only a different instance when the patch replaced it.
+     */
+    public NodeModel applyTo(NodeModel root) {
+        for (PatchOperation operation : operations) {
+            root = apply(root, operation);
+        }
+        return root;
+    }
+
+    private void write(NodeJsonEncoder encoder) throws IOException {
+        encoder.beginObject();
+        encoder.name(OPS);
+        encoder.beginArray();
+        for (PatchOperation operation : operations) {
+            encoder.beforeElement();
+            encoder.beginObject();
+            encoder.name(OP);
+            encoder.writeString(operation.getOp().name().toLowerCase(Locale.ROOT));
+            encoder.name(PATH);
+            encoder.beginArray();
+            for (Object segment : operation.getPath()) {
+                encoder.beforeElement();
+                if (segment instanceof Integer) {
+                    encoder.writeInt((Integer) segment);
+                } else {
+                    encoder.writeString((String) segment);
+                }
+            }
+            encoder.endArray();
+            switch (operation.getOp()) {
+                case MOVE:
+                    encoder.name(FROM);
+                    encoder.writeInt(operation.getFrom());
+                    break;
+                case REPLACE:
+                case INSERT:
+                    encoder.name(VALUE);
+                    writeValue(encoder, operation.getValue());
+                    break;
+                default:
+                    break;
+            }
+            encoder.endObject();
+        }
+        encoder.endArray();
+        encoder.endObject();
+    }
+
+    private static void writeValue(NodeJsonEncoder encoder, Object value) throws IOException {
+        if (value == null) {
+            encoder.writeNull();
+        } else if (value instanceof String) {
+            encoder.writeString((String) value);
+        } else if (value instanceof Float) {
+            encoder.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            encoder.writeBoolean((Boolean) value);
+        } else if (value instanceof NodeModel) {
+            encoder.writeNode((NodeModel) value);
+        } else if (value instanceof ModifierModel) {
+            encoder.writeModifier((ModifierModel) value);
+        } else if (value instanceof TextStyleModel) {
+            encoder.writeTextStyle((TextStyleModel) value);
+        } else if (value instanceof TableColumnModel) {
+            encoder.writeColumn((TableColumnModel) value);
+        } else if (value instanceof TableCellModel) {
+            encoder.writeCell((TableCellModel) value);
+        } else if (value instanceof List) {
+            encoder.beginArray();
+            for (Object element : (List<?>) value) {
+                encoder.beforeElement();
+                writeValue(encoder, element);
+            }
+            encoder.endArray();
+        } else {
+            throw new IllegalArgumentException("Unsupported patch value: " + value.getClass().getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NodeModel apply(NodeModel root, PatchOperation operation) {
+        List<Object> path = operation.getPath();
+        if (path.isEmpty()) {
+            if (operation.getOp() != PatchOperation.Op.REPLACE) {
+                throw new IllegalArgumentException("Only replace can target the root: " + operation);
+            }
+            return (NodeModel) operation.getValue();
+        }
+        Object parent = root;
+        for (int i = 0; i < path.size() - 1; i++) {
+            parent = step(parent, path.get(i), operation);
+        }
+        Object last = path.get(path.size() - 1);
+        if (last instanceof String) {
+            if (operation.getOp() != PatchOperation.Op.REPLACE || !(parent instanceof NodeModel)) {
+                throw new IllegalArgumentException("Field operations must be replace on a node: " + operation);
+            }
+            setField((NodeModel) parent, (String) last, operation.getValue());
+            return root;
+        }
+        if (!(parent instanceof List)) {
+            throw new IllegalArgumentException("Patch path does not end in a list: " + operation);
+        }
+        List<Object> list = (List<Object>) parent;
+        int index = (Integer) last;
+        switch (operation.getOp()) {
+            case REPLACE:
+                list.set(index, operation.getValue());
+                break;
+            case INSERT:
+                list.add(index, operation.getValue());
+                break;
+            case REMOVE:
+                list.remove(index);
+                break;
+            case MOVE:
+                list.add(index, list.remove(operation.getFrom()));
+                break;
+        }
+        return root;
+    }
+
+    /**
+     * The field or list element a path segment names, failing with the target in the message
+     */
+    static Object step(Object current, Object segment, Object target) {
+        if (current instanceof List && segment instanceof Integer) {
+            return ((List<?>) current).get((Integer) segment);
+        }
+        if (current instanceof NodeModel && segment instanceof String) {
+            NodeModel node = (NodeModel) current;
+            switch ((String) segment) {
+                case "topBar": return node.getTopBar();
+                case "floatingActionButton": return node.getFloatingActionButton();
+                case "content": return node.getContent();
+                case "children": return node.getChildren();
+                case "columns": return node.getColumns();
+                case "tableData": return node.getTableData();
+                default: break;
+            }
+        }
+        throw new IllegalArgumentException("Patch path does not exist in this tree: " + target);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void setField(NodeModel node, String field, Object value) {
+        switch (field) {
+            case "type": node.setType((String) value); break;
+            case "title": node.setTitle((String) value); break;
+            case "description": node.setDescription((String) value); break;
+            case "label": node.setLabel((String) value); break;
+            case "backgroundColor": node.setBackgroundColor((String) value); break;
+            case "elevation": node.setElevation((Float) value); break;
+            case "imageUrl": node.setImageUrl((String) value); break;
+            case "imageHeight": node.setImageHeight((Float) value); break;
+            case "imageWidth": node.setImageWidth((Float) value); break;
+            case "contentDescription": node.setContentDescription((String) value); break;
+            case "action": node.setAction((String) value); break;
+            case "modifier": node.setModifier((ModifierModel) value); break;
+            case "textStyle": node.setTextStyle((TextStyleModel) value); break;
+            case "topBar": node.setTopBar((NodeModel) value); break;
+            case "floatingActionButton": node.setFloatingActionButton((NodeModel) value); break;
+            case "content": node.setContent((NodeModel) value); break;
+            case "children": node.setChildren((List<NodeModel>) value); break;
+            case "buttonVariant": node.setButtonVariant((String) value); break;
+            case "columns": node.setColumns((List<TableColumnModel>) value); break;
+            case "tableData": node.setTableData((List<List<TableCellModel>>) value); break;
+            case "showBorders": node.setShowBorders((Boolean) value); break;
+            case "headerBackgroundColor": node.setHeaderBackgroundColor((String) value); break;
+            case "rowAction": node.setRowAction((String) value); break;
+            case "roundedCorners": node.setRoundedCorners((Float) value); break;
+            case "useLazyColumn": node.setUseLazyColumn((Boolean) value); break;
+            case "nextCursor": node.setNextCursor((String) value); break;
+            default: throw new IllegalArgumentException("Unknown NodeModel field: " + field);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NodePatch" + operations;
+    }
+}
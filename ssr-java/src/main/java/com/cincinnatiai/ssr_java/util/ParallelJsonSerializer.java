@@ -0,0 +1,140 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * JSON serializer that encodes wide lists on a ForkJoinPool. A children list or tableData with at
+ * least threshold elements is split into chunks that are encoded into separate buffers in
+ * parallel and written in order, so the output is identical to {@link JsonSerializer}'s.
+ *
+ * <p>Narrow lists and streamed table rows are written on the calling thread. When writing to a
+ * stream, the encoded chunks of a wide list are held in memory until the whole list is done.
+ */
+public class ParallelJsonSerializer {
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    // Smallest chunk worth handing to another thread
+    private static final int MIN_CHUNK_SIZE = 64;
+    // Chunks per worker, so workers that finish early can take over work from slower ones
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Serializer on the common pool with the default threshold
+     */
+    public ParallelJsonSerializer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelJsonSerializer(ForkJoinPool pool, int threshold) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("threshold must be at least 2");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Serialize a NodeModel to a pretty-printed JSON string
+     */
+    public String toJson(NodeModel node) {
+        return encodeToString(node, true);
+    }
+
+    /**
+     * Serialize a NodeModel to a compact JSON string
+     */
+    public String toJsonCompact(NodeModel node) {
+        return encodeToString(node, false);
+    }
+
+    /**
+     * Stream a NodeModel as compact UTF-8 JSON to an OutputStream
+     */
+    public void writeJson(NodeModel node, OutputStream out) throws IOException {
+        new NodeJsonEncoder(out, false, this).encode(node);
+    }
+
+    private String encodeToString(NodeModel node, boolean pretty) {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(null, pretty, this);
+        NodeJsonEncoder.writeInMemory(() -> encoder.writeNode(node));
+        return encoder.toUtf8String();
+    }
+
+    <T> byte[][] encodeChunks(List<T> elements, NodeJsonEncoder.ElementWriter<T> writer,
+                              boolean pretty, int depth, boolean arrayEmpty) {
+        int size = elements.size();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, -Math.floorDiv(-size, pool.getParallelism() * CHUNKS_PER_WORKER));
+        int chunkCount = -Math.floorDiv(-size, chunkSize);
+        byte[][] chunks = new byte[chunkCount][];
+        EncodeChunks<T> task = new EncodeChunks<>(elements, writer, pretty, depth, arrayEmpty, chunkSize, chunks, 0, chunkCount);
+        if (ForkJoinTask.getPool() == pool) {
+            // A wide list nested in a chunk: fork from the worker instead of submitting from outside
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits a range of chunks in half until a single chunk is left, then encodes it into its slot
+     */
+    private final class EncodeChunks<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> elements;
+        private final NodeJsonEncoder.ElementWriter<T> writer;
+        private final boolean pretty;
+        private final int depth;
+        private final boolean arrayEmpty;
+        private final int chunkSize;
+        private final byte[][] chunks;
+        private final int from;
+        private final int to;
+
+        EncodeChunks(List<T> elements, NodeJsonEncoder.ElementWriter<T> writer, boolean pretty, int depth,
+                     boolean arrayEmpty, int chunkSize, byte[][] chunks, int from, int to) {
+            this.elements = elements;
+            this.writer = writer;
+            this.pretty = pretty;
+            this.depth = depth;
+            this.arrayEmpty = arrayEmpty;
+            this.chunkSize = chunkSize;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(split(from, mid), split(mid, to));
+                return;
+            }
+            int start = from * chunkSize;
+            int end = Math.min(elements.size(), start + chunkSize);
+            // Only the first chunk can open the array; the others always start with a separator
+            NodeJsonEncoder.writeInMemory(() -> chunks[from] = NodeJsonEncoder.encodeChunk(elements, start, end,
+                    writer, ParallelJsonSerializer.this, pretty, depth, arrayEmpty && from == 0));
+        }
+
+        private EncodeChunks<T> split(int from, int to) {
+            return new EncodeChunks<>(elements, writer, pretty, depth, arrayEmpty, chunkSize, chunks, from, to);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single edit in a {@link NodePatch}.
+ * The path walks from the root through field names ("content", "children", "tableData", ...)
+ * and list indexes. Its last segment is the field or list slot the operation touches.
+ */
+public class PatchOperation {
+
+    public enum Op {
+        /** Set a field, or overwrite a list element, with the value */
+        REPLACE,
+        /** Insert the value into a list, shifting later elements up */
+        INSERT,
+        /** Remove a list element, shifting later elements down */
+        REMOVE,
+        /** Move the list element at {@code from} to the path index */
+        MOVE
+    }
+
+    private final Op op;
+    private final List<Object> path;
+    private final int from;
+    private final Object value;
+
+    PatchOperation(Op op, List<Object> path, int from, Object value) {
+        this.op = op;
+        this.path = Collections.unmodifiableList(path);
+        this.from = from;
+        this.value = value;
+    }
+
+    public Op getOp() { return op; }
+
+    /**
+     * Field names (String) and list indexes (Integer) from the root to the target
+     */
+    public List<Object> getPath() { return path; }
+
+    /**
+     * Source index of a MOVE, -1 for other operations
+     */
+    public int getFrom() { return from; }
+
+    /**
+     * New field value or list element. Null for REMOVE and MOVE, or when a field is cleared.
+     */
+    public Object getValue() { return value; }
+
+    @Override
+    public String toString() {
+        return op + " " + path + (op == Op.MOVE ? " from " + from : "");
+    }
+}
@@ -0,0 +1,146 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Edits on frozen trees that return a new frozen root instead of changing the old one. Only the
+ * nodes on the path to an edit are copied; every other subtree is shared with the original,
+ * together with its pre-encoded JSON and digest. A per-user or per-locale variant of a shared
+ * screen therefore costs a few nodes, not a copy of the screen, and both trees stay safe to
+ * serialize from any thread.
+ *
+ * <pre>
+ * NodeModel base = HomeScreen.build().freeze();
+ * NodeModel german = PersistentTree.replace(base, List.of("topBar", "title"), "Startseite");
+ * NodeModel promo = PersistentTree.edit(german, List.of("content", "children", 0),
+ *         card -&gt; card.setBackgroundColor("#FFF3E0"));
+ * </pre>
+ *
+ * Paths use the segments of {@link NodePatch}: field names ("content", "children", "tableData",
+ * ...) and list indexes. Shared parts are still frozen inside an edit, so a modifier or text style
+ * is changed by setting a new one.
+ */
+public final class PersistentTree {
+
+    private PersistentTree() {
+    }
+
+    /**
+     * Copy the node at the path, let the consumer change the copy through its setters and lists,
+     * and return the new root. The consumer must not keep the copy, which is frozen afterwards.
+     */
+    public static NodeModel edit(NodeModel root, List<?> path, Consumer<? super NodeModel> edit) {
+        checkFrozen(root);
+        Object updated = rebuild(root, path, 0, path.size(), node -> {
+            if (!(node instanceof NodeModel)) {
+                throw new IllegalArgumentException("Path does not lead to a node: " + path);
+            }
+            NodeModel copy = ((NodeModel) node).thaw();
+            edit.accept(copy);
+            return copy;
+        }, path);
+        return ((NodeModel) updated).freeze();
+    }
+
+    /**
+     * Set the field or list element the path ends in and return the new root. An empty path
+     * replaces the root. The value becomes part of the frozen result.
+     */
+    public static NodeModel replace(NodeModel root, List<?> path, Object value) {
+        checkFrozen(root);
+        if (path.isEmpty()) {
+            return ((NodeModel) value).freeze();
+        }
+        Object last = path.get(path.size() - 1);
+        Object updated = rebuild(root, path, 0, path.size() - 1, parent -> with(parent, last, value, path), path);
+        return ((NodeModel) updated).freeze();
+    }
+
+    /**
+     * Apply a patch without touching the root, returning the patched copy. Values in the patch
+     * become part of the frozen result.
+     */
+    public static NodeModel apply(NodeModel root, NodePatch patch) {
+        checkFrozen(root);
+        for (PatchOperation operation : patch.getOperations()) {
+            root = apply(root, operation);
+        }
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NodeModel apply(NodeModel root, PatchOperation operation) {
+        List<Object> path = operation.getPath();
+        if (operation.getOp() == PatchOperation.Op.REPLACE) {
+            return replace(root, path, operation.getValue());
+        }
+        if (path.isEmpty() || !(path.get(path.size() - 1) instanceof Integer)) {
+            throw new IllegalArgumentException("Patch path does not end in a list: " + operation);
+        }
+        int index = (Integer) path.get(path.size() - 1);
+        Object updated = rebuild(root, path, 0, path.size() - 1, parent -> {
+            if (!(parent instanceof List)) {
+                throw new IllegalArgumentException("Patch path does not end in a list: " + operation);
+            }
+            List<Object> list = new ArrayList<>((List<Object>) parent);
+            switch (operation.getOp()) {
+                case INSERT:
+                    list.add(index, operation.getValue());
+                    break;
+                case REMOVE:
+                    list.remove(index);
+                    break;
+                case MOVE:
+                    list.add(index, list.remove(operation.getFrom()));
+                    break;
+                default:
+                    break;
+            }
+            return list;
+        }, operation);
+        return ((NodeModel) updated).freeze();
+    }
+
+    /**
+     * Copy of current with the segments from depth to end rewritten, and the leaf replaced by
+     * whatever change returns for it. Everything off the path is shared.
+     */
+    private static Object rebuild(Object current, List<?> path, int depth, int end,
+                                  UnaryOperator<Object> change, Object target) {
+        if (depth == end) {
+            return change.apply(current);
+        }
+        Object segment = path.get(depth);
+        Object child = NodePatch.step(current, segment, target);
+        return with(current, segment, rebuild(child, path, depth + 1, end, change, target), target);
+    }
+
+    /**
+     * Copy of a node or list with one field or element replaced
+     */
+    @SuppressWarnings("unchecked")
+    private static Object with(Object container, Object segment, Object value, Object target) {
+        if (container instanceof NodeModel && segment instanceof String) {
+            NodeModel copy = ((NodeModel) container).thaw();
+            NodePatch.setField(copy, (String) segment, value);
+            return copy;
+        }
+        if (container instanceof List && segment instanceof Integer) {
+            List<Object> copy = new ArrayList<>((List<Object>) container);
+            copy.set((Integer) segment, value);
+            return copy;
+        }
+        throw new IllegalArgumentException("Path does not exist in this tree: " + target);
+    }
+
+    private static void checkFrozen(NodeModel root) {
+        if (!root.isFrozen()) {
+            throw new IllegalArgumentException("Persistent edits need a frozen root, see NodeModel.freeze()");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * DEFLATE compression of serialized screens with the shared {@link CompressionDictionary}.
+ *
+ * <pre>
+ * "SSRZ"        magic
+ * version       1 byte, the dictionary version
+ * zlib stream   deflate with the preset dictionary (its Adler-32 is in the zlib header)
+ * </pre>
+ *
+ * Any payload can be compressed this way. ssr-simple's CompressedDeserializerProvider inflates it
+ * and hands the result to the JSON or binary provider behind it.
+ */
+public class ScreenCompressor {
+    static final byte[] MAGIC = {'S', 'S', 'R', 'Z'};
+
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Serialize a screen to compact JSON and compress it
+     */
+    public static byte[] compress(NodeModel node) {
+        return compress(node, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Serialize a screen to compact JSON and compress it at the given Deflater level
+     */
+    public static byte[] compress(NodeModel node, int level) {
+        return compress(NodeJsonEncoder.encodeToBytes(node, false), level);
+    }
+
+    /**
+     * Compress an already serialized payload at the given Deflater level
+     */
+    public static byte[] compress(byte[] payload, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setDictionary(CompressionDictionary.shared());
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4 + 64);
+            out.write(MAGIC, 0, MAGIC.length);
+            out.write(CompressionDictionary.VERSION);
+            byte[] chunk = new byte[CHUNK_SIZE];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflate a compressed payload back to the serialized bytes
+     */
+    public static byte[] decompress(byte[] compressed) {
+        if (!isCompressed(compressed)) {
+            throw new IllegalArgumentException("Not an SSR compressed payload");
+        }
+        int version = compressed[MAGIC.length] & 0xFF;
+        if (version != CompressionDictionary.VERSION) {
+            throw new IllegalArgumentException("Unsupported SSR dictionary version " + version);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, MAGIC.length + 1, compressed.length - MAGIC.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] chunk = new byte[CHUNK_SIZE];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(CompressionDictionary.shared());
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalArgumentException("Truncated SSR compressed payload");
+                    }
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt SSR compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * True if the bytes start with the compressed payload magic number
+     */
+    public static boolean isCompressed(byte[] bytes) {
+        return bytes != null && bytes.length > MAGIC.length
+                && Arrays.equals(bytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cincinnatiai.ssr_java.util;
+
+/**
+ * Receives the cost of every screen serialized or parsed through JsonSerializer (and so through
+ * SSR.toJson, toJsonCompact, writeJson and fromJson). Install one with
+ * {@link JsonSerializer#setMetrics(ScreenMetrics)}; the default {@link #NO_OP} costs nothing,
+ * any other implementation adds a walk of the tree to every call.
+ *
+ * record() is called on the serializing thread, so implementations must be thread-safe and cheap.
+ */
+public interface ScreenMetrics {
+
+    ScreenMetrics NO_OP = stats -> { };
+
+    void record(ScreenStats stats);
+
+    enum Operation {
+        SERIALIZE,
+        DESERIALIZE
+    }
+}
@@ -0,0 +1,199 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cost of one subtree of a profiled screen, see {@link ScreenProfiler}. Bytes, time and node
+ * counts include the whole subtree; the self values exclude the child nodes. A table's rows are
+ * part of the table's own cost.
+ */
+public final class ScreenProfile {
+    private static final int MAX_TITLE_LENGTH = 40;
+
+    /**
+     * What folded stacks are weighted by
+     */
+    public enum Weight {
+        BYTES,
+        NANOS
+    }
+
+    private final String type;
+    private final String title;
+    private final boolean frozen;
+    private final List<ScreenProfile> children = new ArrayList<>();
+    private final long startBytes;
+    private final long startNanos;
+    private long bytes;
+    private long nanos;
+    private int nodeCount;
+
+    ScreenProfile(NodeModel node, ScreenProfile parent, long startBytes, long startNanos) {
+        this.type = node.getType();
+        this.title = node.getTitle() != null ? node.getTitle() : node.getLabel();
+        this.frozen = node.isFrozen();
+        this.startBytes = startBytes;
+        this.startNanos = startNanos;
+        // A frozen subtree is spliced in whole, so its descendants never reach the profiler
+        this.nodeCount = frozen ? countNodes(node) : 1;
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    void finish(long endBytes, long endNanos) {
+        bytes = endBytes - startBytes;
+        nanos = endNanos - startNanos;
+        for (ScreenProfile child : children) {
+            nodeCount += child.nodeCount;
+        }
+    }
+
+    private static int countNodes(NodeModel node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 1 + countNodes(node.getTopBar()) + countNodes(node.getFloatingActionButton())
+                + countNodes(node.getContent());
+        if (node.getChildren() != null) {
+            for (NodeModel child : node.getChildren()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * The node's title, or its label when it has no title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * True when the subtree was spliced in from its pre-encoded bytes. Its children are not profiled.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Profiles of the topBar, floatingActionButton, content and children, in the order they were written
+     */
+    public List<ScreenProfile> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getSelfBytes() {
+        long self = bytes;
+        for (ScreenProfile child : children) {
+            self -= child.bytes;
+        }
+        return self;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getSelfNanos() {
+        long self = nanos;
+        for (ScreenProfile child : children) {
+            self -= child.nanos;
+        }
+        return self;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Frame name in reports: the type, followed by the title in brackets when there is one
+     */
+    public String getName() {
+        String name = type != null ? type : "null";
+        if (title == null) {
+            return name;
+        }
+        String shown = title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) + "..." : title;
+        return name + "[" + shown + "]";
+    }
+
+    /**
+     * Folded stacks for flamegraph.pl, speedscope and similar tools: one line per subtree with
+     * its path of frame names and its self weight
+     */
+    public String toFoldedStacks(Weight weight) {
+        StringBuilder out = new StringBuilder();
+        appendFolded(out, "", weight);
+        return out.toString();
+    }
+
+    private void appendFolded(StringBuilder out, String parentPath, Weight weight) {
+        String path = parentPath.isEmpty() ? frame() : parentPath + ";" + frame();
+        long self = weight == Weight.BYTES ? getSelfBytes() : getSelfNanos();
+        if (self > 0) {
+            out.append(path).append(' ').append(self).append('\n');
+        }
+        for (ScreenProfile child : children) {
+            child.appendFolded(out, path, weight);
+        }
+    }
+
+    /**
+     * Frame name with the separators of the folded format replaced
+     */
+    private String frame() {
+        StringBuilder frame = new StringBuilder(getName());
+        for (int i = 0; i < frame.length(); i++) {
+            char c = frame.charAt(i);
+            if (c == ';' || c == '\n' || c == '\r') {
+                frame.setCharAt(i, c == ';' ? ':' : ' ');
+            }
+        }
+        return frame.toString();
+    }
+
+    /**
+     * Indented tree of every subtree with its bytes, share of the screen, time and node count
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format("%10s %7s %10s %7s  %s%n", "Bytes", "Share", "Time us", "Nodes", "Node"));
+        appendFormatted(out, 0, bytes);
+        return out.toString();
+    }
+
+    private void appendFormatted(StringBuilder out, int depth, long totalBytes) {
+        out.append(String.format("%10d %6.1f%% %10.1f %7d  ", bytes,
+                totalBytes > 0 ? 100.0 * bytes / totalBytes : 0, nanos / 1e3, nodeCount));
+        for (int i = 0; i < depth; i++) {
+            out.append("  ");
+        }
+        out.append(getName());
+        if (frozen) {
+            out.append(" (frozen)");
+        }
+        out.append('\n');
+        for (ScreenProfile child : children) {
+            child.appendFormatted(out, depth + 1, totalBytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getName() + ": " + bytes + " bytes, " + nanos + " ns, " + nodeCount + " nodes";
+    }
+}
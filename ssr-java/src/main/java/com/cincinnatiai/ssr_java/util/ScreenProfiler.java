@@ -0,0 +1,75 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Serializes a screen while timing and measuring every subtree, to find the part of a screen
+ * that costs the most bytes or encoding time. The result is a {@link ScreenProfile} tree that
+ * mirrors the NodeModel tree.
+ *
+ * <pre>
+ * ScreenProfile profile = ScreenProfiler.profile(screen);
+ * System.out.print(profile.format());
+ * Files.writeString(Path.of("screen.folded"), profile.toFoldedStacks(ScreenProfile.Weight.BYTES));
+ * </pre>
+ *
+ * Reading the clock twice per node adds tens of nanoseconds to each, so times are best compared
+ * between subtrees of one profile rather than with unprofiled serialization.
+ */
+public class ScreenProfiler {
+    private final Deque<ScreenProfile> stack = new ArrayDeque<>();
+    private ScreenProfile root;
+
+    private ScreenProfiler() {
+    }
+
+    /**
+     * Profile the compact JSON encoding of a screen
+     */
+    public static ScreenProfile profile(NodeModel screen) {
+        return profile(screen, false);
+    }
+
+    public static ScreenProfile profile(NodeModel screen, boolean pretty) {
+        try {
+            return profile(screen, pretty, OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            // The null stream never fails
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Profile a screen while streaming its JSON to out, so a real response can be measured. Time
+     * spent blocked on out is charged to the subtree being written.
+     */
+    public static ScreenProfile profile(NodeModel screen, boolean pretty, OutputStream out) throws IOException {
+        if (screen == null) {
+            throw new IllegalArgumentException("screen must not be null");
+        }
+        ScreenProfiler profiler = new ScreenProfiler();
+        NodeJsonEncoder encoder = new NodeJsonEncoder(out, pretty);
+        encoder.setProfiler(profiler);
+        encoder.encode(screen);
+        return profiler.root;
+    }
+
+    void enter(NodeModel node, long bytes) {
+        ScreenProfile parent = stack.peek();
+        ScreenProfile profile = new ScreenProfile(node, parent, bytes, System.nanoTime());
+        if (parent == null) {
+            root = profile;
+        }
+        stack.push(profile);
+    }
+
+    void exit(long bytes) {
+        stack.pop().finish(bytes, System.nanoTime());
+    }
+}
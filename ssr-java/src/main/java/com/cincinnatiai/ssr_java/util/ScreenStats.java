@@ -0,0 +1,172 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * The cost of one serialize or deserialize call, as passed to {@link ScreenMetrics}
+ */
+public final class ScreenStats {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final ScreenMetrics.Operation operation;
+    private final String screenType;
+    private final String screenName;
+    private final long nanos;
+    private final long bytes;
+    private final int nodeCount;
+    private final int maxDepth;
+    private final long tableCells;
+    private final long allocatedBytes;
+
+    private ScreenStats(ScreenMetrics.Operation operation, String screenType, String screenName, long nanos,
+                        long bytes, int nodeCount, int maxDepth, long tableCells, long allocatedBytes) {
+        this.operation = operation;
+        this.screenType = screenType;
+        this.screenName = screenName;
+        this.nanos = nanos;
+        this.bytes = bytes;
+        this.nodeCount = nodeCount;
+        this.maxDepth = maxDepth;
+        this.tableCells = tableCells;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Stats for a call on the given screen that started at startNanos, when the thread had
+     * allocated startAllocated bytes. streamedCells are the cells the encoder wrote from
+     * TableRowSource rows, which walking the tree can't see.
+     */
+    static ScreenStats of(ScreenMetrics.Operation operation, NodeModel screen, long startNanos,
+                          long bytes, long streamedCells, long startAllocated) {
+        long nanos = System.nanoTime() - startNanos;
+        long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+        Shape shape = new Shape();
+        shape.walk(screen, 1);
+        return new ScreenStats(operation, screen != null ? screen.getType() : null, screenName(screen), nanos,
+                bytes, shape.nodes, shape.depth, shape.cells + streamedCells, allocated);
+    }
+
+    private static String screenName(NodeModel screen) {
+        if (screen == null) {
+            return null;
+        }
+        if (screen.getTopBar() != null && screen.getTopBar().getTitle() != null) {
+            return screen.getTopBar().getTitle();
+        }
+        return screen.getType();
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 when the JVM doesn't count them
+     */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+                if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                    return counter;
+                }
+            }
+        } catch (LinkageError | SecurityException e) {
+            // No jdk.management module: allocations are reported as -1
+        }
+        return null;
+    }
+
+    public ScreenMetrics.Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Type of the root node
+     */
+    public String getScreenType() {
+        return screenType;
+    }
+
+    /**
+     * Title of the root's top bar, or the root type when it has none
+     */
+    public String getScreenName() {
+        return screenName;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * UTF-8 bytes written or parsed
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Depth of the deepest node, the root being 1
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Cells in tableData, plus the cells streamed from a TableRowSource when serializing
+     */
+    public long getTableCells() {
+        return tableCells;
+    }
+
+    /**
+     * Bytes the calling thread allocated during the call, or -1 when the JVM doesn't count them
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return operation + " " + screenName + ": " + nanos + " ns, " + bytes + " bytes, " + nodeCount
+                + " nodes, depth " + maxDepth + ", " + tableCells + " cells, " + allocatedBytes + " allocated";
+    }
+
+    private static final class Shape {
+        int nodes;
+        int depth;
+        long cells;
+
+        void walk(NodeModel node, int level) {
+            if (node == null) {
+                return;
+            }
+            nodes++;
+            depth = Math.max(depth, level);
+            walk(node.getTopBar(), level + 1);
+            walk(node.getFloatingActionButton(), level + 1);
+            walk(node.getContent(), level + 1);
+            if (node.getChildren() != null) {
+                for (NodeModel child : node.getChildren()) {
+                    walk(child, level + 1);
+                }
+            }
+            if (node.getTableData() != null) {
+                for (List<TableCellModel> row : node.getTableData()) {
+                    cells += row != null ? row.size() : 0;
+                }
+            }
+        }
+    }
+}
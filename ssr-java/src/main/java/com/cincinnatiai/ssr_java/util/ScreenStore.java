@@ -0,0 +1,330 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeDigest;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of serialized screens and their digests, read back through a memory mapping.
+ * Screens are serialized once, e.g. in a build step, and a freshly started server answers them
+ * from the page cache without building, serializing or parsing anything.
+ *
+ * <pre>
+ * file   := "SSRS" version:u8 record*
+ * record := length:i32 crc32:i32 keyLength:u16 key:utf8 digestHigh:i64 digestLow:i64 json
+ * </pre>
+ *
+ * length counts the bytes after the CRC, which covers the same bytes. Opening a store scans the
+ * record headers to rebuild the index; a later record for a key replaces the earlier one. A record
+ * cut short by a crash is dropped and, when the store is writable, truncated away.
+ *
+ * <pre>
+ * try (ScreenStore store = ScreenStore.open(Path.of("screens.ssrs"))) {
+ *     store.put("/settings", SettingsScreen.build());
+ * }
+ * ...
+ * ScreenStore store = ScreenStore.openReadOnly(Path.of("screens.ssrs"));
+ * ByteBuffer json = store.get("/settings");
+ * </pre>
+ *
+ * Reads are thread-safe and lock-free once the mapping covers the record; puts are serialized.
+ * A store file is limited to 2 GB, the size of one mapping.
+ */
+public class ScreenStore implements Closeable {
+    static final byte[] MAGIC = {'S', 'S', 'R', 'S'};
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = MAGIC.length + 1;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_KEY_LENGTH = 0xFFFF;
+    private static final int DIGEST_SIZE = 16;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer mapped;
+    private long end;
+    private volatile boolean closed;
+
+    private ScreenStore(FileChannel channel, boolean writable) {
+        this.channel = channel;
+        this.writable = writable;
+    }
+
+    /**
+     * Open a store for reading and appending, creating the file if it doesn't exist
+     */
+    public static ScreenStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return load(new ScreenStore(channel, true));
+    }
+
+    /**
+     * Open an existing store for reading only
+     */
+    public static ScreenStore openReadOnly(Path file) throws IOException {
+        return load(new ScreenStore(FileChannel.open(file, StandardOpenOption.READ), false));
+    }
+
+    private static ScreenStore load(ScreenStore store) throws IOException {
+        try {
+            store.readIndex();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            store.channel.close();
+            throw e;
+        }
+    }
+
+    private void readIndex() throws IOException {
+        long size = channel.size();
+        if (size == 0 && writable) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).put(MAGIC).put((byte) VERSION);
+            header.flip();
+            writeFully(header, 0);
+            size = HEADER_SIZE;
+        }
+        checkSize(size);
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (size < HEADER_SIZE || !Arrays.equals(MAGIC, bytes(map, 0, MAGIC.length))) {
+            throw new IOException("Not an SSR screen store");
+        }
+        int version = map.get(MAGIC.length) & 0xFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported SSR screen store version " + version);
+        }
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= size) {
+            int length = map.getInt(offset);
+            if (length < 2 + DIGEST_SIZE || length > size - offset - RECORD_HEADER_SIZE) {
+                break;
+            }
+            int body = offset + RECORD_HEADER_SIZE;
+            if (map.getInt(offset + 4) != crc(map, body, length)) {
+                break;
+            }
+            int keyLength = map.getShort(body) & 0xFFFF;
+            if (2 + keyLength + DIGEST_SIZE > length) {
+                break;
+            }
+            String key = new String(bytes(map, body + 2, keyLength), StandardCharsets.UTF_8);
+            int digestAt = body + 2 + keyLength;
+            NodeDigest digest = new NodeDigest(map.getLong(digestAt), map.getLong(digestAt + 8));
+            int jsonAt = digestAt + DIGEST_SIZE;
+            index.put(key, new Entry(digest, jsonAt, body + length - jsonAt));
+            offset = body + length;
+        }
+        if (offset < size && writable) {
+            channel.truncate(offset);
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, offset);
+        }
+        end = offset;
+        mapped = map;
+    }
+
+    /**
+     * Serialize a screen as compact JSON and append it under the key. Nothing is written when the
+     * key already holds a screen with the same digest.
+     *
+     * @return the screen's digest
+     */
+    public synchronized NodeDigest put(String key, NodeModel screen) throws IOException {
+        checkOpen();
+        if (!writable) {
+            throw new IllegalStateException("ScreenStore is read-only");
+        }
+        NodeDigest digest = NodeHasher.digest(screen);
+        Entry current = index.get(key);
+        if (current != null && current.digest.equals(digest)) {
+            return digest;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Key is longer than " + MAX_KEY_LENGTH + " bytes");
+        }
+        NodeJsonEncoder encoder = new NodeJsonEncoder(false);
+        encoder.encode(screen);
+        byte[] json = encoder.toByteArray();
+
+        long length = 2L + keyBytes.length + DIGEST_SIZE + json.length;
+        checkSize(end + RECORD_HEADER_SIZE + length);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + (int) length);
+        record.putInt((int) length).putInt(0)
+                .putShort((short) keyBytes.length).put(keyBytes)
+                .putLong(digest.getHigh()).putLong(digest.getLow())
+                .put(json);
+        record.putInt(4, crc(record, RECORD_HEADER_SIZE, (int) length));
+        record.flip();
+        writeFully(record, end);
+
+        int jsonAt = (int) (end + RECORD_HEADER_SIZE + 2 + keyBytes.length + DIGEST_SIZE);
+        end += RECORD_HEADER_SIZE + length;
+        index.put(key, new Entry(digest, jsonAt, json.length));
+        return digest;
+    }
+
+    /**
+     * Compact UTF-8 JSON of the screen stored under the key, as a read-only view of the mapped
+     * file, or null when there is none
+     */
+    public ByteBuffer get(String key) {
+        checkOpen();
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer view = mapping(entry).duplicate();
+        view.position(entry.offset).limit(entry.offset + entry.length);
+        return view.slice();
+    }
+
+    /**
+     * Digest of the screen stored under the key, or null when there is none
+     */
+    public NodeDigest digest(String key) {
+        Entry entry = index.get(key);
+        return entry != null ? entry.digest : null;
+    }
+
+    /**
+     * Parse the screen stored under the key, or null when there is none
+     */
+    public NodeModel load(String key) {
+        ByteBuffer json = get(key);
+        return json != null ? NodeJsonDecoder.decode(StandardCharsets.UTF_8.decode(json).toString()) : null;
+    }
+
+    /**
+     * Write the screen stored under the key to a blocking channel
+     *
+     * @return false when there is none
+     */
+    public boolean writeTo(String key, WritableByteChannel target) throws IOException {
+        ByteBuffer json = get(key);
+        if (json == null) {
+            return false;
+        }
+        while (json.hasRemaining()) {
+            target.write(json);
+        }
+        return true;
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Bytes in the file, including records replaced by later puts
+     */
+    public synchronized long getFileSize() {
+        return end;
+    }
+
+    /**
+     * Make sure every put so far is on disk
+     */
+    public void force() throws IOException {
+        checkOpen();
+        channel.force(false);
+    }
+
+    /**
+     * Close the file. Buffers returned by get() must not be used afterwards; the mapping itself
+     * is released when they are collected.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * The mapping, extended to the end of the file when the entry was appended after it was made
+     */
+    private MappedByteBuffer mapping(Entry entry) {
+        MappedByteBuffer map = mapped;
+        if (entry.offset + entry.length <= map.capacity()) {
+            return map;
+        }
+        synchronized (this) {
+            if (entry.offset + entry.length > mapped.capacity()) {
+                try {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not map " + end + " bytes of the screen store", e);
+                }
+            }
+            return mapped;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("ScreenStore is closed");
+        }
+    }
+
+    private static void checkSize(long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Screen store would exceed " + Integer.MAX_VALUE + " bytes");
+        }
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset).limit(offset + length);
+        CRC32 crc = new CRC32();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private static final class Entry {
+        final NodeDigest digest;
+        final int offset;
+        final int length;
+
+        Entry(NodeDigest digest, int offset, int length) {
+            this.digest = digest;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A screen serialized once with named slots in its String fields. The JSON between slots is kept
+ * as pre-encoded byte segments, so rendering a screen for a request only escapes the slot values
+ * and copies the segments around them.
+ *
+ * <pre>
+ * ScreenTemplate profile = ScreenTemplate.compile(SSR.scaffold()
+ *     .topBar(SSR.topAppBar("Hello, " + ScreenTemplate.slot("name")))
+ *     .content(SSR.image(ScreenTemplate.slot("avatarUrl")))
+ *     .build());
+ *
+ * profile.writeJson(Map.of("name", user.getName(), "avatarUrl", user.getAvatarUrl()), out);
+ * </pre>
+ *
+ * Slots are written {{name}}, anywhere inside any String field, including table cells and actions.
+ * Slot values are inserted as text and are never expanded again.
+ */
+public final class ScreenTemplate {
+    private final byte[][] segments;
+    private final String[] slots;
+    private final List<String> slotNames;
+    private final int staticSize;
+
+    private ScreenTemplate(byte[][] segments, String[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+        this.slotNames = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(Arrays.asList(slots))));
+        int size = 0;
+        for (byte[] segment : segments) {
+            size += segment.length;
+        }
+        this.staticSize = size;
+    }
+
+    /**
+     * Placeholder for a slot, to put into a String field of the screen before compiling it
+     */
+    public static String slot(String name) {
+        if (!isSlotName(name)) {
+            throw new IllegalArgumentException("Slot names may only contain letters, digits, '_', '-' and '.': " + name);
+        }
+        return "{{" + name + "}}";
+    }
+
+    /**
+     * Compile a screen to compact JSON segments
+     */
+    public static ScreenTemplate compile(NodeModel screen) {
+        return compile(screen, false);
+    }
+
+    public static ScreenTemplate compile(NodeModel screen, boolean pretty) {
+        return parse(NodeJsonEncoder.encodeToBytes(screen, pretty));
+    }
+
+    /**
+     * Split encoded JSON at its slots. "{{" can't occur in JSON outside a string, and the encoder
+     * doesn't escape braces, so every placeholder shows up verbatim in the bytes.
+     */
+    private static ScreenTemplate parse(byte[] json) {
+        List<byte[]> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int segmentStart = 0;
+        int i = 0;
+        while (i + 4 <= json.length) {
+            if (json[i] != '{' || json[i + 1] != '{') {
+                i++;
+                continue;
+            }
+            int nameStart = i + 2;
+            int nameEnd = nameStart;
+            while (nameEnd < json.length && isSlotChar(json[nameEnd])) {
+                nameEnd++;
+            }
+            if (nameEnd == nameStart || nameEnd + 1 >= json.length || json[nameEnd] != '}' || json[nameEnd + 1] != '}') {
+                i++;
+                continue;
+            }
+            segments.add(Arrays.copyOfRange(json, segmentStart, i));
+            slots.add(new String(json, nameStart, nameEnd - nameStart, StandardCharsets.US_ASCII));
+            i = nameEnd + 2;
+            segmentStart = i;
+        }
+        segments.add(Arrays.copyOfRange(json, segmentStart, json.length));
+        return new ScreenTemplate(segments.toArray(new byte[0][]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * Distinct slot names, in the order they first appear
+     */
+    public List<String> getSlotNames() {
+        return slotNames;
+    }
+
+    /**
+     * Total size of the pre-encoded JSON around the slots
+     */
+    public int getStaticSize() {
+        return staticSize;
+    }
+
+    /**
+     * Render the screen as UTF-8 JSON. Every slot needs a value; values are converted with toString().
+     */
+    public byte[] render(Map<String, ?> values) {
+        return renderInMemory(values).toByteArray();
+    }
+
+    public String renderToString(Map<String, ?> values) {
+        return renderInMemory(values).toUtf8String();
+    }
+
+    /**
+     * Stream the rendered screen to an OutputStream. The stream is flushed but not closed.
+     */
+    public void writeJson(Map<String, ?> values, OutputStream out) throws IOException {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(out, false);
+        write(values, encoder);
+        encoder.flush();
+    }
+
+    private NodeJsonEncoder renderInMemory(Map<String, ?> values) {
+        NodeJsonEncoder encoder = new NodeJsonEncoder(false);
+        NodeJsonEncoder.writeInMemory(() -> write(values, encoder));
+        return encoder;
+    }
+
+    private void write(Map<String, ?> values, NodeJsonEncoder encoder) throws IOException {
+        for (int i = 0; i < slots.length; i++) {
+            encoder.writeRaw(segments[i]);
+            Object value = values.get(slots[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for slot " + slots[i]);
+            }
+            encoder.writeEscaped(value.toString());
+        }
+        encoder.writeRaw(segments[slots.length]);
+    }
+
+    private static boolean isSlotName(String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= 0x80 || !isSlotChar((byte) c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSlotChar(byte c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-' || c == '.';
+    }
+}
@@ -0,0 +1,120 @@
+package com.cincinnatiai.ssr_java.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The minified JSON schema: every model field written under a one or two character key. A field
+ * keeps its short key in every model it appears in, and no two fields share one, so a key can be
+ * expanded without knowing which object it belongs to. Minified documents start with the marker
+ * field, {"$k":VERSION,...}, and are decoded by NodeJsonDecoder and ssr-simple's
+ * MinifiedDeserializerProvider, which mirrors this table.
+ *
+ * Keys are never reused: a new field gets a new key, and removing one retires its key.
+ */
+public final class ShortKeys {
+    public static final int VERSION = 1;
+    public static final String MARKER = "$k";
+
+    /**
+     * Request and response header carrying the highest minified schema version a client decodes
+     */
+    public static final String HEADER = "X-SSR-Schema";
+
+    private static final Map<String, String> SHORT = new LinkedHashMap<>();
+    private static final Map<String, String> LONG = new HashMap<>();
+
+    static {
+        // NodeModel
+        add("type", "t");
+        add("title", "ti");
+        add("description", "de");
+        add("label", "lb");
+        add("backgroundColor", "bg");
+        add("elevation", "el");
+        add("imageUrl", "iu");
+        add("imageHeight", "ih");
+        add("imageWidth", "iw");
+        add("contentDescription", "cd");
+        add("action", "a");
+        add("modifier", "m");
+        add("textStyle", "ts");
+        add("topBar", "tb");
+        add("floatingActionButton", "fa");
+        add("content", "c");
+        add("children", "ch");
+        add("buttonVariant", "bv");
+        add("columns", "co");
+        add("tableData", "td");
+        add("columnarData", "cr");
+        add("showBorders", "sb");
+        add("headerBackgroundColor", "hb");
+        add("rowAction", "ra");
+        add("roundedCorners", "rc");
+        add("useLazyColumn", "lz");
+        add("nextCursor", "nc");
+        // ModifierModel
+        add("height", "h");
+        add("width", "w");
+        add("weight", "wt");
+        add("padding", "p");
+        add("paddingTop", "pt");
+        add("paddingBottom", "pb");
+        add("paddingStart", "ps");
+        add("paddingEnd", "pe");
+        add("fillMaxSize", "fs");
+        add("fillMaxWidth", "fw");
+        add("horizontalAlignment", "ha");
+        add("verticalAlignment", "va");
+        add("contentAlignment", "ca");
+        add("verticalScroll", "vs");
+        // TextStyleModel
+        add("fontSize", "sz");
+        add("fontWeight", "wg");
+        add("textAlign", "al");
+        add("color", "cl");
+        // TableColumnModel
+        add("header", "hd");
+        add("headerStyle", "hs");
+        // TableCellModel
+        add("text", "x");
+        add("showBorder", "bd");
+        // Columnar table data
+        add("rowCount", "rn");
+        add("actions", "ac");
+        add("styles", "st");
+        add("styleIndex", "si");
+    }
+
+    private ShortKeys() {
+    }
+
+    private static void add(String name, String key) {
+        if (SHORT.put(name, key) != null || LONG.put(key, name) != null) {
+            throw new IllegalStateException("Duplicate short key mapping " + name + " -> " + key);
+        }
+    }
+
+    /**
+     * The short key of a field, or the name itself for fields outside the schema
+     */
+    public static String shorten(String name) {
+        return SHORT.getOrDefault(name, name);
+    }
+
+    /**
+     * The field name of a short key, or the key itself when it isn't one
+     */
+    public static String expand(String key) {
+        return LONG.getOrDefault(key, key);
+    }
+
+    /**
+     * Field name to short key, in model declaration order
+     */
+    public static Map<String, String> mapping() {
+        return Collections.unmodifiableMap(SHORT);
+    }
+}
@@ -0,0 +1,151 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.ModifierModel;
+import com.cincinnatiai.ssr_java.model.TextStyleModel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in flyweight interning for ModifierModel and TextStyleModel.
+ * When enabled, ModifierBuilder.build() and TextStyleBuilder.build() return a shared, frozen
+ * instance for every equal style instead of a fresh object.
+ */
+public class StyleInterner {
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    // Shallow sizes with compressed oops: 12 byte header, 4 bytes per reference, padded to 8
+    private static final int MODIFIER_SHALLOW_SIZE = 80;
+    private static final int TEXT_STYLE_SHALLOW_SIZE = 32;
+    private static final int BOXED_SIZE = 16;
+
+    private static final ConcurrentHashMap<ModifierModel, ModifierModel> modifiers = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<TextStyleModel, TextStyleModel> textStyles = new ConcurrentHashMap<>();
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder bytesSaved = new LongAdder();
+
+    private static volatile boolean enabled;
+    private static volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    public static void enable() {
+        enable(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Turn interning on, keeping at most maxEntries canonical instances of each model type.
+     * Styles built once the map is full are frozen but not shared.
+     */
+    public static void enable(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        StyleInterner.maxEntries = maxEntries;
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drop all canonical instances. Models that were already handed out stay frozen.
+     */
+    public static void clear() {
+        modifiers.clear();
+        textStyles.clear();
+    }
+
+    public static ModifierModel intern(ModifierModel modifier) {
+        if (!enabled || modifier == null) {
+            return modifier;
+        }
+        ModifierModel canonical = modifiers.get(modifier);
+        if (canonical == null) {
+            modifier.freeze();
+            canonical = modifiers.size() < maxEntries ? modifiers.putIfAbsent(modifier, modifier) : null;
+        }
+        if (canonical == null) {
+            misses.increment();
+            return modifier;
+        }
+        hits.increment();
+        bytesSaved.add(estimatedSize(modifier));
+        return canonical;
+    }
+
+    public static TextStyleModel intern(TextStyleModel textStyle) {
+        if (!enabled || textStyle == null) {
+            return textStyle;
+        }
+        TextStyleModel canonical = textStyles.get(textStyle);
+        if (canonical == null) {
+            textStyle.freeze();
+            canonical = textStyles.size() < maxEntries ? textStyles.putIfAbsent(textStyle, textStyle) : null;
+        }
+        if (canonical == null) {
+            misses.increment();
+            return textStyle;
+        }
+        hits.increment();
+        bytesSaved.add(estimatedSize(textStyle));
+        return canonical;
+    }
+
+    /**
+     * Number of builds that were answered with an existing canonical instance
+     */
+    public static long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of builds that produced a new instance
+     */
+    public static long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Estimated heap bytes of the duplicate instances that became garbage right away
+     */
+    public static long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    public static int canonicalCount() {
+        return modifiers.size() + textStyles.size();
+    }
+
+    public static void resetStats() {
+        hits.reset();
+        misses.reset();
+        bytesSaved.reset();
+    }
+
+    static long estimatedSize(ModifierModel modifier) {
+        return MODIFIER_SHALLOW_SIZE
+                + boxedSize(modifier.getHeight())
+                + boxedSize(modifier.getWidth())
+                + (modifier.getWeight() != null ? BOXED_SIZE : 0)
+                + boxedSize(modifier.getPadding())
+                + boxedSize(modifier.getPaddingTop())
+                + boxedSize(modifier.getPaddingBottom())
+                + boxedSize(modifier.getPaddingStart())
+                + boxedSize(modifier.getPaddingEnd());
+    }
+
+    static long estimatedSize(TextStyleModel textStyle) {
+        return TEXT_STYLE_SHALLOW_SIZE + (textStyle.getFontSize() != null ? BOXED_SIZE : 0);
+    }
+
+    // Integers in -128..127 come from the Integer cache and cost nothing extra
+    private static int boxedSize(Integer value) {
+        return value != null && (value < -128 || value > 127) ? BOXED_SIZE : 0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.model.TableCellModel;
+import com.cincinnatiai.ssr_java.model.TableWindowSource;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the row sources of windowed tables between requests. A windowed table is sent with its
+ * first rows and a nextCursor; the client sends the cursor back and {@link #nextWindow(String)}
+ * reads the following rows from the retained source.
+ *
+ * <p>Tables are dropped when they have not been read for the time-to-live, or when more than
+ * maxTables are registered, least recently used first. Cursors carry a random table id, so one
+ * client can't guess the cursor of another client's table.
+ */
+public class TableWindowRegistry {
+    public static final int DEFAULT_MAX_TABLES = 1024;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final int ID_BYTES = 12;
+
+    private final int maxTables;
+    private final long timeToLiveNanos;
+    private final Map<String, Table> tables;
+    private final SecureRandom random = new SecureRandom();
+
+    public TableWindowRegistry() {
+        this(DEFAULT_MAX_TABLES, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public TableWindowRegistry(int maxTables, Duration timeToLive) {
+        if (maxTables <= 0) {
+            throw new IllegalArgumentException("maxTables must be positive");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.maxTables = maxTables;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.tables = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Table> eldest) {
+                return size() > TableWindowRegistry.this.maxTables;
+            }
+        };
+    }
+
+    /**
+     * Fill the table's tableData with the first windowSize rows of the source. When more rows
+     * follow, the source is registered and the table gets a nextCursor for them. Later windows
+     * are sent columnar when the table is columnar at this point.
+     */
+    public NodeModel firstWindow(NodeModel table, TableWindowSource rows, int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        Table entry = new Table(rows, windowSize, table.isColumnar());
+        List<List<TableCellModel>> fetched = entry.read(0);
+        table.setTableData(entry.trim(fetched));
+        if (fetched.size() > windowSize) {
+            String id = newId();
+            synchronized (tables) {
+                purgeExpired(System.nanoTime());
+                entry.touch(System.nanoTime(), timeToLiveNanos);
+                tables.put(id, entry);
+            }
+            table.setNextCursor(cursor(id, windowSize));
+        } else {
+            table.setNextCursor(null);
+        }
+        return table;
+    }
+
+    /**
+     * The window a cursor points at, as a Table node holding only tableData and the nextCursor of
+     * the window after it. Returns null when the table has expired or was evicted, so the client
+     * should reload the screen. Expired tables are purged by every call here and in firstWindow.
+     */
+    public NodeModel nextWindow(String cursor) {
+        int separator = cursor == null ? -1 : cursor.lastIndexOf('.');
+        int offset;
+        try {
+            offset = separator > 0 ? Integer.parseInt(cursor.substring(separator + 1)) : -1;
+        } catch (NumberFormatException e) {
+            offset = -1;
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Malformed table cursor: " + cursor);
+        }
+        String id = cursor.substring(0, separator);
+        Table entry;
+        long now = System.nanoTime();
+        synchronized (tables) {
+            purgeExpired(now);
+            entry = tables.get(id);
+            if (entry == null) {
+                return null;
+            }
+            entry.touch(now, timeToLiveNanos);
+        }
+        // Read outside the lock, sources may be slow
+        List<List<TableCellModel>> fetched = entry.read(offset);
+        NodeModel node = new NodeModel("Table");
+        node.setTableData(entry.trim(fetched));
+        node.setColumnar(entry.columnar);
+        if (fetched.size() > entry.windowSize) {
+            node.setNextCursor(cursor(id, offset + entry.windowSize));
+        }
+        return node;
+    }
+
+    /**
+     * Number of tables currently retained
+     */
+    public int size() {
+        synchronized (tables) {
+            return tables.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (tables) {
+            tables.clear();
+        }
+    }
+
+    private void purgeExpired(long now) {
+        // Access order is expiry order, since every read extends the time-to-live by the same amount
+        Iterator<Table> it = tables.values().iterator();
+        while (it.hasNext() && it.next().isExpired(now)) {
+            it.remove();
+        }
+    }
+
+    private String newId() {
+        byte[] bytes = new byte[ID_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String cursor(String id, int offset) {
+        return id + "." + offset;
+    }
+
+    /**
+     * What later windows need from a table: the source and how to send its rows. The table node
+     * is not kept, so its first rows and columns can be collected while later windows are served.
+     */
+    private static final class Table {
+        final TableWindowSource rows;
+        final int windowSize;
+        final boolean columnar;
+        volatile long expiresAt;
+
+        Table(TableWindowSource rows, int windowSize, boolean columnar) {
+            this.rows = rows;
+            this.windowSize = windowSize;
+            this.columnar = columnar;
+        }
+
+        /**
+         * Read one row past the window, to tell whether another window follows without a second call
+         */
+        List<List<TableCellModel>> read(int offset) {
+            return rows.rows(offset, windowSize + 1);
+        }
+
+        List<List<TableCellModel>> trim(List<List<TableCellModel>> fetched) {
+            return fetched.size() > windowSize ? new ArrayList<>(fetched.subList(0, windowSize)) : fetched;
+        }
+
+        void touch(long now, long timeToLiveNanos) {
+            expiresAt = now + timeToLiveNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
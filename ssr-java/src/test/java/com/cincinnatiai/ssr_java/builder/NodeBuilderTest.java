@@ -0,0 +1,49 @@
+package com.cincinnatiai.ssr_java.builder;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.examples.AdvancedTableExample;
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * NodeBuilder.from copies any node, however it was built or decoded.
+ */
+public class NodeBuilderTest {
+
+    private static NodeModel edit(NodeModel screen) {
+        NodeModel content = NodeBuilder.from(screen.getContent())
+                .addChild(SSR.text("Added").build())
+                .build();
+        return NodeBuilder.from(screen).content(content).backgroundColor("#FFFFFF").build();
+    }
+
+    @Test
+    public void editingALazyTreeKeepsItsDeferredParts() {
+        String json = SSR.toJsonCompact(CardLayoutExample.createCardLayout());
+
+        NodeModel lazy = edit(SSR.fromJsonLazy(json));
+        NodeModel eager = edit(SSR.fromJson(json));
+
+        String expected = SSR.toJsonCompact(eager);
+        assertEquals(expected, SSR.toJsonCompact(lazy));
+        assertEquals(expected, SSR.toJsonCompact(SSR.fromJson(SSR.toJsonCompact(lazy))));
+    }
+
+    @Test
+    public void thawingALazyNodeKeepsItsDeferredParts() {
+        String screen = SSR.toJsonCompact(AdvancedTableExample.createAdvancedTable());
+        String table = SSR.toJsonCompact(SSR.table()
+                .addColumn(SSR.column("Name"))
+                .addRow(SSR.cell("Ada").build())
+                .addRow(SSR.cell("Grace").build())
+                .build());
+
+        for (String json : new String[] {screen, table}) {
+            assertEquals(json, SSR.toJsonCompact(SSR.fromJsonLazy(json).thaw()));
+            assertEquals(json, SSR.toJsonCompact(SSR.fromJsonLazy(json).freeze().thaw()));
+        }
+    }
+}
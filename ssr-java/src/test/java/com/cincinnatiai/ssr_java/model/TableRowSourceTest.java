@@ -0,0 +1,103 @@
+package com.cincinnatiai.ssr_java.model;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.builder.NodeBuilder;
+import com.cincinnatiai.ssr_java.util.ScreenMetrics;
+import com.cincinnatiai.ssr_java.util.ScreenStats;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Streamed tables must be written exactly once per walk of their source, whatever else touches the tree.
+ */
+public class TableRowSourceTest {
+
+    private static List<List<TableCellModel>> rows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> List.of(SSR.cell("row " + i).build()))
+                .collect(Collectors.toList());
+    }
+
+    private static NodeBuilder table() {
+        return SSR.table().addColumn(SSR.column("Name"));
+    }
+
+    @Test
+    public void freezingAStreamedTableIsRejectedBeforeAnythingIsConsumed() {
+        NodeBuilder table = table().tableRows(rows(3).stream());
+        NodeModel screen = SSR.scaffold().content(SSR.column().addChild(table)).build();
+
+        assertThrows(IllegalStateException.class, table::buildFrozen);
+        assertThrows(IllegalStateException.class, screen::freeze);
+
+        assertFalse(screen.isFrozen());
+        assertFalse(screen.getContent().isFrozen());
+        String expected = SSR.toJsonCompact(SSR.scaffold().content(SSR.column().addChild(table().tableData(rows(3)))).build());
+        assertEquals(expected, SSR.toJsonCompact(screen));
+    }
+
+    @Test
+    public void frozenCallbackTableIsWrittenFromItsFragment() {
+        AtomicInteger walks = new AtomicInteger();
+        NodeModel table = table().tableRows(sink -> {
+            walks.incrementAndGet();
+            rows(3).forEach(sink);
+        }).buildFrozen();
+
+        String first = SSR.toJsonCompact(table);
+        assertEquals(first, SSR.toJsonCompact(table));
+        assertEquals(1, walks.get());
+        assertTrue(first.contains("row 2"));
+    }
+
+    @Test
+    public void hashingAStreamedTableIsRejectedBeforeAnythingIsConsumed() {
+        NodeModel table = table().tableRows(rows(3).iterator()).build();
+
+        assertThrows(IllegalStateException.class, () -> SSR.etag(table));
+
+        assertEquals(SSR.toJsonCompact(table().tableData(rows(3)).build()), SSR.toJsonCompact(table));
+    }
+
+    @Test
+    public void callbackTableHashesLikeItsTableData() {
+        NodeModel streamed = table().tableRows(sink -> rows(3).forEach(sink)).build();
+
+        assertEquals(SSR.digest(table().tableData(rows(3)).build()), SSR.digest(streamed));
+        assertEquals(SSR.etag(streamed), SSR.etag(streamed));
+    }
+
+    @Test
+    public void metricsCountStreamedCells() {
+        List<ScreenStats> recorded = new ArrayList<>();
+        SSR.setMetrics(recorded::add);
+        try {
+            SSR.toJsonCompact(table().tableRows(rows(4).stream()).build());
+            SSR.toJsonCompact(table().tableData(rows(2)).build());
+        } finally {
+            SSR.setMetrics(ScreenMetrics.NO_OP);
+        }
+
+        assertEquals(2, recorded.size());
+        assertEquals(4, recorded.get(0).getTableCells());
+        assertEquals(2, recorded.get(1).getTableCells());
+    }
+
+    @Test
+    public void iteratorAndStreamSourcesAreOneShot() {
+        assertFalse(TableRowSource.of(rows(1).iterator()).isReplayable());
+        assertFalse(TableRowSource.of(Stream.of(List.<TableCellModel>of())).isReplayable());
+        assertTrue(((TableRowSource) sink -> { }).isReplayable());
+    }
+}
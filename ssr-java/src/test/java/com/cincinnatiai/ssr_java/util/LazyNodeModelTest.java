@@ -0,0 +1,29 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lazily decoded nodes must behave like eagerly decoded ones wherever the tree ends up.
+ */
+public class LazyNodeModelTest {
+
+    private static String cardLayout() {
+        return SSR.toJsonCompact(CardLayoutExample.createCardLayout());
+    }
+
+    @Test
+    public void freezingAParentDecodesLazyDescendantsFirst() {
+        NodeModel lazy = SSR.fromJsonLazy(cardLayout());
+        NodeModel screen = SSR.column().addChild(lazy).build().freeze();
+
+        assertTrue(lazy.getContent().isFrozen());
+        assertEquals(SSR.toJsonCompact(SSR.column().addChild(SSR.fromJson(cardLayout())).build()),
+                SSR.toJsonCompact(screen));
+    }
+}
@@ -0,0 +1,47 @@
+package com.cincinnatiai.ssr_java.util;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * SSR.fromJson must load everything the Gson reader it replaced loaded.
+ */
+public class NodeJsonDecoderTest {
+
+    private static void assertDecodesLikeGson(String json) {
+        NodeModel expected = new Gson().fromJson(json, NodeModel.class);
+        assertEquals(SSR.toJsonCompact(expected), SSR.toJsonCompact(SSR.fromJson(json)));
+        assertEquals(SSR.toJsonCompact(expected), SSR.toJsonCompact(SSR.fromJsonLazy(json)));
+    }
+
+    @Test
+    public void quotedNumbersAreCoerced() {
+        assertEquals(Float.valueOf(4f), SSR.fromJson("{\"type\":\"Text\",\"elevation\":\"4\"}").getElevation());
+        assertDecodesLikeGson("{\"type\":\"Image\",\"imageHeight\":\"12.5\",\"modifier\":{\"padding\":\"8\",\"height\":\"4.0\"}}");
+    }
+
+    @Test
+    public void quotedBooleansAreCoerced() {
+        assertEquals(Boolean.TRUE, SSR.fromJson("{\"showBorders\":\"true\"}").getShowBorders());
+        assertDecodesLikeGson("{\"type\":\"Table\",\"showBorders\":\"TRUE\",\"useLazyColumn\":\"no\"}");
+    }
+
+    @Test
+    public void bareNumbersAndBooleansAreReadAsStrings() {
+        assertEquals("123", SSR.fromJson("{\"type\":123}").getType());
+        assertDecodesLikeGson("{\"type\":\"Text\",\"title\":4.50,\"label\":true,\"action\":-1}");
+    }
+
+    @Test
+    public void valuesGsonRejectsAreStillRejected() {
+        assertThrows(JsonSyntaxException.class, () -> SSR.fromJson("{\"showBorders\":1}"));
+        assertThrows(JsonSyntaxException.class, () -> SSR.fromJson("{\"modifier\":{\"padding\":\"1.5\"}}"));
+        assertThrows(JsonSyntaxException.class, () -> SSR.fromJson("{\"elevation\":\"high\"}"));
+    }
+}
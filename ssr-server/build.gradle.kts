@@ -0,0 +1,21 @@
+plugins {
+    id("java-library")
+}
+
+java {
+    // Java 11 bytecode; handlers run on virtual threads when the server is started on Java 21+
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    api(project(":ssr-java"))
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the load-test harness against an embedded server on localhost"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.cincinnatiai.ssr_server.examples.LoadTest")
+    findProperty("loadTest.args")?.let { args((it as String).split(" ")) }
+}
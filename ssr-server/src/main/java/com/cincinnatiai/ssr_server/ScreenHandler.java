@@ -0,0 +1,168 @@
+package com.cincinnatiai.ssr_server;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.model.NodeDigest;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.NodeHasher;
+import com.cincinnatiai.ssr_java.util.ShortKeys;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Answers GET and HEAD requests for registered routes: looks up the provider, checks the
+ * screen's digest against If-None-Match unless it streams table rows, and streams the screen as JSON, gzipped when the client
+ * accepts it and in the minified schema when the client sends a supported X-SSR-Schema version.
+ */
+class ScreenHandler implements HttpHandler {
+    private static final System.Logger LOG = System.getLogger(ScreenServer.class.getName());
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final Map<String, ScreenProvider> routes;
+    private final boolean etags;
+
+    ScreenHandler(Map<String, ScreenProvider> routes, boolean etags) {
+        this.routes = routes;
+        this.etags = etags;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            ScreenProvider provider = routes.get(exchange.getRequestURI().getPath());
+            if (provider == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            NodeModel screen;
+            try {
+                screen = provider.screen(new ScreenRequest(exchange));
+            } catch (ScreenStatusException e) {
+                exchange.sendResponseHeaders(e.getStatus(), -1);
+                return;
+            } catch (Exception e) {
+                LOG.log(System.Logger.Level.ERROR, "Screen provider failed for " + exchange.getRequestURI(), e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            if (screen == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            send(exchange, screen, head);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void send(HttpExchange exchange, NodeModel screen, boolean head) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Vary", "Accept-Encoding, " + ShortKeys.HEADER);
+        boolean minified = acceptsMinified(exchange.getRequestHeaders().getFirst(ShortKeys.HEADER));
+        if (minified) {
+            headers.set(ShortKeys.HEADER, String.valueOf(ShortKeys.VERSION));
+        }
+        // Hashing would read streamed rows before they are written, so those screens go untagged
+        if (etags && !NodeHasher.streamsRows(screen)) {
+            NodeDigest digest = SSR.digest(screen);
+            String variant = etagVariant(minified);
+            // Weak, so the identity and gzip forms of a screen share the tag
+            headers.set("ETag", "W/" + digest.toETag(variant));
+            if (digest.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), variant)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        boolean gzip = acceptsGzip(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        if (gzip) {
+            headers.set("Content-Encoding", "gzip");
+        }
+        if (head) {
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        // Length 0 means chunked: the screen is streamed as it is encoded
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(body, GZIP_BUFFER_SIZE);
+            write(screen, compressed, minified);
+            compressed.finish();
+        } else {
+            write(screen, body, minified);
+        }
+    }
+
+    private static void write(NodeModel screen, OutputStream out, boolean minified) throws IOException {
+        if (minified) {
+            SSR.writeJsonMinified(screen, out);
+        } else {
+            SSR.writeJson(screen, out);
+        }
+    }
+
+    /**
+     * ETag suffix of the body's schema: none for regular JSON, "-m" and the version for minified
+     * JSON, so a client switching schemas never revalidates against the other body
+     */
+    static String etagVariant(boolean minified) {
+        return minified ? "-m" + ShortKeys.VERSION : "";
+    }
+
+    /**
+     * True when the client decodes minified schema version 1 or later. Version 1 is all the
+     * server writes, so any newer client also reads it.
+     */
+    static boolean acceptsMinified(String schema) {
+        if (schema == null) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(schema.trim()) >= ShortKeys.VERSION;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * True when Accept-Encoding lists gzip (or *) without q=0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            return !refused;
+        }
+        return false;
+    }
+}
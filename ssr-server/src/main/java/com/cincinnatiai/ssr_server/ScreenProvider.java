@@ -0,0 +1,16 @@
+package com.cincinnatiai.ssr_server;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+
+/**
+ * Builds the screen for a route
+ */
+@FunctionalInterface
+public interface ScreenProvider {
+
+    /**
+     * The screen for a request, or null to answer 404. Throw {@link ScreenStatusException} to
+     * answer with another status; any other exception answers 500.
+     */
+    NodeModel screen(ScreenRequest request) throws Exception;
+}
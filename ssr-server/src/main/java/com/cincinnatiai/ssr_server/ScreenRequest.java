@@ -0,0 +1,79 @@
+package com.cincinnatiai.ssr_server;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of an HTTP request a {@link ScreenProvider} needs
+ */
+public final class ScreenRequest {
+    private final HttpExchange exchange;
+    private Map<String, List<String>> query;
+
+    ScreenRequest(HttpExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    public String getMethod() {
+        return exchange.getRequestMethod();
+    }
+
+    public String getPath() {
+        return exchange.getRequestURI().getPath();
+    }
+
+    /**
+     * First value of a request header, or null
+     */
+    public String getHeader(String name) {
+        return exchange.getRequestHeaders().getFirst(name);
+    }
+
+    /**
+     * First value of a decoded query parameter, or null. A malformed query string answers the
+     * request with 400.
+     */
+    public String getQueryParameter(String name) {
+        List<String> values = getQueryParameters().get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    public Map<String, List<String>> getQueryParameters() {
+        if (query == null) {
+            query = parseQuery(exchange.getRequestURI().getRawQuery());
+        }
+        return query;
+    }
+
+    private static Map<String, List<String>> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> params = new LinkedHashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = decode(eq < 0 ? pair : pair.substring(0, eq));
+            String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+            params.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ScreenStatusException(400, "Malformed query string: " + value);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.cincinnatiai.ssr_server;
+
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.TableWindowRegistry;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP server for screens, built on the JDK's com.sun.net.httpserver.
+ * Routes map exact request paths to {@link ScreenProvider}s.
+ *
+ * <pre>
+ * ScreenServer server = ScreenServer.builder()
+ *     .port(8080)
+ *     .route("/home", request -&gt; HomeScreen.build(request.getQueryParameter("user")))
+ *     .build()
+ *     .start();
+ * </pre>
+ *
+ * Handlers run on virtual threads when the JVM has them (Java 21+), so slow clients only park a
+ * virtual thread while their response is written. On older JVMs they run on a fixed pool of
+ * platform threads.
+ */
+public class ScreenServer {
+    public static final int DEFAULT_PLATFORM_THREADS = 256;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    private ScreenServer(HttpServer server, ExecutorService executor, boolean virtualThreads) {
+        this.server = server;
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ScreenServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stop accepting requests, wait up to delaySeconds for exchanges in progress, then shut the
+     * handler threads down
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * The bound address, with the actual port when the server was built with port 0
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * True when handlers run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() on Java 21+, looked up reflectively so the
+     * module still compiles and runs on Java 11
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // Not available, or still a preview feature on this JVM
+            return null;
+        }
+    }
+
+    static ExecutorService newPlatformThreadExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "ssr-server-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    public static class Builder {
+        private InetSocketAddress address = new InetSocketAddress(8080);
+        private int backlog;
+        private boolean etags = true;
+        private ExecutorService executor;
+        private int platformThreads = DEFAULT_PLATFORM_THREADS;
+        private final Map<String, ScreenProvider> routes = new LinkedHashMap<>();
+
+        public Builder port(int port) {
+            this.address = new InetSocketAddress(port);
+            return this;
+        }
+
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * Maximum queued incoming connections; 0 uses the system default
+         */
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        public Builder route(String path, ScreenProvider provider) {
+            if (!path.startsWith("/")) {
+                throw new IllegalArgumentException("Route paths must start with '/': " + path);
+            }
+            routes.put(path, provider);
+            return this;
+        }
+
+        /**
+         * Serve later windows of windowed tables at path?cursor=..., answering 410 once a table
+         * has expired from the registry
+         */
+        public Builder tableWindows(String path, TableWindowRegistry windows) {
+            return route(path, request -> {
+                String cursor = request.getQueryParameter("cursor");
+                if (cursor == null) {
+                    throw new ScreenStatusException(400, "Missing cursor");
+                }
+                NodeModel window;
+                try {
+                    window = windows.nextWindow(cursor);
+                } catch (IllegalArgumentException e) {
+                    throw new ScreenStatusException(400, e.getMessage());
+                }
+                if (window == null) {
+                    throw new ScreenStatusException(410, "Table window expired");
+                }
+                return window;
+            });
+        }
+
+        /**
+         * Send weak ETags from the screen digest and answer If-None-Match with 304 (default on).
+         * Screens with a TableRowSource outside a frozen subtree are sent without an ETag, since
+         * hashing would read their rows before they are written.
+         */
+        public Builder etags(boolean etags) {
+            this.etags = etags;
+            return this;
+        }
+
+        /**
+         * Run handlers on this executor instead of virtual threads. The server shuts it down on stop.
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Size of the platform thread pool used when virtual threads are not available
+         */
+        public Builder platformThreads(int platformThreads) {
+            if (platformThreads <= 0) {
+                throw new IllegalArgumentException("platformThreads must be positive");
+            }
+            this.platformThreads = platformThreads;
+            return this;
+        }
+
+        public ScreenServer build() throws IOException {
+            ExecutorService handlers = executor;
+            boolean virtualThreads = false;
+            if (handlers == null) {
+                handlers = newVirtualThreadExecutor();
+                virtualThreads = handlers != null;
+                if (handlers == null) {
+                    handlers = newPlatformThreadExecutor(platformThreads);
+                }
+            }
+            HttpServer server = HttpServer.create(address, backlog);
+            server.createContext("/", new ScreenHandler(new LinkedHashMap<>(routes), etags));
+            server.setExecutor(handlers);
+            return new ScreenServer(server, handlers, virtualThreads);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cincinnatiai.ssr_server;
+
+/**
+ * Thrown by a {@link ScreenProvider} to answer with an HTTP error status instead of a screen
+ */
+public class ScreenStatusException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ScreenStatusException(int status, String message) {
+        super(message);
+        if (status < 400 || status > 599) {
+            throw new IllegalArgumentException("status must be an HTTP error status: " + status);
+        }
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,173 @@
+package com.cincinnatiai.ssr_server.examples;
+
+import com.cincinnatiai.ssr_java.SSR;
+import com.cincinnatiai.ssr_java.builder.NodeBuilder;
+import com.cincinnatiai.ssr_java.examples.AdvancedTableExample;
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample;
+import com.cincinnatiai.ssr_java.model.NodeModel;
+import com.cincinnatiai.ssr_java.util.FragmentCache;
+import com.cincinnatiai.ssr_server.ScreenServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test harness: starts a ScreenServer on a free localhost port and drives it with concurrent
+ * clients, optionally while slow clients hold large responses open without reading them.
+ *
+ * <pre>
+ * LoadTest [--requests 20000] [--concurrency 64] [--slow 0] [--route /cards]
+ * </pre>
+ *
+ * Every third request revalidates with the last ETag seen and every other one accepts gzip.
+ * Slow clients request a multi-megabyte screen and never read it, which keeps one handler busy
+ * writing each; with platform threads they use up the pool, with virtual threads they don't.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int slowClients = Integer.parseInt(options.getOrDefault("slow", "0"));
+        String route = options.getOrDefault("route", "/cards");
+
+        NodeModel large = FragmentCache.freeze(largeScreen());
+        ScreenServer server = ScreenServer.builder()
+                .port(0)
+                .route("/cards", request -> CardLayoutExample.createCardLayout())
+                .route("/table", request -> AdvancedTableExample.createAdvancedTable())
+                .route("/large", request -> large)
+                .build()
+                .start();
+        int port = server.getAddress().getPort();
+        System.out.printf("Server on port %d, %s handler threads%n", port,
+                server.isVirtualThreads() ? "virtual" : "platform");
+
+        List<Socket> slow = openSlowClients(port, slowClients);
+        try {
+            run(URI.create("http://localhost:" + port + route), requests, concurrency);
+        } finally {
+            for (Socket socket : slow) {
+                socket.close();
+            }
+            server.stop(0);
+        }
+    }
+
+    private static void run(URI uri, int requests, int concurrency) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+        String[] lastETag = new String[1];
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < concurrency; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+                        if (i % 2 == 0) {
+                            request.header("Accept-Encoding", "gzip");
+                        }
+                        String etag = lastETag[0];
+                        if (i % 3 == 0 && etag != null) {
+                            request.header("If-None-Match", etag);
+                        }
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                            latencies[i] = System.nanoTime() - sent;
+                            bytes.addAndGet(response.body().length);
+                            statuses.computeIfAbsent(response.statusCode(), k -> new AtomicInteger()).incrementAndGet();
+                            response.headers().firstValue("ETag").ifPresent(tag -> lastETag[0] = tag);
+                        } catch (IOException e) {
+                            latencies[i] = System.nanoTime() - sent;
+                            errors.computeIfAbsent(e.getClass().getSimpleName() + ": " + e.getMessage(), k -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%d requests, %d clients, %.2f s: %.0f req/s, %.1f MB received%n",
+                requests, concurrency, seconds, requests / seconds, bytes.get() / 1e6);
+        System.out.printf("latency ms  p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        System.out.println("status " + new TreeMap<>(statuses) + (errors.isEmpty() ? "" : " errors " + errors));
+    }
+
+    /**
+     * Connections that request the large screen and never read the response
+     */
+    private static List<Socket> openSlowClients(int port, int count) throws IOException {
+        List<Socket> sockets = new ArrayList<>();
+        byte[] request = ("GET /large HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < count; i++) {
+            Socket socket = new Socket("localhost", port);
+            socket.setReceiveBufferSize(4096);
+            OutputStream out = socket.getOutputStream();
+            out.write(request);
+            out.flush();
+            sockets.add(socket);
+        }
+        if (count > 0) {
+            System.out.printf("%d slow clients holding /large open%n", count);
+        }
+        return sockets;
+    }
+
+    private static NodeModel largeScreen() {
+        NodeBuilder column = SSR.column();
+        for (int i = 0; i < 20_000; i++) {
+            column.addChild(SSR.card()
+                    .title("Card " + i)
+                    .description("A card that makes the response several megabytes long")
+                    .modifier(SSR.modifier().fillMaxWidth().padding(16)));
+        }
+        return SSR.scaffold().content(column).build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but was " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -3,18 +3,55 @@ package com.cincinnatiai.ssr_simple
 import android.annotation.SuppressLint
 import android.util.Log
 import androidx.compose.runtime.Composable
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.patch.NodePatcher
+import com.cincinnatiai.ssr_simple.provider.BinaryDeserializerProvider
 import com.cincinnatiai.ssr_simple.provider.DefaultDeserializerProvider
 import com.cincinnatiai.ssr_simple.provider.DeserializerProvider
+import com.cincinnatiai.ssr_simple.provider.TableWindowProvider
 import com.cincinnatiai.ssr_simple.ui.RenderNode
 
 object SSRSimpleLibrary {
 
     var deserializerProvider: DeserializerProvider = DefaultDeserializerProvider()
 
-    @SuppressLint("LogNotTimber")
+    var nodePatcher: NodePatcher = NodePatcher()
+
+    /**
+     * Fetches later windows of tables sent with a nextCursor. Without one, only the first window is shown.
+     */
+    var tableWindowProvider: TableWindowProvider? = null
+
     @Composable
     fun ShowScreen(json: String, navigate: (String) -> Unit) {
-        val root = deserializerProvider.deserializeToNodeModel(json)
+        ShowNode(deserializerProvider.deserializeToNodeModel(json), navigate)
+    }
+
+    /**
+     * Render a raw response body, e.g. a binary screen decoded by [BinaryDeserializerProvider]
+     */
+    @Composable
+    fun ShowScreen(bytes: ByteArray, navigate: (String) -> Unit) {
+        ShowNode(deserializerProvider.deserializeToNodeModel(bytes), navigate)
+    }
+
+    /**
+     * Render a screen the caller already holds, e.g. one kept in state and updated with [applyPatch]
+     */
+    @Composable
+    fun ShowScreen(screen: NodeModel, navigate: (String) -> Unit) {
+        ShowNode(screen, navigate)
+    }
+
+    /**
+     * Apply a patch from ssr-java's NodeModelDiff. Unchanged subtrees keep their instances.
+     */
+    fun applyPatch(screen: NodeModel, patchJson: String): NodeModel =
+        nodePatcher.apply(screen, patchJson)
+
+    @SuppressLint("LogNotTimber")
+    @Composable
+    private fun ShowNode(root: NodeModel, navigate: (String) -> Unit) {
         RenderNode(root) { action ->
             when {
                 action.startsWith("navigate:") -> navigate(action.removePrefix("navigate:"))
@@ -0,0 +1,8 @@
+package com.cincinnatiai.ssr_simple.model
+
+data class CellStyleModel(
+    val textStyle: TextStyleModel? = null,
+    val backgroundColor: String? = null,
+    val modifier: ModifierModel? = null,
+    val showBorder: Boolean? = null
+)
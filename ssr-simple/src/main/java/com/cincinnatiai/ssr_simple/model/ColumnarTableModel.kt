@@ -0,0 +1,35 @@
+package com.cincinnatiai.ssr_simple.model
+
+/**
+ * Table rows sent column-major: one text list per column, optional per-column action lists, and
+ * per-cell indexes into the table's [styles]. A style index list with a single entry applies to
+ * the whole column. Cells are assembled on demand, so only the rows being drawn are materialized.
+ */
+data class ColumnarTableModel(
+    val rowCount: Int,
+    val text: List<List<String?>>,
+    val actions: List<List<String?>?>? = null,
+    val styles: List<CellStyleModel>? = null,
+    val styleIndex: List<List<Int>>? = null
+) {
+    val columnCount: Int get() = text.size
+
+    fun cell(row: Int, column: Int): TableCellModel {
+        val index = styleIndex?.getOrNull(column)
+        val style = when {
+            index.isNullOrEmpty() -> null
+            index.size == 1 -> styles?.getOrNull(index[0])
+            else -> styles?.getOrNull(index[row])
+        }
+        return TableCellModel(
+            text = text[column][row] ?: "",
+            textStyle = style?.textStyle,
+            backgroundColor = style?.backgroundColor,
+            action = actions?.getOrNull(column)?.get(row),
+            modifier = style?.modifier,
+            showBorder = style?.showBorder
+        )
+    }
+
+    fun row(index: Int): List<TableCellModel> = List(columnCount) { column -> cell(index, column) }
+}
@@ -23,9 +23,11 @@ data class NodeModel(
     // Table-specific properties
     val columns: List<TableColumnModel>? = null,
     val tableData: List<List<TableCellModel>>? = null,
+    val columnarData: ColumnarTableModel? = null, // Column-major alternative to tableData, used when present
     val showBorders: Boolean? = null,
     val headerBackgroundColor: String? = null,
     val rowAction: String? = null, // Action when entire row is clicked
     val roundedCorners: Float? = null, // Rounded corner radius in dp for tables
-    val useLazyColumn: Boolean? = null // Use LazyColumn for table rows (default: true). Set to false when table is in a scrollable parent
+    val useLazyColumn: Boolean? = null, // Use LazyColumn for table rows (default: true). Set to false when table is in a scrollable parent
+    val nextCursor: String? = null // Cursor for the table's next window of rows, fetched through SSRSimpleLibrary.tableWindowProvider
 )
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.cincinnatiai.ssr_simple.model
+
+/**
+ * What the renderers use when a field is missing. ssr-java's minimal output leaves out fields
+ * equal to these (ClientDefaults there), so change both sides together. Defaults that come from
+ * the MaterialTheme, like fontSize, colors and the VideoItem shape, are not listed.
+ */
+object RenderDefaults {
+    /** RenderCard and RenderVideoItem, in dp */
+    const val CARD_ELEVATION = 4f
+
+    /** RenderButton */
+    const val BUTTON_VARIANT = "filled"
+
+    /** RenderTable */
+    const val TABLE_SHOW_BORDERS = false
+    const val TABLE_USE_LAZY_COLUMN = true
+    const val TABLE_ROUNDED_CORNERS = 0f
+
+    /** buildModifier; each padding side falls back to [PADDING] */
+    const val PADDING = 0
+    const val FILL_MAX_SIZE = false
+    const val FILL_MAX_WIDTH = false
+
+    /** RenderColumn */
+    const val COLUMN_HORIZONTAL_ALIGNMENT = "start"
+    const val COLUMN_VERTICAL_SCROLL = false
+
+    /** RenderRow */
+    const val ROW_VERTICAL_ALIGNMENT = "top"
+
+    /** RenderBox */
+    const val BOX_CONTENT_ALIGNMENT = "topStart"
+
+    /** buildTextStyle */
+    const val FONT_WEIGHT = "normal"
+    const val TEXT_ALIGN = "start"
+
+    /** TableHeaderCell and TableDataCell */
+    const val TABLE_COLUMN_WEIGHT = 1f
+    const val TABLE_COLUMN_ALIGNMENT = "start"
+}
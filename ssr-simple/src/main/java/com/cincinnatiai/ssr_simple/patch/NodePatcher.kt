@@ -0,0 +1,155 @@
+package com.cincinnatiai.ssr_simple.patch
+
+import com.cincinnatiai.ssr_simple.model.ModifierModel
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.model.TableCellModel
+import com.cincinnatiai.ssr_simple.model.TableColumnModel
+import com.cincinnatiai.ssr_simple.model.TextStyleModel
+import com.google.gson.Gson
+import com.google.gson.JsonArray
+import com.google.gson.JsonElement
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import com.google.gson.reflect.TypeToken
+import java.lang.reflect.Type
+
+/**
+ * Applies patches produced by ssr-java's NodeModelDiff to a screen.
+ * Only the nodes and lists along each operation's path are copied. Every other subtree keeps
+ * its instance, so Compose skips the parts of the screen that did not change.
+ */
+class NodePatcher(
+    private val gson: Gson = Gson()
+) {
+
+    fun apply(root: NodeModel, patchJson: String): NodeModel {
+        val ops = JsonParser.parseString(patchJson).asJsonObject.getAsJsonArray("ops")
+        var result = root
+        for (element in ops) {
+            result = apply(result, Operation(element.asJsonObject))
+        }
+        return result
+    }
+
+    private fun apply(root: NodeModel, op: Operation): NodeModel {
+        if (op.path.size() == 0) {
+            require(op.kind == REPLACE) { "Only replace can target the root" }
+            return decode<NodeModel>(op.value, NodeModel::class.java)
+                ?: throw IllegalArgumentException("Patch replaces the root with null")
+        }
+        return patchNode(root, op, 0)
+    }
+
+    private fun patchNode(node: NodeModel, op: Operation, depth: Int): NodeModel {
+        val name = op.path[depth].asString
+        if (depth == op.path.size() - 1) {
+            require(op.kind == REPLACE) { "Field operations must be replace: ${op.path}" }
+            return setField(node, name, op.value)
+        }
+        val next = depth + 1
+        return when (name) {
+            "topBar" -> node.copy(topBar = patchNode(node.topBar ?: invalid(op), op, next))
+            "floatingActionButton" -> node.copy(
+                floatingActionButton = patchNode(node.floatingActionButton ?: invalid(op), op, next)
+            )
+            "content" -> node.copy(content = patchNode(node.content ?: invalid(op), op, next))
+            "children" -> node.copy(
+                children = patchList(node.children ?: invalid(op), op, next, NodeModel::class.java) { child, d ->
+                    patchNode(child, op, d)
+                }
+            )
+            "columns" -> node.copy(
+                columns = patchList(node.columns ?: invalid(op), op, next, TableColumnModel::class.java) { _, _ ->
+                    invalid(op)
+                }
+            )
+            "tableData" -> node.copy(
+                tableData = patchList(node.tableData ?: invalid(op), op, next, ROW_TYPE) { row, d ->
+                    patchList(row, op, d, TableCellModel::class.java) { _, _ -> invalid(op) }
+                }
+            )
+            else -> invalid(op)
+        }
+    }
+
+    private fun <T> patchList(
+        list: List<T>,
+        op: Operation,
+        depth: Int,
+        type: Type,
+        patchElement: (T, Int) -> T
+    ): List<T> {
+        val index = op.path[depth].asInt
+        val result = list.toMutableList()
+        if (depth < op.path.size() - 1) {
+            result[index] = patchElement(list[index], depth + 1)
+            return result
+        }
+        when (op.kind) {
+            REPLACE -> result[index] = decodeElement(op, type)
+            INSERT -> result.add(index, decodeElement(op, type))
+            REMOVE -> result.removeAt(index)
+            MOVE -> result.add(index, result.removeAt(op.from))
+            else -> throw IllegalArgumentException("Unknown patch operation: ${op.kind}")
+        }
+        return result
+    }
+
+    private fun setField(node: NodeModel, name: String, value: JsonElement?): NodeModel = when (name) {
+        "type" -> node.copy(type = value?.asString ?: throw IllegalArgumentException("Node type can't be cleared"))
+        "title" -> node.copy(title = value?.asString)
+        "description" -> node.copy(description = value?.asString)
+        "label" -> node.copy(label = value?.asString)
+        "backgroundColor" -> node.copy(backgroundColor = value?.asString)
+        "elevation" -> node.copy(elevation = value?.asFloat)
+        "imageUrl" -> node.copy(imageUrl = value?.asString)
+        "imageHeight" -> node.copy(imageHeight = value?.asFloat)
+        "imageWidth" -> node.copy(imageWidth = value?.asFloat)
+        "contentDescription" -> node.copy(contentDescription = value?.asString)
+        "action" -> node.copy(action = value?.asString)
+        "modifier" -> node.copy(modifier = decode<ModifierModel>(value, ModifierModel::class.java))
+        "textStyle" -> node.copy(textStyle = decode<TextStyleModel>(value, TextStyleModel::class.java))
+        "topBar" -> node.copy(topBar = decode<NodeModel>(value, NodeModel::class.java))
+        "floatingActionButton" -> node.copy(floatingActionButton = decode<NodeModel>(value, NodeModel::class.java))
+        "content" -> node.copy(content = decode<NodeModel>(value, NodeModel::class.java))
+        "children" -> node.copy(children = decode<List<NodeModel>>(value, CHILDREN_TYPE))
+        "buttonVariant" -> node.copy(buttonVariant = value?.asString)
+        "columns" -> node.copy(columns = decode<List<TableColumnModel>>(value, COLUMNS_TYPE))
+        "tableData" -> node.copy(tableData = decode<List<List<TableCellModel>>>(value, TABLE_DATA_TYPE))
+        "showBorders" -> node.copy(showBorders = value?.asBoolean)
+        "headerBackgroundColor" -> node.copy(headerBackgroundColor = value?.asString)
+        "rowAction" -> node.copy(rowAction = value?.asString)
+        "roundedCorners" -> node.copy(roundedCorners = value?.asFloat)
+        "useLazyColumn" -> node.copy(useLazyColumn = value?.asBoolean)
+        "nextCursor" -> node.copy(nextCursor = value?.asString)
+        else -> throw IllegalArgumentException("Unknown NodeModel field: $name")
+    }
+
+    private fun <T> decode(value: JsonElement?, type: Type): T? =
+        if (value == null) null else gson.fromJson<T>(value, type)
+
+    private fun <T> decodeElement(op: Operation, type: Type): T =
+        decode<T>(op.value, type) ?: throw IllegalArgumentException("List elements can't be null: ${op.path}")
+
+    private fun invalid(op: Operation): Nothing =
+        throw IllegalArgumentException("Patch path does not exist in this screen: ${op.path}")
+
+    private class Operation(json: JsonObject) {
+        val kind: String = json.get("op").asString
+        val path: JsonArray = json.getAsJsonArray("path")
+        val from: Int = json.get("from")?.asInt ?: -1
+        val value: JsonElement? = json.get("value")?.takeUnless { it.isJsonNull }
+    }
+
+    companion object {
+        private const val REPLACE = "replace"
+        private const val INSERT = "insert"
+        private const val REMOVE = "remove"
+        private const val MOVE = "move"
+
+        private val CHILDREN_TYPE: Type = object : TypeToken<List<NodeModel>>() {}.type
+        private val COLUMNS_TYPE: Type = object : TypeToken<List<TableColumnModel>>() {}.type
+        private val ROW_TYPE: Type = object : TypeToken<List<TableCellModel>>() {}.type
+        private val TABLE_DATA_TYPE: Type = object : TypeToken<List<List<TableCellModel>>>() {}.type
+    }
+}
@@ -0,0 +1,403 @@
+package com.cincinnatiai.ssr_simple.provider
+
+import com.cincinnatiai.ssr_simple.model.ModifierModel
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.model.TableCellModel
+import com.cincinnatiai.ssr_simple.model.TableColumnModel
+import com.cincinnatiai.ssr_simple.model.TextStyleModel
+
+/**
+ * Decodes the SSR binary wire format produced by ssr-java's BinaryNodeEncoder.
+ * Bodies that don't start with the binary magic number, and plain JSON strings, go to [fallback].
+ */
+class BinaryDeserializerProvider(
+    private val fallback: DeserializerProvider = DefaultDeserializerProvider()
+) : DeserializerProvider {
+
+    override fun deserializeToNodeModel(json: String): NodeModel =
+        fallback.deserializeToNodeModel(json)
+
+    override fun deserializeToNodeModel(bytes: ByteArray): NodeModel {
+        if (!isBinary(bytes)) {
+            return fallback.deserializeToNodeModel(bytes)
+        }
+        return Reader(bytes).read()
+            ?: throw IllegalArgumentException("SSR binary document has a null root")
+    }
+
+    private class Reader(private val input: ByteArray) {
+        private var pos = 0
+        private var strings: Array<String> = emptyArray()
+
+        fun read(): NodeModel? {
+            pos = MAGIC.size
+            val version = readByte()
+            require(version <= VERSION) { "Unsupported SSR binary version $version" }
+            strings = Array(readVarint()) {
+                val length = readVarint()
+                ensure(length)
+                String(input, pos, length, Charsets.UTF_8).also { pos += length }
+            }
+            return readNode()
+        }
+
+        private fun readNode(): NodeModel? {
+            var key = readByte()
+            if (key == NULL_OBJECT) return null
+            var type: String? = null
+            var title: String? = null
+            var description: String? = null
+            var label: String? = null
+            var backgroundColor: String? = null
+            var elevation: Float? = null
+            var imageUrl: String? = null
+            var imageHeight: Float? = null
+            var imageWidth: Float? = null
+            var contentDescription: String? = null
+            var action: String? = null
+            var modifier: ModifierModel? = null
+            var textStyle: TextStyleModel? = null
+            var topBar: NodeModel? = null
+            var floatingActionButton: NodeModel? = null
+            var content: NodeModel? = null
+            var children: List<NodeModel>? = null
+            var buttonVariant: String? = null
+            var columns: List<TableColumnModel>? = null
+            var tableData: List<List<TableCellModel>>? = null
+            var showBorders: Boolean? = null
+            var headerBackgroundColor: String? = null
+            var rowAction: String? = null
+            var roundedCorners: Float? = null
+            var useLazyColumn: Boolean? = null
+            var nextCursor: String? = null
+            while (key != END) {
+                when (key ushr 3) {
+                    1 -> type = readString(key)
+                    2 -> title = readString(key)
+                    3 -> description = readString(key)
+                    4 -> label = readString(key)
+                    5 -> backgroundColor = readString(key)
+                    6 -> elevation = readFloat(key)
+                    7 -> imageUrl = readString(key)
+                    8 -> imageHeight = readFloat(key)
+                    9 -> imageWidth = readFloat(key)
+                    10 -> contentDescription = readString(key)
+                    11 -> action = readString(key)
+                    12 -> { expect(key, OBJECT); modifier = readModifier() }
+                    13 -> { expect(key, OBJECT); textStyle = readTextStyle() }
+                    14 -> { expect(key, OBJECT); topBar = readNode() }
+                    15 -> { expect(key, OBJECT); floatingActionButton = readNode() }
+                    16 -> { expect(key, OBJECT); content = readNode() }
+                    17 -> children = readList(key, OBJECT) { readNode() }?.filterNotNull()
+                    18 -> buttonVariant = readString(key)
+                    19 -> columns = readList(key, OBJECT) { readColumn() }?.filterNotNull()
+                    20 -> tableData = readList(key, LIST) { readRow() }?.filterNotNull()
+                    21 -> showBorders = readBoolean(key)
+                    22 -> headerBackgroundColor = readString(key)
+                    23 -> rowAction = readString(key)
+                    24 -> roundedCorners = readFloat(key)
+                    25 -> useLazyColumn = readBoolean(key)
+                    26 -> nextCursor = readString(key)
+                    else -> skipValue(key and 7)
+                }
+                key = readByte()
+            }
+            return NodeModel(
+                type = type ?: "",
+                title = title,
+                description = description,
+                label = label,
+                backgroundColor = backgroundColor,
+                elevation = elevation,
+                imageUrl = imageUrl,
+                imageHeight = imageHeight,
+                imageWidth = imageWidth,
+                contentDescription = contentDescription,
+                action = action,
+                modifier = modifier,
+                textStyle = textStyle,
+                topBar = topBar,
+                floatingActionButton = floatingActionButton,
+                content = content,
+                children = children,
+                buttonVariant = buttonVariant,
+                columns = columns,
+                tableData = tableData,
+                showBorders = showBorders,
+                headerBackgroundColor = headerBackgroundColor,
+                rowAction = rowAction,
+                roundedCorners = roundedCorners,
+                useLazyColumn = useLazyColumn,
+                nextCursor = nextCursor
+            )
+        }
+
+        private fun readModifier(): ModifierModel? {
+            var key = readByte()
+            if (key == NULL_OBJECT) return null
+            var height: Int? = null
+            var width: Int? = null
+            var weight: Float? = null
+            var padding: Int? = null
+            var paddingTop: Int? = null
+            var paddingBottom: Int? = null
+            var paddingStart: Int? = null
+            var paddingEnd: Int? = null
+            var fillMaxSize: Boolean? = null
+            var fillMaxWidth: Boolean? = null
+            var backgroundColor: String? = null
+            var horizontalAlignment: String? = null
+            var verticalAlignment: String? = null
+            var contentAlignment: String? = null
+            var verticalScroll: Boolean? = null
+            while (key != END) {
+                when (key ushr 3) {
+                    1 -> height = readInt(key)
+                    2 -> width = readInt(key)
+                    3 -> weight = readFloat(key)
+                    4 -> padding = readInt(key)
+                    5 -> paddingTop = readInt(key)
+                    6 -> paddingBottom = readInt(key)
+                    7 -> paddingStart = readInt(key)
+                    8 -> paddingEnd = readInt(key)
+                    9 -> fillMaxSize = readBoolean(key)
+                    10 -> fillMaxWidth = readBoolean(key)
+                    11 -> backgroundColor = readString(key)
+                    12 -> horizontalAlignment = readString(key)
+                    13 -> verticalAlignment = readString(key)
+                    14 -> contentAlignment = readString(key)
+                    15 -> verticalScroll = readBoolean(key)
+                    else -> skipValue(key and 7)
+                }
+                key = readByte()
+            }
+            return ModifierModel(
+                height = height,
+                width = width,
+                weight = weight,
+                padding = padding,
+                paddingTop = paddingTop,
+                paddingBottom = paddingBottom,
+                paddingStart = paddingStart,
+                paddingEnd = paddingEnd,
+                fillMaxSize = fillMaxSize,
+                fillMaxWidth = fillMaxWidth,
+                backgroundColor = backgroundColor,
+                horizontalAlignment = horizontalAlignment,
+                verticalAlignment = verticalAlignment,
+                contentAlignment = contentAlignment,
+                verticalScroll = verticalScroll
+            )
+        }
+
+        private fun readTextStyle(): TextStyleModel? {
+            var key = readByte()
+            if (key == NULL_OBJECT) return null
+            var fontSize: Float? = null
+            var fontWeight: String? = null
+            var textAlign: String? = null
+            var color: String? = null
+            while (key != END) {
+                when (key ushr 3) {
+                    1 -> fontSize = readFloat(key)
+                    2 -> fontWeight = readString(key)
+                    3 -> textAlign = readString(key)
+                    4 -> color = readString(key)
+                    else -> skipValue(key and 7)
+                }
+                key = readByte()
+            }
+            return TextStyleModel(
+                fontSize = fontSize,
+                fontWeight = fontWeight,
+                textAlign = textAlign,
+                color = color
+            )
+        }
+
+        private fun readColumn(): TableColumnModel? {
+            var key = readByte()
+            if (key == NULL_OBJECT) return null
+            var header: String? = null
+            var weight: Float? = null
+            var width: Int? = null
+            var horizontalAlignment: String? = null
+            var textStyle: TextStyleModel? = null
+            var headerStyle: TextStyleModel? = null
+            while (key != END) {
+                when (key ushr 3) {
+                    1 -> header = readString(key)
+                    2 -> weight = readFloat(key)
+                    3 -> width = readInt(key)
+                    4 -> horizontalAlignment = readString(key)
+                    5 -> { expect(key, OBJECT); textStyle = readTextStyle() }
+                    6 -> { expect(key, OBJECT); headerStyle = readTextStyle() }
+                    else -> skipValue(key and 7)
+                }
+                key = readByte()
+            }
+            return TableColumnModel(
+                header = header ?: "",
+                weight = weight,
+                width = width,
+                horizontalAlignment = horizontalAlignment,
+                textStyle = textStyle,
+                headerStyle = headerStyle
+            )
+        }
+
+        private fun readRow(): List<TableCellModel>? {
+            val size = readListHeader(OBJECT)
+            if (size < 0) return null
+            return List(size) { readCell() }.filterNotNull()
+        }
+
+        private fun readCell(): TableCellModel? {
+            var key = readByte()
+            if (key == NULL_OBJECT) return null
+            var text: String? = null
+            var textStyle: TextStyleModel? = null
+            var backgroundColor: String? = null
+            var action: String? = null
+            var modifier: ModifierModel? = null
+            var showBorder: Boolean? = null
+            while (key != END) {
+                when (key ushr 3) {
+                    1 -> text = readString(key)
+                    2 -> { expect(key, OBJECT); textStyle = readTextStyle() }
+                    3 -> backgroundColor = readString(key)
+                    4 -> action = readString(key)
+                    5 -> { expect(key, OBJECT); modifier = readModifier() }
+                    6 -> showBorder = readBoolean(key)
+                    else -> skipValue(key and 7)
+                }
+                key = readByte()
+            }
+            return TableCellModel(
+                text = text ?: "",
+                textStyle = textStyle,
+                backgroundColor = backgroundColor,
+                action = action,
+                modifier = modifier,
+                showBorder = showBorder
+            )
+        }
+
+        private inline fun <T> readList(key: Int, elementWireType: Int, readElement: () -> T): List<T>? {
+            expect(key, LIST)
+            val size = readListHeader(elementWireType)
+            if (size < 0) return null
+            return List(size) { readElement() }
+        }
+
+        // Returns -1 for a null list
+        private fun readListHeader(elementWireType: Int): Int {
+            val size = readVarint() - 1
+            if (size < 0) return -1
+            val wireType = readByte()
+            if (wireType != elementWireType) throw malformed("Unexpected list element type $wireType")
+            return size
+        }
+
+        private fun readString(key: Int): String {
+            expect(key, VARINT)
+            val index = readVarint()
+            if (index >= strings.size) throw malformed("String index $index out of range")
+            return strings[index]
+        }
+
+        private fun readInt(key: Int): Int {
+            expect(key, VARINT)
+            val zigzag = readVarint()
+            return (zigzag ushr 1) xor -(zigzag and 1)
+        }
+
+        private fun readBoolean(key: Int): Boolean {
+            expect(key, VARINT)
+            return readVarint() != 0
+        }
+
+        private fun readFloat(key: Int): Float {
+            expect(key, FIXED32)
+            ensure(4)
+            val bits = (input[pos].toInt() and 0xFF shl 24) or
+                (input[pos + 1].toInt() and 0xFF shl 16) or
+                (input[pos + 2].toInt() and 0xFF shl 8) or
+                (input[pos + 3].toInt() and 0xFF)
+            pos += 4
+            return Float.fromBits(bits)
+        }
+
+        private fun skipValue(wireType: Int) {
+            when (wireType) {
+                VARINT -> readVarint()
+                FIXED32 -> { ensure(4); pos += 4 }
+                OBJECT -> skipObject()
+                LIST -> {
+                    val size = readVarint() - 1
+                    if (size >= 0) {
+                        val elementWireType = readByte()
+                        repeat(size) {
+                            if (elementWireType == OBJECT) skipObject() else skipValue(elementWireType)
+                        }
+                    }
+                }
+                else -> throw malformed("Unknown wire type $wireType")
+            }
+        }
+
+        private fun skipObject() {
+            var key = readByte()
+            if (key == NULL_OBJECT) return
+            while (key != END) {
+                skipValue(key and 7)
+                key = readByte()
+            }
+        }
+
+        private fun expect(key: Int, wireType: Int) {
+            if (key and 7 != wireType) {
+                throw malformed("Field ${key ushr 3} has wire type ${key and 7}, expected $wireType")
+            }
+        }
+
+        private fun readVarint(): Int {
+            var value = 0
+            var shift = 0
+            while (shift < 35) {
+                val b = readByte()
+                value = value or (b and 0x7F shl shift)
+                if (b and 0x80 == 0) return value
+                shift += 7
+            }
+            throw malformed("Varint too long")
+        }
+
+        private fun readByte(): Int {
+            ensure(1)
+            return input[pos++].toInt() and 0xFF
+        }
+
+        private fun ensure(length: Int) {
+            if (pos + length > input.size) throw malformed("Unexpected end of document")
+        }
+
+        private fun malformed(message: String) = IllegalArgumentException("$message at offset $pos")
+    }
+
+    companion object {
+        private val MAGIC = byteArrayOf('S'.code.toByte(), 'S'.code.toByte(), 'R'.code.toByte(), 'B'.code.toByte())
+        private const val VERSION = 1
+
+        private const val END = 0
+        private const val NULL_OBJECT = 0xFF
+
+        private const val VARINT = 0
+        private const val FIXED32 = 1
+        private const val OBJECT = 2
+        private const val LIST = 3
+
+        fun isBinary(bytes: ByteArray): Boolean =
+            bytes.size >= MAGIC.size && MAGIC.indices.all { bytes[it] == MAGIC[it] }
+    }
+}
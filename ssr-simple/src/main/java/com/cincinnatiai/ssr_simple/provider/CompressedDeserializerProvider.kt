@@ -0,0 +1,63 @@
+package com.cincinnatiai.ssr_simple.provider
+
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import java.io.ByteArrayOutputStream
+import java.util.zip.Inflater
+
+/**
+ * Inflates screens compressed by ssr-java's ScreenCompressor with the shared preset dictionary
+ * and hands the result to [fallback]. Uncompressed bodies go to [fallback] untouched, so this can
+ * wrap [BinaryDeserializerProvider] to accept compressed binary screens as well.
+ */
+class CompressedDeserializerProvider(
+    private val fallback: DeserializerProvider = DefaultDeserializerProvider()
+) : DeserializerProvider {
+
+    override fun deserializeToNodeModel(json: String): NodeModel =
+        fallback.deserializeToNodeModel(json)
+
+    override fun deserializeToNodeModel(bytes: ByteArray): NodeModel =
+        fallback.deserializeToNodeModel(if (isCompressed(bytes)) inflate(bytes) else bytes)
+
+    private fun inflate(bytes: ByteArray): ByteArray {
+        val version = bytes[MAGIC.size].toInt() and 0xFF
+        require(version == DICTIONARY_VERSION) { "Unsupported SSR dictionary version $version" }
+        val inflater = Inflater()
+        try {
+            inflater.setInput(bytes, MAGIC.size + 1, bytes.size - MAGIC.size - 1)
+            val out = ByteArrayOutputStream(bytes.size * 4)
+            val chunk = ByteArray(CHUNK_SIZE)
+            while (!inflater.finished()) {
+                val n = inflater.inflate(chunk)
+                if (n == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(dictionary)
+                    } else if (inflater.needsInput()) {
+                        throw IllegalArgumentException("Truncated SSR compressed payload")
+                    }
+                }
+                out.write(chunk, 0, n)
+            }
+            return out.toByteArray()
+        } finally {
+            inflater.end()
+        }
+    }
+
+    companion object {
+        /** Must match CompressionDictionary.VERSION in ssr-java */
+        private const val DICTIONARY_VERSION = 1
+        private const val DICTIONARY_RESOURCE = "ssr-dictionary-v$DICTIONARY_VERSION.txt"
+        private const val CHUNK_SIZE = 8192
+        private val MAGIC = byteArrayOf('S'.code.toByte(), 'S'.code.toByte(), 'R'.code.toByte(), 'Z'.code.toByte())
+
+        private val dictionary: ByteArray by lazy {
+            val stream = CompressedDeserializerProvider::class.java.getResourceAsStream(DICTIONARY_RESOURCE)
+                ?: throw IllegalStateException("Missing compression dictionary resource $DICTIONARY_RESOURCE")
+            stream.use { it.readBytes() }
+        }
+
+        fun isCompressed(bytes: ByteArray): Boolean =
+            bytes.size > MAGIC.size && MAGIC.indices.all { bytes[it] == MAGIC[it] }
+    }
+}
@@ -5,4 +5,10 @@ import com.cincinnatiai.ssr_simple.model.NodeModel
 interface DeserializerProvider {
 
     fun deserializeToNodeModel(json: String): NodeModel
+
+    /**
+     * Deserialize a raw response body. The default treats it as UTF-8 JSON.
+     */
+    fun deserializeToNodeModel(bytes: ByteArray): NodeModel =
+        deserializeToNodeModel(String(bytes, Charsets.UTF_8))
 }
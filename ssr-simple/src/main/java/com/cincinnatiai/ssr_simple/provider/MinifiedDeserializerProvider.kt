@@ -0,0 +1,110 @@
+package com.cincinnatiai.ssr_simple.provider
+
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.google.gson.FieldNamingStrategy
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+
+/**
+ * Decodes screens in the minified schema written by ssr-java's `SSR.toJsonMinified`, where every
+ * field has a one or two character key and the root starts with `{"$k":version`. Other bodies go to
+ * [fallback], so regular JSON keeps working. Send [SCHEMA_HEADER]: [VERSION] with requests to have an
+ * ssr-server answer in the minified schema.
+ */
+class MinifiedDeserializerProvider(
+    private val fallback: DeserializerProvider = DefaultDeserializerProvider()
+) : DeserializerProvider {
+
+    override fun deserializeToNodeModel(json: String): NodeModel {
+        val version = schemaVersion(json) ?: return fallback.deserializeToNodeModel(json)
+        require(version in 1..VERSION) { "Unsupported SSR minified schema version $version" }
+        return gson.fromJson(json, NodeModel::class.java)
+    }
+
+    companion object {
+        /** Must match ShortKeys.VERSION in ssr-java */
+        const val VERSION = 1
+        const val SCHEMA_HEADER = "X-SSR-Schema"
+        private const val MARKER = "{\"\$k\":"
+
+        /** Field name to short key. Mirrors ShortKeys in ssr-java; keys are never reused. */
+        internal val SHORT_KEYS: Map<String, String> = mapOf(
+            // NodeModel
+            "type" to "t",
+            "title" to "ti",
+            "description" to "de",
+            "label" to "lb",
+            "backgroundColor" to "bg",
+            "elevation" to "el",
+            "imageUrl" to "iu",
+            "imageHeight" to "ih",
+            "imageWidth" to "iw",
+            "contentDescription" to "cd",
+            "action" to "a",
+            "modifier" to "m",
+            "textStyle" to "ts",
+            "topBar" to "tb",
+            "floatingActionButton" to "fa",
+            "content" to "c",
+            "children" to "ch",
+            "buttonVariant" to "bv",
+            "columns" to "co",
+            "tableData" to "td",
+            "columnarData" to "cr",
+            "showBorders" to "sb",
+            "headerBackgroundColor" to "hb",
+            "rowAction" to "ra",
+            "roundedCorners" to "rc",
+            "useLazyColumn" to "lz",
+            "nextCursor" to "nc",
+            // ModifierModel
+            "height" to "h",
+            "width" to "w",
+            "weight" to "wt",
+            "padding" to "p",
+            "paddingTop" to "pt",
+            "paddingBottom" to "pb",
+            "paddingStart" to "ps",
+            "paddingEnd" to "pe",
+            "fillMaxSize" to "fs",
+            "fillMaxWidth" to "fw",
+            "horizontalAlignment" to "ha",
+            "verticalAlignment" to "va",
+            "contentAlignment" to "ca",
+            "verticalScroll" to "vs",
+            // TextStyleModel
+            "fontSize" to "sz",
+            "fontWeight" to "wg",
+            "textAlign" to "al",
+            "color" to "cl",
+            // TableColumnModel
+            "header" to "hd",
+            "headerStyle" to "hs",
+            // TableCellModel
+            "text" to "x",
+            "showBorder" to "bd",
+            // ColumnarTableModel
+            "rowCount" to "rn",
+            "actions" to "ac",
+            "styles" to "st",
+            "styleIndex" to "si"
+        )
+
+        private val gson: Gson = GsonBuilder()
+            .setFieldNamingStrategy(FieldNamingStrategy { field -> SHORT_KEYS[field.name] ?: field.name })
+            .create()
+
+        /** The schema version of a minified document, or null for any other body */
+        fun schemaVersion(json: String): Int? {
+            var i = 0
+            while (i < json.length && json[i].isWhitespace()) i++
+            if (!json.startsWith(MARKER, i)) return null
+            i += MARKER.length
+            val start = i
+            while (i < json.length && json[i].isDigit()) i++
+            return json.substring(start, i).toIntOrNull()
+        }
+
+        fun isMinified(json: String): Boolean = schemaVersion(json) != null
+    }
+}
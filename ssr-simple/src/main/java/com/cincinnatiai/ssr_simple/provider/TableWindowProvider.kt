@@ -0,0 +1,10 @@
+package com.cincinnatiai.ssr_simple.provider
+
+/**
+ * Loads the next window of a windowed table from the server, e.g. `GET /tables?cursor=...`
+ * answered by ssr-java's TableWindowRegistry.nextWindow. The body is decoded with
+ * SSRSimpleLibrary.deserializerProvider, so it can be JSON, binary or compressed.
+ */
+fun interface TableWindowProvider {
+    suspend fun fetchWindow(cursor: String): ByteArray
+}
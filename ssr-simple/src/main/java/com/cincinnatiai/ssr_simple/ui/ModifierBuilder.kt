@@ -11,14 +11,15 @@ import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.unit.dp
 import androidx.core.graphics.toColorInt
 import com.cincinnatiai.ssr_simple.model.ModifierModel
+import com.cincinnatiai.ssr_simple.model.RenderDefaults
 
 fun buildModifier(model: ModifierModel?): Modifier {
     var modifier: Modifier = Modifier
 
     if (model?.height != null) modifier = modifier.height(model.height.dp)
     if (model?.width != null) modifier = modifier.width(model.width.dp)
-    if (model?.fillMaxSize == true) modifier = modifier.fillMaxSize()
-    if (model?.fillMaxWidth == true) modifier = modifier.fillMaxWidth()
+    if (model?.fillMaxSize ?: RenderDefaults.FILL_MAX_SIZE) modifier = modifier.fillMaxSize()
+    if (model?.fillMaxWidth ?: RenderDefaults.FILL_MAX_WIDTH) modifier = modifier.fillMaxWidth()
 
     model?.backgroundColor?.let {
         modifier = modifier.background(Color(it.toColorInt()))
@@ -35,10 +36,10 @@ fun buildModifier(model: ModifierModel?): Modifier {
 
     if (hasAnyPadding) {
         modifier = modifier.padding(
-            start = (model?.paddingStart ?: model?.padding ?: 0).dp,
-            top = (model?.paddingTop ?: model?.padding ?: 0).dp,
-            end = (model?.paddingEnd ?: model?.padding ?: 0).dp,
-            bottom = (model?.paddingBottom ?: model?.padding ?: 0).dp
+            start = (model?.paddingStart ?: model?.padding ?: RenderDefaults.PADDING).dp,
+            top = (model?.paddingTop ?: model?.padding ?: RenderDefaults.PADDING).dp,
+            end = (model?.paddingEnd ?: model?.padding ?: RenderDefaults.PADDING).dp,
+            bottom = (model?.paddingBottom ?: model?.padding ?: RenderDefaults.PADDING).dp
         )
     }
     return modifier
@@ -2,6 +2,7 @@
 
 package com.cincinnatiai.ssr_simple.ui
 
+import android.util.Log
 import androidx.compose.foundation.ExperimentalFoundationApi
 import androidx.compose.foundation.background
 import androidx.compose.foundation.border
@@ -22,7 +23,6 @@ import androidx.compose.foundation.layout.size
 import androidx.compose.foundation.layout.width
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.items
-import androidx.compose.foundation.lazy.itemsIndexed
 import androidx.compose.foundation.pager.HorizontalPager
 import androidx.compose.foundation.pager.rememberPagerState
 import androidx.compose.foundation.rememberScrollState
@@ -41,6 +41,11 @@ import androidx.compose.material3.Text
 import androidx.compose.material3.TextButton
 import androidx.compose.material3.TopAppBar
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.setValue
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
@@ -53,9 +58,14 @@ import androidx.compose.ui.tooling.preview.Preview
 import androidx.compose.ui.unit.dp
 import androidx.core.graphics.toColorInt
 import coil.compose.AsyncImage
+import com.cincinnatiai.ssr_simple.SSRSimpleLibrary
 import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.model.RenderDefaults
 import com.cincinnatiai.ssr_simple.model.TableCellModel
 import com.cincinnatiai.ssr_simple.model.TableColumnModel
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import kotlin.coroutines.cancellation.CancellationException
 
 @Composable
 fun RenderScaffold(node: NodeModel, onAction: (String) -> Unit) {
@@ -81,7 +91,7 @@ fun RenderTopBar(node: NodeModel) {
 
 @Composable
 fun RenderColumn(node: NodeModel, onAction: (String) -> Unit) {
-    val horizontalAlignment = when (node.modifier?.horizontalAlignment?.lowercase()) {
+    val horizontalAlignment = when ((node.modifier?.horizontalAlignment ?: RenderDefaults.COLUMN_HORIZONTAL_ALIGNMENT).lowercase()) {
         "start" -> Alignment.Start
         "center" -> Alignment.CenterHorizontally
         "end" -> Alignment.End
@@ -89,7 +99,7 @@ fun RenderColumn(node: NodeModel, onAction: (String) -> Unit) {
     }
 
     val baseModifier = buildModifier(node.modifier)
-    val scrollModifier = if (node.modifier?.verticalScroll == true) {
+    val scrollModifier = if (node.modifier?.verticalScroll ?: RenderDefaults.COLUMN_VERTICAL_SCROLL) {
         baseModifier.verticalScroll(rememberScrollState())
     } else {
         baseModifier
@@ -113,7 +123,7 @@ fun RenderColumn(node: NodeModel, onAction: (String) -> Unit) {
 
 @Composable
 fun RenderRow(node: NodeModel, onAction: (String) -> Unit) {
-    val verticalAlignment = when (node.modifier?.verticalAlignment?.lowercase()) {
+    val verticalAlignment = when ((node.modifier?.verticalAlignment ?: RenderDefaults.ROW_VERTICAL_ALIGNMENT).lowercase()) {
         "top" -> Alignment.Top
         "center" -> Alignment.CenterVertically
         "bottom" -> Alignment.Bottom
@@ -138,7 +148,7 @@ fun RenderRow(node: NodeModel, onAction: (String) -> Unit) {
 
 @Composable
 fun RenderBox(node: NodeModel, onAction: (String) -> Unit) {
-    val contentAlignment = when (node.modifier?.contentAlignment?.lowercase()) {
+    val contentAlignment = when ((node.modifier?.contentAlignment ?: RenderDefaults.BOX_CONTENT_ALIGNMENT).lowercase()) {
         "topstart" -> Alignment.TopStart
         "topcenter" -> Alignment.TopCenter
         "topend" -> Alignment.TopEnd
@@ -172,7 +182,7 @@ fun RenderCard(node: NodeModel, onAction: (String) -> Unit = {}) {
         Color(android.graphics.Color.parseColor(it))
     } ?: MaterialTheme.colorScheme.surface
 
-    val elevation = node.elevation?.dp ?: 4.dp
+    val elevation = (node.elevation ?: RenderDefaults.CARD_ELEVATION).dp
 
     Card(
         modifier = buildModifier(node.modifier),
@@ -210,7 +220,7 @@ fun RenderVideoItem(node: NodeModel, onAction: (String) -> Unit = {}) {
         Color(it.toColorInt())
     } ?: MaterialTheme.colorScheme.surface
 
-    val elevation = node.elevation?.dp ?: 4.dp
+    val elevation = (node.elevation ?: RenderDefaults.CARD_ELEVATION).dp
 
     var modifier = buildModifier(node.modifier)
     node.action?.let { action ->
@@ -272,7 +282,7 @@ fun RenderText(node: NodeModel) {
 
 @Composable
 fun RenderButton(node: NodeModel, onAction: (String) -> Unit) {
-    val variant = node.buttonVariant?.lowercase() ?: "filled"
+    val variant = (node.buttonVariant ?: RenderDefaults.BUTTON_VARIANT).lowercase()
     val bgColor = node.backgroundColor?.let {
         Color(it.toColorInt())
     } ?: MaterialTheme.colorScheme.primary
@@ -340,17 +350,41 @@ fun RenderImage(node: NodeModel) {
     )
 }
 
+// Rows from the end of the loaded rows at which the next table window is requested
+private const val TABLE_WINDOW_PREFETCH_ROWS = 20
+
 @Composable
 fun RenderTable(node: NodeModel, onAction: (String) -> Unit) {
     val columns = node.columns ?: return
-    val tableData = node.tableData ?: emptyList()
-    val showBorders = node.showBorders ?: false
-    val useLazyColumn = node.useLazyColumn ?: true
+    // Windowed tables start with the rows in the node and append windows fetched with nextCursor
+    var rows by remember(node) { mutableStateOf(TableRows(listOf(node))) }
+    var loadingWindow by remember(node) { mutableStateOf(false) }
+    val loadNextWindow: suspend () -> Unit = load@{
+        val cursor = rows.nextCursor ?: return@load
+        val windowProvider = SSRSimpleLibrary.tableWindowProvider ?: return@load
+        if (loadingWindow) return@load
+        loadingWindow = true
+        try {
+            val body = windowProvider.fetchWindow(cursor)
+            val window = withContext(Dispatchers.Default) {
+                SSRSimpleLibrary.deserializerProvider.deserializeToNodeModel(body)
+            }
+            rows += window
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Log.w("RenderTable", "Unable to load table window $cursor", e)
+        } finally {
+            loadingWindow = false
+        }
+    }
+    val showBorders = node.showBorders ?: RenderDefaults.TABLE_SHOW_BORDERS
+    val useLazyColumn = node.useLazyColumn ?: RenderDefaults.TABLE_USE_LAZY_COLUMN
     val headerBgColor = node.headerBackgroundColor?.let {
         Color(it.toColorInt())
     } ?: MaterialTheme.colorScheme.primaryContainer
 
-    val roundedCorners = node.roundedCorners?.dp ?: 0.dp
+    val roundedCorners = (node.roundedCorners ?: RenderDefaults.TABLE_ROUNDED_CORNERS).dp
     val hasRoundedCorners = roundedCorners > 0.dp
 
     val tableModifier = buildModifier(node.modifier)
@@ -398,9 +432,12 @@ fun RenderTable(node: NodeModel, onAction: (String) -> Unit) {
         // Data Rows - Use LazyColumn or regular Column based on useLazyColumn property
         if (useLazyColumn) {
             LazyColumn {
-                itemsIndexed(tableData) { rowIndex, rowData ->
+                items(rows.rowCount) { rowIndex ->
+                    if (rows.nextCursor != null && rowIndex >= rows.rowCount - TABLE_WINDOW_PREFETCH_ROWS) {
+                        LaunchedEffect(rows.nextCursor) { loadNextWindow() }
+                    }
                     TableDataRow(
-                        rowData = rowData,
+                        rowData = rows.row(rowIndex),
                         columns = columns,
                         showBorders = showBorders,
                         rowAction = node.rowAction,
@@ -409,9 +446,13 @@ fun RenderTable(node: NodeModel, onAction: (String) -> Unit) {
                 }
             }
         } else {
-            tableData.forEach { rowData ->
+            // Every row is composed here, so windows load one after another until the table is complete
+            repeat(rows.rowCount) { rowIndex ->
+                if (rows.nextCursor != null && rowIndex == rows.rowCount - 1) {
+                    LaunchedEffect(rows.nextCursor) { loadNextWindow() }
+                }
                 TableDataRow(
-                    rowData = rowData,
+                    rowData = rows.row(rowIndex),
                     columns = columns,
                     showBorders = showBorders,
                     rowAction = node.rowAction,
@@ -461,8 +502,8 @@ private fun RowScope.TableHeaderCell(
     showBorders: Boolean,
     isLastColumn: Boolean,
 ) {
-    val weight = column.weight ?: 1f
-    val alignment = when (column.horizontalAlignment?.lowercase()) {
+    val weight = column.weight ?: RenderDefaults.TABLE_COLUMN_WEIGHT
+    val alignment = when ((column.horizontalAlignment ?: RenderDefaults.TABLE_COLUMN_ALIGNMENT).lowercase()) {
         "start" -> TextAlign.Start
         "center" -> TextAlign.Center
         "end" -> TextAlign.End
@@ -524,8 +565,8 @@ private fun RowScope.TableDataCell(
     isLastColumn: Boolean,
     onAction: (String) -> Unit,
 ) {
-    val weight = column.weight ?: 1f
-    val alignment = when (column.horizontalAlignment?.lowercase()) {
+    val weight = column.weight ?: RenderDefaults.TABLE_COLUMN_WEIGHT
+    val alignment = when ((column.horizontalAlignment ?: RenderDefaults.TABLE_COLUMN_ALIGNMENT).lowercase()) {
         "start" -> TextAlign.Start
         "center" -> TextAlign.Center
         "end" -> TextAlign.End
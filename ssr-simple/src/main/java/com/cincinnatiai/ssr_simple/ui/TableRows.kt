@@ -0,0 +1,43 @@
+package com.cincinnatiai.ssr_simple.ui
+
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.model.TableCellModel
+
+/**
+ * The rows of a table made of the first window in the table node and the windows fetched after
+ * it with nextCursor. Windows keep their own form, so columnar windows still build each row's
+ * cells only when the row is drawn.
+ */
+internal class TableRows(private val windows: List<NodeModel>) {
+    private val starts = IntArray(windows.size)
+
+    val rowCount: Int
+
+    /** Cursor of the window after the last one loaded, null once the whole table is here */
+    val nextCursor: String? get() = windows.last().nextCursor
+
+    init {
+        var count = 0
+        windows.forEachIndexed { index, window ->
+            starts[index] = count
+            count += window.columnarData?.rowCount ?: window.tableData?.size ?: 0
+        }
+        rowCount = count
+    }
+
+    fun row(index: Int): List<TableCellModel> {
+        var window = starts.binarySearch(index)
+        if (window < 0) {
+            window = -window - 2
+        }
+        // Skip empty windows that start at the same row
+        while (window + 1 < starts.size && starts[window + 1] <= index) {
+            window++
+        }
+        val node = windows[window]
+        val local = index - starts[window]
+        return node.columnarData?.row(local) ?: node.tableData!![local]
+    }
+
+    operator fun plus(window: NodeModel): TableRows = TableRows(windows + window)
+}
@@ -7,19 +7,20 @@ import androidx.compose.ui.text.TextStyle
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.sp
+import com.cincinnatiai.ssr_simple.model.RenderDefaults
 import com.cincinnatiai.ssr_simple.model.TextStyleModel
 import androidx.core.graphics.toColorInt
 
 @Composable
 fun buildTextStyle(model: TextStyleModel?): TextStyle {
     val fontSize = model?.fontSize?.sp ?: MaterialTheme.typography.bodyMedium.fontSize
-    val weight = when (model?.fontWeight?.lowercase()) {
+    val weight = when ((model?.fontWeight ?: RenderDefaults.FONT_WEIGHT).lowercase()) {
         "bold" -> FontWeight.Bold
         "medium" -> FontWeight.Medium
         "light" -> FontWeight.Light
         else -> FontWeight.Normal
     }
-    val align = when (model?.textAlign?.lowercase()) {
+    val align = when ((model?.textAlign ?: RenderDefaults.TEXT_ALIGN).lowercase()) {
         "center" -> TextAlign.Center
         "end" -> TextAlign.End
         else -> TextAlign.Start
@@ -0,0 +1,73 @@
+package com.cincinnatiai.ssr_simple.model
+
+import com.cincinnatiai.ssr_java.SSR
+import com.cincinnatiai.ssr_java.builder.NodeBuilder
+import com.cincinnatiai.ssr_simple.provider.DefaultDeserializerProvider
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Test
+import com.cincinnatiai.ssr_java.model.ModifierModel as ServerModifierModel
+
+/**
+ * ssr-java's minimal output leaves out every field equal to its ClientDefaults. Each default here
+ * is written into a screen and must be missing from the minimal JSON while the compact JSON keeps
+ * it, so a renderer default that drifts from the server's changes what the screen looks like.
+ */
+class RenderDefaultsTest {
+    private val regular = DefaultDeserializerProvider()
+
+    @Test
+    fun nodeDefaultsAreElided() {
+        assertElided(SSR.card().elevation(RenderDefaults.CARD_ELEVATION)) { it.elevation }
+        assertElided(SSR.videoItem("Title", "About", "https://example.com/a.png", "play")
+            .elevation(RenderDefaults.CARD_ELEVATION)) { it.elevation }
+        assertElided(SSR.button("Go").buttonVariant(RenderDefaults.BUTTON_VARIANT)) { it.buttonVariant }
+        assertElided(SSR.table().showBorders(RenderDefaults.TABLE_SHOW_BORDERS)) { it.showBorders }
+        assertElided(SSR.table().useLazyColumn(RenderDefaults.TABLE_USE_LAZY_COLUMN)) { it.useLazyColumn }
+        assertElided(SSR.table().roundedCorners(RenderDefaults.TABLE_ROUNDED_CORNERS)) { it.roundedCorners }
+    }
+
+    @Test
+    fun modifierDefaultsAreElided() {
+        assertElided(SSR.column().modifier(SSR.modifier().padding(RenderDefaults.PADDING))) { it.modifier?.padding }
+        assertElided(SSR.column().modifier(SSR.modifier().paddingTop(RenderDefaults.PADDING))) { it.modifier?.paddingTop }
+        assertElided(SSR.column().modifier(SSR.modifier().paddingBottom(RenderDefaults.PADDING))) { it.modifier?.paddingBottom }
+        assertElided(SSR.column().modifier(SSR.modifier().paddingStart(RenderDefaults.PADDING))) { it.modifier?.paddingStart }
+        assertElided(SSR.column().modifier(SSR.modifier().paddingEnd(RenderDefaults.PADDING))) { it.modifier?.paddingEnd }
+        assertElided(SSR.column().modifier(modifier { fillMaxSize = RenderDefaults.FILL_MAX_SIZE })) { it.modifier?.fillMaxSize }
+        assertElided(SSR.column().modifier(modifier { fillMaxWidth = RenderDefaults.FILL_MAX_WIDTH })) { it.modifier?.fillMaxWidth }
+        assertElided(SSR.column().modifier(modifier { verticalScroll = RenderDefaults.COLUMN_VERTICAL_SCROLL })) {
+            it.modifier?.verticalScroll
+        }
+        assertElided(SSR.column().modifier(SSR.modifier().horizontalAlignment(RenderDefaults.COLUMN_HORIZONTAL_ALIGNMENT))) {
+            it.modifier?.horizontalAlignment
+        }
+        assertElided(SSR.row().modifier(SSR.modifier().verticalAlignment(RenderDefaults.ROW_VERTICAL_ALIGNMENT))) {
+            it.modifier?.verticalAlignment
+        }
+        assertElided(SSR.box().modifier(SSR.modifier().contentAlignment(RenderDefaults.BOX_CONTENT_ALIGNMENT))) {
+            it.modifier?.contentAlignment
+        }
+    }
+
+    @Test
+    fun textAndColumnDefaultsAreElided() {
+        assertElided(SSR.text("Hi").textStyle(SSR.textStyle().fontWeight(RenderDefaults.FONT_WEIGHT))) { it.textStyle?.fontWeight }
+        assertElided(SSR.text("Hi").textStyle(SSR.textStyle().textAlign(RenderDefaults.TEXT_ALIGN))) { it.textStyle?.textAlign }
+        assertElided(SSR.table().addColumn(SSR.column("Name").weight(RenderDefaults.TABLE_COLUMN_WEIGHT))) {
+            it.columns!![0].weight
+        }
+        assertElided(SSR.table().addColumn(SSR.column("Name").horizontalAlignment(RenderDefaults.TABLE_COLUMN_ALIGNMENT))) {
+            it.columns!![0].horizontalAlignment
+        }
+    }
+
+    private fun assertElided(builder: NodeBuilder, field: (NodeModel) -> Any?) {
+        val node = builder.build()
+        assertNotNull(field(regular.deserializeToNodeModel(SSR.toJsonCompact(node))))
+        assertNull(field(regular.deserializeToNodeModel(SSR.toJsonMinimal(node))))
+    }
+
+    private fun modifier(set: ServerModifierModel.() -> Unit): ServerModifierModel =
+        ServerModifierModel().apply(set)
+}
@@ -0,0 +1,114 @@
+package com.cincinnatiai.ssr_simple.patch
+
+import com.cincinnatiai.ssr_java.SSR
+import com.cincinnatiai.ssr_java.examples.AdvancedTableExample
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample
+import com.cincinnatiai.ssr_java.examples.SimpleTableExample
+import com.cincinnatiai.ssr_java.examples.VideoPagerExample
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.provider.DefaultDeserializerProvider
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import com.cincinnatiai.ssr_java.model.NodeModel as ServerNodeModel
+
+/**
+ * Patches from ssr-java's NodeModelDiff must turn the old screen into the new one and leave
+ * every subtree off their paths as the same instance.
+ */
+class NodePatcherTest {
+    private val regular = DefaultDeserializerProvider()
+    private val patcher = NodePatcher()
+
+    @Test
+    fun exampleScreensPatchIntoEachOther() {
+        val screens = listOf(
+            SimpleTableExample.createSimpleTable(),
+            AdvancedTableExample.createAdvancedTable(),
+            CardLayoutExample.createCardLayout(),
+            VideoPagerExample.createVideoPagerScreen(),
+            VideoPagerExample.createSimpleVideoList()
+        )
+        for (from in screens) {
+            for (to in screens) {
+                assertPatches(from, to, SSR.diff(from, to).toJson())
+            }
+        }
+    }
+
+    @Test
+    fun oneCellEditKeepsEverythingElse() {
+        val from = screen(table("Ada", "Grace", "Linus"))
+        val to = screen(table("Ada", "Barbara", "Linus"))
+
+        val old = decode(from)
+        val patched = assertPatches(old, to, SSR.diff(from, to).toJson())
+        assertSame(old.topBar, patched.topBar)
+        assertSame(old.content!!.children!![0], patched.content!!.children!![0])
+        val oldTable = old.content!!.children!![1]
+        val newTable = patched.content!!.children!![1]
+        assertSame(oldTable.columns, newTable.columns)
+        assertSame(oldTable.tableData!![0], newTable.tableData!![0])
+        assertSame(oldTable.tableData!![2], newTable.tableData!![2])
+        assertSame(oldTable.tableData!![1][1], newTable.tableData!![1][1])
+    }
+
+    @Test
+    fun rowInsertKeepsTheOtherRows() {
+        val from = screen(table("Ada", "Grace", "Linus"))
+        val to = screen(table("Ada", "Barbara", "Grace", "Linus"))
+        val patch = SSR.diff(from, to).toJson()
+        assertTrue(patch, patch.contains("\"insert\""))
+
+        val old = decode(from)
+        val oldRows = old.content!!.children!![1].tableData!!
+        val patched = assertPatches(old, to, patch)
+        val newRows = patched.content!!.children!![1].tableData!!
+        assertSame(old.topBar, patched.topBar)
+        assertSame(oldRows[0], newRows[0])
+        assertSame(oldRows[1], newRows[2])
+        assertSame(oldRows[2], newRows[3])
+    }
+
+    @Test
+    fun keyedChildMoveKeepsTheMovedChild() {
+        val from = SSR.column().addChild(card("a")).addChild(card("b")).addChild(card("c")).build()
+        val to = SSR.column().addChild(card("c")).addChild(card("a")).addChild(card("b")).build()
+        val patch = SSR.diff(from, to) { it.title }.toJson()
+        assertTrue(patch, patch.contains("\"move\""))
+
+        val old = decode(from)
+        val children = assertPatches(old, to, patch).children!!
+        assertSame(old.children!![2], children[0])
+        assertSame(old.children!![0], children[1])
+        assertSame(old.children!![1], children[2])
+    }
+
+    private fun assertPatches(from: ServerNodeModel, to: ServerNodeModel, patch: String): NodeModel =
+        assertPatches(decode(from), to, patch)
+
+    private fun assertPatches(from: NodeModel, to: ServerNodeModel, patch: String): NodeModel {
+        val patched = patcher.apply(from, patch)
+        assertEquals(decode(to), patched)
+        return patched
+    }
+
+    private fun decode(screen: ServerNodeModel): NodeModel =
+        regular.deserializeToNodeModel(SSR.toJsonCompact(screen))
+
+    private fun screen(table: ServerNodeModel): ServerNodeModel =
+        SSR.scaffold()
+            .topBar(SSR.topAppBar("People"))
+            .content(SSR.column().addChild(SSR.text("Team")).addChild(table))
+            .build()
+
+    private fun table(vararg names: String): ServerNodeModel {
+        val table = SSR.table().addColumn(SSR.column("Name")).addColumn(SSR.column("Role"))
+        names.forEach { table.addRow(SSR.cell(it).build(), SSR.cell("Engineer").build()) }
+        return table.build()
+    }
+
+    private fun card(title: String): ServerNodeModel =
+        SSR.card().title(title).description("About $title").build()
+}
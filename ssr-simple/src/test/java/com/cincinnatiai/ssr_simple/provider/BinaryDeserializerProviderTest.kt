@@ -0,0 +1,59 @@
+package com.cincinnatiai.ssr_simple.provider
+
+import com.cincinnatiai.ssr_java.SSR
+import com.cincinnatiai.ssr_java.examples.AdvancedTableExample
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample
+import com.cincinnatiai.ssr_java.examples.SimpleTableExample
+import com.cincinnatiai.ssr_java.examples.VideoPagerExample
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.File
+import com.cincinnatiai.ssr_java.model.NodeModel as ServerNodeModel
+
+/**
+ * Screens written by ssr-java's BinaryNodeEncoder must decode to the same NodeModels as their
+ * compact JSON.
+ */
+class BinaryDeserializerProviderTest {
+    private val json = DefaultDeserializerProvider()
+    private val binary = BinaryDeserializerProvider()
+
+    @Test
+    fun exampleScreensDecodeIdentically() {
+        listOf(
+            SimpleTableExample.createSimpleTable(),
+            AdvancedTableExample.createAdvancedTable(),
+            CardLayoutExample.createCardLayout(),
+            VideoPagerExample.createVideoPagerScreen(),
+            VideoPagerExample.createSimpleVideoList()
+        ).forEach { assertSameScreen(it) }
+    }
+
+    @Test
+    fun assetScreensDecodeIdentically() {
+        val files = File("src/main/assets/examples").listFiles { file -> file.extension == "json" }.orEmpty()
+        assertTrue("No example assets found", files.isNotEmpty())
+        files.sorted().forEach { assertSameScreen(SSR.fromJson(it.readText())) }
+    }
+
+    @Test
+    fun jsonBytesGoToFallback() {
+        val bytes = SSR.toJsonCompact(SimpleTableExample.createSimpleTable()).toByteArray(Charsets.UTF_8)
+        assertFalse(BinaryDeserializerProvider.isBinary(bytes))
+        assertEquals(json.deserializeToNodeModel(bytes), binary.deserializeToNodeModel(bytes))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun truncatedDocumentIsRejected() {
+        val bytes = SSR.toBinary(CardLayoutExample.createCardLayout())
+        binary.deserializeToNodeModel(bytes.copyOf(bytes.size / 2))
+    }
+
+    private fun assertSameScreen(screen: ServerNodeModel) {
+        val bytes = SSR.toBinary(screen)
+        assertTrue(BinaryDeserializerProvider.isBinary(bytes))
+        assertEquals(json.deserializeToNodeModel(SSR.toJsonCompact(screen)), binary.deserializeToNodeModel(bytes))
+    }
+}
@@ -0,0 +1,47 @@
+package com.cincinnatiai.ssr_simple.provider
+
+import com.cincinnatiai.ssr_java.SSR
+import com.cincinnatiai.ssr_java.examples.AdvancedTableExample
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample
+import com.cincinnatiai.ssr_java.examples.SimpleTableExample
+import com.cincinnatiai.ssr_java.examples.VideoPagerExample
+import com.cincinnatiai.ssr_java.util.CompressionDictionary
+import com.cincinnatiai.ssr_java.util.ScreenCompressor
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Test
+
+/**
+ * The client keeps its own copy of ssr-java's preset dictionary; a single differing byte makes
+ * every compressed screen fail to inflate, so the copy is checked against the server's here.
+ */
+class CompressedDeserializerProviderTest {
+    private val regular = DefaultDeserializerProvider()
+    private val compressed = CompressedDeserializerProvider()
+
+    @Test
+    fun dictionaryMatchesServerCopy() {
+        val resource = "ssr-dictionary-v${CompressionDictionary.VERSION}.txt"
+        val stream = CompressedDeserializerProvider::class.java.getResourceAsStream(resource)
+        assertNotNull("Missing $resource next to CompressedDeserializerProvider", stream)
+        assertArrayEquals(CompressionDictionary.bytes(), stream!!.use { it.readBytes() })
+    }
+
+    @Test
+    fun compressedScreensDecodeLikeJson() {
+        val examples = listOf(
+            SimpleTableExample.createSimpleTable(),
+            AdvancedTableExample.createAdvancedTable(),
+            CardLayoutExample.createCardLayout(),
+            VideoPagerExample.createVideoPagerScreen(),
+            VideoPagerExample.createSimpleVideoList()
+        )
+        for (example in examples) {
+            assertEquals(
+                regular.deserializeToNodeModel(SSR.toJsonCompact(example)),
+                compressed.deserializeToNodeModel(ScreenCompressor.compress(example))
+            )
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.cincinnatiai.ssr_simple.provider
+
+import com.cincinnatiai.ssr_java.SSR
+import com.cincinnatiai.ssr_java.examples.AdvancedTableExample
+import com.cincinnatiai.ssr_java.examples.CardLayoutExample
+import com.cincinnatiai.ssr_java.examples.SimpleTableExample
+import com.cincinnatiai.ssr_java.examples.VideoPagerExample
+import com.cincinnatiai.ssr_java.util.ShortKeys
+import com.cincinnatiai.ssr_simple.model.CellStyleModel
+import com.cincinnatiai.ssr_simple.model.ColumnarTableModel
+import com.cincinnatiai.ssr_simple.model.ModifierModel
+import com.cincinnatiai.ssr_simple.model.NodeModel
+import com.cincinnatiai.ssr_simple.model.TableCellModel
+import com.cincinnatiai.ssr_simple.model.TableColumnModel
+import com.cincinnatiai.ssr_simple.model.TextStyleModel
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.File
+import java.lang.reflect.Modifier
+import com.cincinnatiai.ssr_java.model.NodeModel as ServerNodeModel
+
+/**
+ * Screens written by ssr-java in the regular and in the minified schema must decode to identical
+ * NodeModels.
+ */
+class MinifiedDeserializerProviderTest {
+    private val regular = DefaultDeserializerProvider()
+    private val minified = MinifiedDeserializerProvider()
+
+    @Test
+    fun exampleScreensDecodeIdentically() {
+        listOf(
+            SimpleTableExample.createSimpleTable(),
+            AdvancedTableExample.createAdvancedTable(),
+            CardLayoutExample.createCardLayout(),
+            VideoPagerExample.createVideoPagerScreen(),
+            VideoPagerExample.createSimpleVideoList()
+        ).forEach { assertSameScreen(it) }
+    }
+
+    @Test
+    fun assetScreensDecodeIdentically() {
+        val files = File("src/main/assets/examples").listFiles { file -> file.extension == "json" }.orEmpty()
+        assertTrue("No example assets found", files.isNotEmpty())
+        files.sorted().forEach { assertSameScreen(SSR.fromJson(it.readText())) }
+    }
+
+    @Test
+    fun columnarTablesDecodeIdentically() {
+        val screen = SSR.fromJson(SSR.toJson(AdvancedTableExample.createAdvancedTable()))
+        screen.content.children.filter { it.type == "Table" }.forEach { it.setColumnar(true) }
+        val json = SSR.toJsonMinified(screen)
+        assertTrue(json.contains("\"cr\":"))
+        assertSameScreen(screen)
+    }
+
+    @Test
+    fun minifiedBytesDecode() {
+        val screen = CardLayoutExample.createCardLayout()
+        assertEquals(
+            regular.deserializeToNodeModel(SSR.toJsonCompact(screen)),
+            minified.deserializeToNodeModel(SSR.toJsonMinified(screen).toByteArray(Charsets.UTF_8))
+        )
+    }
+
+    @Test
+    fun regularJsonGoesToFallback() {
+        val json = SSR.toJsonCompact(SimpleTableExample.createSimpleTable())
+        assertFalse(MinifiedDeserializerProvider.isMinified(json))
+        assertEquals(regular.deserializeToNodeModel(json), minified.deserializeToNodeModel(json))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun newerSchemaVersionIsRejected() {
+        minified.deserializeToNodeModel("{\"\$k\":2,\"t\":\"Text\"}")
+    }
+
+    @Test
+    fun shortKeysMatchSsrJava() {
+        assertEquals(ShortKeys.VERSION, MinifiedDeserializerProvider.VERSION)
+        assertEquals(ShortKeys.HEADER, MinifiedDeserializerProvider.SCHEMA_HEADER)
+        assertEquals(ShortKeys.mapping(), MinifiedDeserializerProvider.SHORT_KEYS)
+    }
+
+    @Test
+    fun everyModelFieldHasAShortKey() {
+        val keys = MinifiedDeserializerProvider.SHORT_KEYS
+        listOf(
+            NodeModel::class.java,
+            ModifierModel::class.java,
+            TextStyleModel::class.java,
+            TableColumnModel::class.java,
+            TableCellModel::class.java,
+            ColumnarTableModel::class.java,
+            CellStyleModel::class.java
+        ).flatMap { model -> model.declaredFields.filterNot { Modifier.isStatic(it.modifiers) || it.isSynthetic } }
+            .forEach { assertTrue("No short key for ${it.declaringClass.simpleName}.${it.name}", it.name in keys) }
+        assertEquals("Short keys must be unique", keys.size, keys.values.toSet().size)
+    }
+
+    private fun assertSameScreen(screen: ServerNodeModel) {
+        val expected = regular.deserializeToNodeModel(SSR.toJsonCompact(screen))
+        val actual = minified.deserializeToNodeModel(SSR.toJsonMinified(screen))
+        assertEquals(expected, actual)
+    }
+}